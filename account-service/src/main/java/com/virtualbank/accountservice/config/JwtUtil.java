@@ -0,0 +1,85 @@
+package com.virtualbank.accountservice.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies user-service issued tokens in-process. Successfully verified claims are cached
+ * per token until the token expires, so repeated calls with the same token skip signature checks.
+ */
+@Component
+public class JwtUtil {
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
+    private final JwtParser parser;
+    private final int cacheSize;
+    private final Map<String, VerifiedClaims> verifiedClaims = new ConcurrentHashMap<>();
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${auth.token-validation.cache-size:10000}") int cacheSize) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Check that the token is correctly signed, not expired and was issued for the given user.
+     * @param token The raw JWT (without the "Bearer " prefix)
+     * @param requestedUserId The user ID the caller is trying to access
+     * @return true if the token is valid for that user
+     */
+    public boolean validateTokenForUser(String token, String requestedUserId) {
+        VerifiedClaims claims = verify(token);
+        return claims != null && requestedUserId.equals(claims.userId());
+    }
+
+    private VerifiedClaims verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedClaims cached = verifiedClaims.get(token);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached;
+            }
+            verifiedClaims.remove(token, cached);
+            return null;
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            VerifiedClaims verified = new VerifiedClaims(
+                claims.get("userId", String.class),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE
+            );
+            cache(token, verified, now);
+            return verified;
+        } catch (Exception e) {
+            logger.debug("Token validation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void cache(String token, VerifiedClaims claims, long now) {
+        if (verifiedClaims.size() >= cacheSize) {
+            verifiedClaims.values().removeIf(c -> c.expiresAt() <= now);
+            if (verifiedClaims.size() >= cacheSize) {
+                verifiedClaims.clear();
+            }
+        }
+        verifiedClaims.put(token, claims);
+    }
+
+    private record VerifiedClaims(String userId, long expiresAt) {}
+}
@@ -0,0 +1,60 @@
+package com.virtualbank.accountservice.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virtualbank.accountservice.dto.TransferCommandDto;
+import com.virtualbank.accountservice.dto.TransferResultDto;
+import com.virtualbank.accountservice.service.TransferCommandService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes transfer commands published by transaction-service's outbox and replies with the outcome.
+ * Commands are keyed by transaction ID, so all deliveries of one transfer land on the same partition.
+ */
+@Component
+public class TransferCommandConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferCommandConsumer.class);
+
+    private final TransferCommandService transferCommandService;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${kafka.topic.transfer-results}")
+    private String transferResultsTopic;
+
+    @Autowired
+    public TransferCommandConsumer(TransferCommandService transferCommandService,
+                                   KafkaTemplate<String, String> kafkaTemplate,
+                                   ObjectMapper objectMapper) {
+        this.transferCommandService = transferCommandService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = "${kafka.topic.transfer-commands}", containerFactory = "kafkaListenerContainerFactory")
+    public void consumeTransferCommand(String message) throws Exception {
+        TransferCommandDto command;
+        try {
+            command = objectMapper.readValue(message, TransferCommandDto.class);
+        } catch (JsonProcessingException e) {
+            // A malformed command will never parse; skip it rather than retrying forever
+            logger.error("Error parsing transfer command: {}", e.getMessage());
+            return;
+        }
+
+        TransferResultDto result = transferCommandService.process(command);
+        // Wait for the ack so a lost reply is retried; reprocessing returns the recorded outcome
+        kafkaTemplate.send(transferResultsTopic, result.getTransactionId().toString(), objectMapper.writeValueAsString(result))
+            .get(30, TimeUnit.SECONDS);
+        logger.debug("Transfer {} processed: success={}", result.getTransactionId(), result.isSuccess());
+    }
+}
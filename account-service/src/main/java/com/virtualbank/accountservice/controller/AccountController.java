@@ -1,24 +1,41 @@
 package com.virtualbank.accountservice.controller;
 
+import com.virtualbank.accountservice.dto.AccountBatchResponseDto;
+import com.virtualbank.accountservice.dto.AccountImportResponseDto;
 import com.virtualbank.accountservice.dto.AccountRequestDto;
+import com.virtualbank.accountservice.dto.DisbursementCreditDto;
+import com.virtualbank.accountservice.dto.HoldRequestDto;
+import com.virtualbank.accountservice.dto.HoldResponseDto;
+import com.virtualbank.accountservice.dto.InterestAccrualResultDto;
+import com.virtualbank.accountservice.dto.LedgerPositionDto;
 import com.virtualbank.accountservice.dto.AccountResponseDto;
 import com.virtualbank.accountservice.dto.TransferRequestDto;
+import com.virtualbank.accountservice.dto.TransferResultDto;
+import com.virtualbank.accountservice.service.AccountImportService;
 import com.virtualbank.accountservice.service.AccountService;
+import com.virtualbank.accountservice.service.HoldService;
+import com.virtualbank.accountservice.service.InterestAccrualService;
+import com.virtualbank.accountservice.service.LedgerPositionService;
 import com.virtualbank.accountservice.service.LoggingService;
+import com.virtualbank.accountservice.service.TokenValidationService;
+import com.virtualbank.accountservice.service.TransferCommandService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import java.util.Map;
-import org.springframework.web.client.RestTemplate;
 
 @RestController
 @RequestMapping("/accounts")
@@ -27,11 +44,29 @@ public class AccountController {
     private AccountService accountService;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private AccountImportService accountImportService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @Autowired
+    private TransferCommandService transferCommandService;
+
+    @Autowired
+    private LedgerPositionService ledgerPositionService;
+
+    @Autowired
+    private TokenValidationService tokenValidationService;
 
     @Autowired
     private LoggingService loggingService;
 
+    @Value("${account.lookup.stream-threshold:500}")
+    private int streamThreshold;
+
     @PostMapping
     public ResponseEntity<AccountResponseDto> createAccount(@Valid @RequestBody AccountRequestDto request) {
         // Log the request
@@ -51,6 +86,32 @@ public class AccountController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<AccountImportResponseDto> importAccounts(HttpServletRequest request) throws IOException {
+        AccountImportService.Format format = request.getContentType().startsWith("text/csv")
+            ? AccountImportService.Format.CSV
+            : AccountImportService.Format.NDJSON;
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/import", Map.of("format", format));
+        
+        try {
+            AccountImportResponseDto response = accountImportService.importAccounts(request.getInputStream(), format);
+            
+            // Log the response summary; the per-line report can be large
+            loggingService.logResponse("AccountService", "/accounts/import", Map.of(
+                "totalLines", response.getTotalLines(),
+                "imported", response.getImported(),
+                "failed", response.getFailed()
+            ));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/import", e.getMessage());
+            throw e;
+        }
+    }
+
     @GetMapping("/{accountId}")
     public ResponseEntity<AccountResponseDto> getAccount(@PathVariable String accountId) {
         // Log the request
@@ -71,6 +132,77 @@ public class AccountController {
         }
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> getAccountsByIds(@RequestBody Map<String, List<UUID>> request) {
+        List<UUID> accountIds = request.getOrDefault("accountIds", List.of());
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/batch-get", Map.of("count", accountIds.size()));
+        
+        try {
+            if (accountIds.size() > streamThreshold) {
+                // Large batches are written as rows arrive rather than buffered
+                StreamingResponseBody body = accountService.streamAccountsByIds(accountIds);
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+            }
+            
+            AccountBatchResponseDto response = accountService.getAccountsByIds(accountIds);
+            
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/batch-get", Map.of(
+                "found", response.getFound().size(),
+                "missing", response.getMissing().size()
+            ));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/batch-get", e.getMessage());
+            throw e;
+        }
+    }
+
+    @GetMapping("/by-number/{accountNumber}")
+    public ResponseEntity<AccountResponseDto> getAccountByNumber(@PathVariable String accountNumber) {
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/by-number/" + accountNumber, Map.of("accountNumber", accountNumber));
+        
+        try {
+            AccountResponseDto response = accountService.getAccountByNumber(accountNumber);
+            
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/by-number/" + accountNumber, response);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/by-number/" + accountNumber, e.getMessage());
+            throw e;
+        }
+    }
+
+    @PostMapping("/by-number/batch-get")
+    public ResponseEntity<AccountBatchResponseDto> getAccountsByNumbers(@RequestBody Map<String, List<String>> request) {
+        List<String> accountNumbers = request.getOrDefault("accountNumbers", List.of());
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/by-number/batch-get", Map.of("count", accountNumbers.size()));
+        
+        try {
+            AccountBatchResponseDto response = accountService.getAccountsByNumbers(accountNumbers);
+            
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/by-number/batch-get", Map.of(
+                "found", response.getFound().size(),
+                "missing", response.getMissing().size()
+            ));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/by-number/batch-get", e.getMessage());
+            throw e;
+        }
+    }
+
     @GetMapping("/users/{userId}/accounts")
     public ResponseEntity<List<AccountResponseDto>> getUserAccounts(@PathVariable String userId, @RequestHeader(value = "Authorization", required = false) String authHeader) {
         // Log the request
@@ -84,25 +216,8 @@ public class AccountController {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
                 
-                // Call User Service to validate token and get user info
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                headers.set("Authorization", "Bearer " + token);
-                
-                try {
-                    ResponseEntity<Map> response = restTemplate.exchange(
-                        "http://localhost:50001/api/users/" + userId + "/profile",
-                        HttpMethod.GET,
-                        new HttpEntity<>(headers),
-                        Map.class
-                    );
-                    
-                    if (response.getStatusCode() != HttpStatus.OK) {
-                        loggingService.logError("AccountService", "/accounts/users/" + userId + "/accounts", "Unauthorized access");
-                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-                    }
-                } catch (Exception e) {
-                    loggingService.logError("AccountService", "/accounts/users/" + userId + "/accounts", "Token validation failed: " + e.getMessage());
+                if (!tokenValidationService.isAuthorizedForUser(token, userId)) {
+                    loggingService.logError("AccountService", "/accounts/users/" + userId + "/accounts", "Unauthorized access");
                     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
                 }
             }
@@ -128,8 +243,17 @@ public class AccountController {
         loggingService.logRequest("AccountService", "/accounts/transfer", request);
         
         try {
-            String message = accountService.transferFunds(request);
-            TransferResponse response = new TransferResponse(message);
+            TransferResultDto result;
+            if (request.getTransactionId() != null) {
+                // Idempotent path: a retried request is answered from the recorded outcome
+                result = transferCommandService.process(request.getTransactionId(), request);
+                if (!result.isSuccess()) {
+                    throw new IllegalArgumentException(result.getMessage());
+                }
+            } else {
+                result = accountService.transferFunds(request);
+            }
+            TransferResponse response = new TransferResponse(result.getMessage(), result.getFromBalance(), result.getToBalance());
             
             // Log the response
             loggingService.logResponse("AccountService", "/accounts/transfer", response);
@@ -142,12 +266,165 @@ public class AccountController {
         }
     }
 
+    /**
+     * Outcome of each listed transfer. Transactions with no recorded outcome are settled as failed,
+     * so the caller can safely treat them as never applied.
+     */
+    @PostMapping("/transfers/reconciliation")
+    public ResponseEntity<List<TransferResultDto>> reconcileTransfers(@RequestBody Map<String, List<UUID>> request) {
+        List<UUID> transactionIds = request.getOrDefault("transactionIds", List.of());
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/transfers/reconciliation", Map.of("count", transactionIds.size()));
+
+        try {
+            List<TransferResultDto> results = transferCommandService.reconcile(transactionIds);
+
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/transfers/reconciliation", Map.of("count", results.size()));
+
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/transfers/reconciliation", e.getMessage());
+            throw e;
+        }
+    }
+
+    @GetMapping("/ledger-positions")
+    public ResponseEntity<List<LedgerPositionDto>> getLedgerPositions(@RequestParam(required = false) UUID after,
+                                                                      @RequestParam(defaultValue = "5000") int limit) {
+        return ResponseEntity.ok(ledgerPositionService.getPositions(after, limit));
+    }
+
+    @PostMapping("/{accountId}/holds")
+    public ResponseEntity<HoldResponseDto> placeHold(@PathVariable UUID accountId, @Valid @RequestBody HoldRequestDto request) {
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/" + accountId + "/holds", request);
+        
+        try {
+            HoldResponseDto response = holdService.placeHold(accountId, request);
+            
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/" + accountId + "/holds", response);
+            
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/" + accountId + "/holds", e.getMessage());
+            throw e;
+        }
+    }
+
+    @GetMapping("/holds/{holdId}")
+    public ResponseEntity<HoldResponseDto> getHold(@PathVariable UUID holdId) {
+        return ResponseEntity.ok(holdService.getHold(holdId));
+    }
+
+    @PostMapping("/holds/{holdId}/capture")
+    public ResponseEntity<HoldResponseDto> captureHold(@PathVariable UUID holdId) {
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/holds/" + holdId + "/capture", Map.of("holdId", holdId));
+        
+        try {
+            HoldResponseDto response = holdService.captureHold(holdId);
+            
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/holds/" + holdId + "/capture", response);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/holds/" + holdId + "/capture", e.getMessage());
+            throw e;
+        }
+    }
+
+    @PostMapping("/holds/{holdId}/release")
+    public ResponseEntity<HoldResponseDto> releaseHold(@PathVariable UUID holdId) {
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/holds/" + holdId + "/release", Map.of("holdId", holdId));
+        
+        try {
+            HoldResponseDto response = holdService.releaseHold(holdId);
+            
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/holds/" + holdId + "/release", response);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/holds/" + holdId + "/release", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Credit several accounts from an untargeted hold. Resending a credit with the same
+     * transaction ID returns its recorded outcome, so a chunk can be retried after a timeout.
+     */
+    @PostMapping("/holds/{holdId}/disbursements")
+    public ResponseEntity<List<TransferResultDto>> disburseHold(@PathVariable UUID holdId,
+                                                                @RequestBody Map<String, List<DisbursementCreditDto>> request) {
+        List<DisbursementCreditDto> credits = request.getOrDefault("credits", List.of());
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/holds/" + holdId + "/disbursements", Map.of("count", credits.size()));
+        
+        try {
+            List<TransferResultDto> results = holdService.disburse(holdId, credits);
+            
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/holds/" + holdId + "/disbursements", Map.of(
+                "succeeded", results.stream().filter(TransferResultDto::isSuccess).count(),
+                "failed", results.stream().filter(result -> !result.isSuccess()).count()
+            ));
+            
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/holds/" + holdId + "/disbursements", e.getMessage());
+            throw e;
+        }
+    }
+
+    @PostMapping("/interest/accruals")
+    public ResponseEntity<InterestAccrualResultDto> accrueInterest(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate accrualDate = date != null ? date : LocalDate.now().minusDays(1);
+        // Log the request
+        loggingService.logRequest("AccountService", "/accounts/interest/accruals", Map.of("date", accrualDate.toString()));
+        
+        try {
+            InterestAccrualResultDto response = interestAccrualService.accrue(accrualDate);
+            
+            // Log the response
+            loggingService.logResponse("AccountService", "/accounts/interest/accruals", response);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            // Log the error
+            loggingService.logError("AccountService", "/accounts/interest/accruals", e.getMessage());
+            throw e;
+        }
+    }
+
     // Helper class for transfer response
     private static class TransferResponse {
         private String message;
+        private BigDecimal fromBalance;
+        private BigDecimal toBalance;
 
-        public TransferResponse(String message) {
+        public TransferResponse(String message, BigDecimal fromBalance, BigDecimal toBalance) {
             this.message = message;
+            this.fromBalance = fromBalance;
+            this.toBalance = toBalance;
+        }
+
+        public BigDecimal getFromBalance() {
+            return fromBalance;
+        }
+
+        public BigDecimal getToBalance() {
+            return toBalance;
         }
 
         public String getMessage() {
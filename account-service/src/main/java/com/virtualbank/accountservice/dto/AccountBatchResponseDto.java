@@ -0,0 +1,23 @@
+package com.virtualbank.accountservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccountBatchResponseDto {
+    private List<AccountResponseDto> found = new ArrayList<>();
+    private List<String> missing = new ArrayList<>();
+
+    // Constructors
+    public AccountBatchResponseDto() {}
+
+    public AccountBatchResponseDto(List<AccountResponseDto> found, List<String> missing) {
+        this.found = found;
+        this.missing = missing;
+    }
+
+    // Getters and setters
+    public List<AccountResponseDto> getFound() { return found; }
+    public void setFound(List<AccountResponseDto> found) { this.found = found; }
+    public List<String> getMissing() { return missing; }
+    public void setMissing(List<String> missing) { this.missing = missing; }
+}
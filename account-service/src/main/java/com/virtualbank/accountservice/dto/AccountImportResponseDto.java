@@ -0,0 +1,47 @@
+package com.virtualbank.accountservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccountImportResponseDto {
+    private long totalLines;
+    private long imported;
+    private long failed;
+    private long durationMillis;
+    private double linesPerSecond;
+    private boolean errorsTruncated;
+    private List<LineError> errors = new ArrayList<>();
+
+    // Getters and setters
+    public long getTotalLines() { return totalLines; }
+    public void setTotalLines(long totalLines) { this.totalLines = totalLines; }
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+    public double getLinesPerSecond() { return linesPerSecond; }
+    public void setLinesPerSecond(double linesPerSecond) { this.linesPerSecond = linesPerSecond; }
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+    public List<LineError> getErrors() { return errors; }
+    public void setErrors(List<LineError> errors) { this.errors = errors; }
+
+    public static class LineError {
+        private long line;
+        private String message;
+
+        public LineError() {}
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -11,6 +11,7 @@ public class AccountResponseDto {
     private String accountNumber;
     private AccountType accountType;
     private BigDecimal balance;
+    private BigDecimal availableBalance;
     private AccountStatus status;
     private String message;
 
@@ -41,6 +42,8 @@ public class AccountResponseDto {
     public void setAccountType(AccountType accountType) { this.accountType = accountType; }
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public BigDecimal getAvailableBalance() { return availableBalance; }
+    public void setAvailableBalance(BigDecimal availableBalance) { this.availableBalance = availableBalance; }
     public AccountStatus getStatus() { return status; }
     public void setStatus(AccountStatus status) { this.status = status; }
     public String getMessage() { return message; }
@@ -0,0 +1,30 @@
+package com.virtualbank.accountservice.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class DisbursementCreditDto {
+    // Recorded in processed_transfer, so a resent credit is answered from its recorded outcome
+    private UUID transactionId;
+
+    private UUID toAccountId;
+
+    private BigDecimal amount;
+
+    // Constructors
+    public DisbursementCreditDto() {}
+
+    public DisbursementCreditDto(UUID transactionId, UUID toAccountId, BigDecimal amount) {
+        this.transactionId = transactionId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+    }
+
+    // Getters and setters
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
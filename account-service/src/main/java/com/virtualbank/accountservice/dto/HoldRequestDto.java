@@ -0,0 +1,33 @@
+package com.virtualbank.accountservice.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class HoldRequestDto {
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    // Optional account credited when the hold is captured
+    private UUID toAccountId;
+
+    @Min(value = 1, message = "Hold TTL must be at least 1 second")
+    private Long ttlSeconds;
+
+    // Optional; a request repeated with the same key returns the hold the first one placed
+    private UUID requestKey;
+
+    // Getters and setters
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public Long getTtlSeconds() { return ttlSeconds; }
+    public void setTtlSeconds(Long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+    public UUID getRequestKey() { return requestKey; }
+    public void setRequestKey(UUID requestKey) { this.requestKey = requestKey; }
+}
@@ -0,0 +1,46 @@
+package com.virtualbank.accountservice.dto;
+
+import com.virtualbank.accountservice.model.HoldStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class HoldResponseDto {
+    private UUID holdId;
+    private UUID accountId;
+    private UUID toAccountId;
+    private BigDecimal amount;
+    private HoldStatus status;
+    private LocalDateTime expiresAt;
+    private String message;
+
+    // Constructors
+    public HoldResponseDto() {}
+
+    public HoldResponseDto(UUID holdId, UUID accountId, UUID toAccountId, BigDecimal amount,
+                           HoldStatus status, LocalDateTime expiresAt) {
+        this.holdId = holdId;
+        this.accountId = accountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.status = status;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and setters
+    public UUID getHoldId() { return holdId; }
+    public void setHoldId(UUID holdId) { this.holdId = holdId; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public HoldStatus getStatus() { return status; }
+    public void setStatus(HoldStatus status) { this.status = status; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
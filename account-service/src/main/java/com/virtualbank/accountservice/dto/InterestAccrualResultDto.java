@@ -0,0 +1,36 @@
+package com.virtualbank.accountservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class InterestAccrualResultDto {
+    private LocalDate accrualDate;
+    private long accountsProcessed;
+    private long postingsWritten;
+    private BigDecimal totalInterest = BigDecimal.ZERO;
+    private long partitions;
+    private long durationMillis;
+    private double accountsPerSecond;
+    private boolean resumed;
+    private String message;
+
+    // Getters and setters
+    public LocalDate getAccrualDate() { return accrualDate; }
+    public void setAccrualDate(LocalDate accrualDate) { this.accrualDate = accrualDate; }
+    public long getAccountsProcessed() { return accountsProcessed; }
+    public void setAccountsProcessed(long accountsProcessed) { this.accountsProcessed = accountsProcessed; }
+    public long getPostingsWritten() { return postingsWritten; }
+    public void setPostingsWritten(long postingsWritten) { this.postingsWritten = postingsWritten; }
+    public BigDecimal getTotalInterest() { return totalInterest; }
+    public void setTotalInterest(BigDecimal totalInterest) { this.totalInterest = totalInterest; }
+    public long getPartitions() { return partitions; }
+    public void setPartitions(long partitions) { this.partitions = partitions; }
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+    public double getAccountsPerSecond() { return accountsPerSecond; }
+    public void setAccountsPerSecond(double accountsPerSecond) { this.accountsPerSecond = accountsPerSecond; }
+    public boolean isResumed() { return resumed; }
+    public void setResumed(boolean resumed) { this.resumed = resumed; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
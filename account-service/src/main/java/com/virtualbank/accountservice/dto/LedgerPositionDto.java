@@ -0,0 +1,39 @@
+package com.virtualbank.accountservice.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * An account's balance together with every movement account-service makes on its own, so that
+ * balance - openingBalance - interestCredited - capturedHoldsNet is what transfers must account for.
+ */
+public class LedgerPositionDto {
+    private UUID accountId;
+    private BigDecimal balance;
+    private BigDecimal openingBalance;
+    private BigDecimal interestCredited;
+    private BigDecimal capturedHoldsNet;
+
+    // Constructors
+    public LedgerPositionDto() {}
+
+    public LedgerPositionDto(UUID accountId, BigDecimal balance, BigDecimal openingBalance) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.openingBalance = openingBalance;
+        this.interestCredited = BigDecimal.ZERO;
+        this.capturedHoldsNet = BigDecimal.ZERO;
+    }
+
+    // Getters and setters
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+    public BigDecimal getInterestCredited() { return interestCredited; }
+    public void setInterestCredited(BigDecimal interestCredited) { this.interestCredited = interestCredited; }
+    public BigDecimal getCapturedHoldsNet() { return capturedHoldsNet; }
+    public void setCapturedHoldsNet(BigDecimal capturedHoldsNet) { this.capturedHoldsNet = capturedHoldsNet; }
+}
@@ -0,0 +1,31 @@
+package com.virtualbank.accountservice.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class TransferCommandDto {
+    private UUID transactionId;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private BigDecimal amount;
+
+    // Constructors
+    public TransferCommandDto() {}
+
+    public TransferCommandDto(UUID transactionId, UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        this.transactionId = transactionId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+    }
+
+    // Getters and setters
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
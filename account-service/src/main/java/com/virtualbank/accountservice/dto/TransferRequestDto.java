@@ -7,21 +7,33 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 public class TransferRequestDto {
-    @NotNull(message = "From account ID is required")
+    // Optional; when given the transfer is applied at most once and its outcome is recorded
+    private UUID transactionId;
+
+    // Each side is identified by either its account ID or its account number
     private UUID fromAccountId;
     
-    @NotNull(message = "To account ID is required")
+    private String fromAccountNumber;
+    
     private UUID toAccountId;
     
+    private String toAccountNumber;
+    
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
     private BigDecimal amount;
 
     // Getters and setters
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
     public UUID getFromAccountId() { return fromAccountId; }
     public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public String getFromAccountNumber() { return fromAccountNumber; }
+    public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
     public UUID getToAccountId() { return toAccountId; }
     public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
     public BigDecimal getAmount() { return amount; }
     public void setAmount(BigDecimal amount) { this.amount = amount; }
 } 
\ No newline at end of file
@@ -1,14 +1,16 @@
 package com.virtualbank.accountservice.model;
 
+import com.virtualbank.accountservice.util.TimeOrderedUuid;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_account_type_id", columnList = "account_type, account_id"))
 public class Account {
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID accountId;
 
     @Column(nullable = false, unique = true)
@@ -21,6 +23,14 @@ public class Account {
     @Column(nullable = false)
     private BigDecimal balance;
 
+    // Sum of ACTIVE holds, kept in step with hold changes so available balance needs no hold scan
+    @Column(nullable = false, columnDefinition = "DECIMAL(38,2) DEFAULT 0")
+    private BigDecimal heldBalance = BigDecimal.ZERO;
+
+    // Balance the account was opened with; null for accounts created before it was recorded
+    @Column(nullable = true, updatable = false)
+    private BigDecimal openingBalance;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AccountStatus status;
@@ -48,6 +58,11 @@ public class Account {
     public void setAccountType(AccountType accountType) { this.accountType = accountType; }
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+    public BigDecimal getHeldBalance() { return heldBalance; }
+    public void setHeldBalance(BigDecimal heldBalance) { this.heldBalance = heldBalance; }
+    public BigDecimal getAvailableBalance() { return balance.subtract(heldBalance); }
     public AccountStatus getStatus() { return status; }
     public void setStatus(AccountStatus status) { this.status = status; }
     public UUID getUserId() { return userId; }
@@ -0,0 +1,37 @@
+package com.virtualbank.accountservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+public class AccrualCheckpoint {
+    @Id
+    private LocalDate accrualDate;
+
+    // Last account whose interest for this date has been committed; the next run resumes after it
+    @Column(nullable = true)
+    private UUID lastAccountId;
+
+    @Column(nullable = false)
+    private long processedCount;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters and setters
+    public LocalDate getAccrualDate() { return accrualDate; }
+    public void setAccrualDate(LocalDate accrualDate) { this.accrualDate = accrualDate; }
+    public UUID getLastAccountId() { return lastAccountId; }
+    public void setLastAccountId(UUID lastAccountId) { this.lastAccountId = lastAccountId; }
+    public long getProcessedCount() { return processedCount; }
+    public void setProcessedCount(long processedCount) { this.processedCount = processedCount; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
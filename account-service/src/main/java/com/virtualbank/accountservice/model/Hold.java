@@ -0,0 +1,65 @@
+package com.virtualbank.accountservice.model;
+
+import com.virtualbank.accountservice.util.TimeOrderedUuid;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_hold_status_expires_at", columnList = "status, expires_at"),
+    @Index(name = "idx_hold_account_status", columnList = "account_id, status"),
+    @Index(name = "idx_hold_to_account_status", columnList = "to_account_id, status")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_hold_request_key", columnNames = "request_key"))
+public class Hold {
+    @Id
+    @TimeOrderedUuid
+    private UUID holdId;
+
+    @Column(nullable = false)
+    private UUID accountId;
+
+    @Column(nullable = true)
+    private UUID toAccountId;
+
+    // Client-supplied key; placing a hold again with the same key returns this hold
+    @Column(nullable = true, updatable = false)
+    private UUID requestKey;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HoldStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public UUID getHoldId() { return holdId; }
+    public void setHoldId(UUID holdId) { this.holdId = holdId; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public UUID getRequestKey() { return requestKey; }
+    public void setRequestKey(UUID requestKey) { this.requestKey = requestKey; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public HoldStatus getStatus() { return status; }
+    public void setStatus(HoldStatus status) { this.status = status; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
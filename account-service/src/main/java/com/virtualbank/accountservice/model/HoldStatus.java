@@ -0,0 +1,8 @@
+package com.virtualbank.accountservice.model;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
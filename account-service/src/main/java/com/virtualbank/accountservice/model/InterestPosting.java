@@ -0,0 +1,45 @@
+package com.virtualbank.accountservice.model;
+
+import com.virtualbank.accountservice.util.TimeOrderedUuid;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_interest_posting_account_date", columnNames = {"account_id", "accrual_date"}))
+public class InterestPosting {
+    @Id
+    @TimeOrderedUuid
+    private UUID postingId;
+
+    @Column(nullable = false)
+    private UUID accountId;
+
+    @Column(nullable = false)
+    private LocalDate accrualDate;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public UUID getPostingId() { return postingId; }
+    public void setPostingId(UUID postingId) { this.postingId = postingId; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public LocalDate getAccrualDate() { return accrualDate; }
+    public void setAccrualDate(LocalDate accrualDate) { this.accrualDate = accrualDate; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
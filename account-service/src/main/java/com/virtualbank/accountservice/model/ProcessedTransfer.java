@@ -0,0 +1,48 @@
+package com.virtualbank.accountservice.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of a transfer command, keyed by the originating transaction ID so that redelivered
+ * commands are answered from this record instead of moving funds again.
+ */
+@Entity
+public class ProcessedTransfer {
+    @Id
+    private UUID transactionId;
+
+    @Column(nullable = false)
+    private boolean success;
+
+    private String message;
+
+    // Account balances right after the transfer was applied, so replays report them too
+    private BigDecimal fromBalance;
+
+    private BigDecimal toBalance;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.processedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public BigDecimal getFromBalance() { return fromBalance; }
+    public void setFromBalance(BigDecimal fromBalance) { this.fromBalance = fromBalance; }
+    public BigDecimal getToBalance() { return toBalance; }
+    public void setToBalance(BigDecimal toBalance) { this.toBalance = toBalance; }
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -0,0 +1,11 @@
+package com.virtualbank.accountservice.repository;
+
+import com.virtualbank.accountservice.model.AccrualCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccrualCheckpointRepository extends JpaRepository<AccrualCheckpoint, LocalDate> {
+    List<AccrualCheckpoint> findByCompletedFalseOrderByAccrualDate();
+}
@@ -0,0 +1,23 @@
+package com.virtualbank.accountservice.repository;
+
+import com.virtualbank.accountservice.model.Hold;
+import com.virtualbank.accountservice.model.HoldStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface HoldRepository extends JpaRepository<Hold, UUID> {
+    List<Hold> findByStatus(HoldStatus status);
+
+    Optional<Hold> findByRequestKey(UUID requestKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hold h WHERE h.holdId = :holdId")
+    Optional<Hold> findByIdForUpdate(@Param("holdId") UUID holdId);
+}
@@ -0,0 +1,9 @@
+package com.virtualbank.accountservice.repository;
+
+import com.virtualbank.accountservice.model.ProcessedTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface ProcessedTransferRepository extends JpaRepository<ProcessedTransfer, UUID> {
+}
@@ -0,0 +1,59 @@
+package com.virtualbank.accountservice.scheduler;
+
+import com.virtualbank.accountservice.model.Hold;
+import com.virtualbank.accountservice.model.HoldStatus;
+import com.virtualbank.accountservice.repository.HoldRepository;
+import com.virtualbank.accountservice.service.HoldService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class HoldExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldExpiryScheduler.class);
+
+    @Autowired
+    private HoldExpiryWheel holdExpiryWheel;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    // Active hold rows are the source of truth; rebuild the wheel from them once on startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveHolds() {
+        List<Hold> activeHolds = holdRepository.findByStatus(HoldStatus.ACTIVE);
+        activeHolds.forEach(hold -> holdExpiryWheel.schedule(hold.getHoldId(), hold.getExpiresAt()));
+        logger.info("Scheduled {} active holds for expiry", activeHolds.size());
+    }
+
+    @Scheduled(fixedRateString = "${account.holds.wheel.tick-millis:1000}")
+    public void expireDueHolds() {
+        List<UUID> due = holdExpiryWheel.advance();
+        int expired = 0;
+        for (UUID holdId : due) {
+            try {
+                if (holdService.expireHold(holdId)) {
+                    expired++;
+                }
+            } catch (Exception e) {
+                logger.error("Failed to expire hold {}: {}", holdId, e.getMessage());
+                holdExpiryWheel.schedule(holdId, LocalDateTime.now());
+            }
+        }
+        if (expired > 0) {
+            logger.info("Expired {} holds", expired);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.virtualbank.accountservice.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel of hold deadlines. Scheduling is O(1) and each tick only visits the one
+ * bucket whose slot has come round; entries further than one rotation away stay in their bucket
+ * until their deadline tick is reached.
+ */
+@Component
+public class HoldExpiryWheel {
+
+    private final Queue<Entry>[] buckets;
+    private final long tickMillis;
+    private final long startMillis;
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HoldExpiryWheel(@Value("${account.holds.wheel.size:512}") int wheelSize,
+                           @Value("${account.holds.wheel.tick-millis:1000}") long tickMillis) {
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    public void schedule(UUID holdId, LocalDateTime expiresAt) {
+        long deadlineMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long deadlineTick = Math.max((deadlineMillis - startMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        buckets[(int) (deadlineTick % buckets.length)].add(new Entry(holdId, deadlineTick));
+    }
+
+    /**
+     * Advance the wheel up to the current wall-clock tick, catching up on any missed ticks.
+     * @return IDs of holds whose deadline has passed
+     */
+    public synchronized List<UUID> advance() {
+        long targetTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+        List<UUID> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            Iterator<Entry> it = buckets[(int) (currentTick % buckets.length)].iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.deadlineTick() <= currentTick) {
+                    it.remove();
+                    due.add(entry.holdId());
+                }
+            }
+        }
+        return due;
+    }
+
+    private record Entry(UUID holdId, long deadlineTick) {}
+}
@@ -0,0 +1,32 @@
+package com.virtualbank.accountservice.scheduler;
+
+import com.virtualbank.accountservice.service.InterestAccrualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class InterestAccrualScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualScheduler.class);
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @Scheduled(cron = "${account.interest.cron:0 30 1 * * *}") // Nightly, for the day that just ended
+    public void accrueDailyInterest() {
+        try {
+            // Finish any run that was interrupted before starting a new day
+            for (LocalDate unfinished : interestAccrualService.findIncompleteRuns()) {
+                interestAccrualService.accrue(unfinished);
+            }
+            interestAccrualService.accrue(LocalDate.now().minusDays(1));
+        } catch (Exception e) {
+            logger.error("Interest accrual failed: {}", e.getMessage(), e);
+        }
+    }
+}
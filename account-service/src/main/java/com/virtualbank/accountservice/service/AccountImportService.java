@@ -0,0 +1,228 @@
+package com.virtualbank.accountservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virtualbank.accountservice.dto.AccountImportResponseDto;
+import com.virtualbank.accountservice.dto.AccountRequestDto;
+import com.virtualbank.accountservice.model.AccountStatus;
+import com.virtualbank.accountservice.model.AccountType;
+import com.virtualbank.accountservice.util.UuidUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk account onboarding from NDJSON or CSV streams. The input is read line by line and
+ * handled in fixed-size chunks: users are validated with one user-service call per chunk,
+ * account numbers are allocated as a block and rows are written with a single JDBC batch.
+ * Only the current chunk and a capped error list are held in memory.
+ */
+@Service
+public class AccountImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountImportService.class);
+
+    private static final String USER_SERVICE_URL = "http://localhost:50001/api"; // User Service runs on port 50001
+
+    private static final String INSERT_ACCOUNT_SQL =
+        "INSERT INTO account (account_id, account_number, account_type, balance, opening_balance, status, user_id, last_transaction_time, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum Format { NDJSON, CSV }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Value("${account.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${account.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public AccountImportResponseDto importAccounts(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        AccountImportResponseDto report = new AccountImportResponseDto();
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (firstLine && format == Format.CSV && line.trim().toLowerCase().startsWith("userid")) {
+                    firstLine = false;
+                    continue;
+                }
+                firstLine = false;
+                report.setTotalLines(report.getTotalLines() + 1);
+
+                try {
+                    chunk.add(parse(lineNumber, line, format));
+                } catch (Exception e) {
+                    recordError(report, lineNumber, "Invalid line: " + e.getMessage());
+                    continue;
+                }
+
+                if (chunk.size() >= batchSize) {
+                    flush(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, report);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        report.setDurationMillis(elapsedNanos / 1_000_000);
+        report.setLinesPerSecond(elapsedNanos > 0 ? report.getTotalLines() * 1_000_000_000.0 / elapsedNanos : 0);
+        logger.info("Imported {} of {} accounts in {} ms ({} lines/s)",
+            report.getImported(), report.getTotalLines(), report.getDurationMillis(), Math.round(report.getLinesPerSecond()));
+        return report;
+    }
+
+    private ImportRow parse(long lineNumber, String line, Format format) throws IOException {
+        UUID userId;
+        AccountType accountType;
+        BigDecimal initialBalance;
+        if (format == Format.NDJSON) {
+            AccountRequestDto request = objectMapper.readValue(line, AccountRequestDto.class);
+            userId = request.getUserId();
+            accountType = request.getAccountType();
+            initialBalance = request.getInitialBalance();
+        } else {
+            String[] columns = line.split(",", -1);
+            if (columns.length != 3) {
+                throw new IllegalArgumentException("expected 3 columns (userId,accountType,initialBalance)");
+            }
+            userId = UUID.fromString(columns[0].trim());
+            accountType = AccountType.valueOf(columns[1].trim().toUpperCase());
+            initialBalance = new BigDecimal(columns[2].trim());
+        }
+
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (accountType == null) {
+            throw new IllegalArgumentException("Invalid account type");
+        }
+        if (initialBalance == null || initialBalance.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Initial balance must be greater than 0");
+        }
+        return new ImportRow(lineNumber, userId, accountType, initialBalance);
+    }
+
+    private void flush(List<ImportRow> chunk, AccountImportResponseDto report) {
+        Set<UUID> existingUsers;
+        try {
+            existingUsers = findExistingUsers(chunk);
+        } catch (Exception e) {
+            logger.error("User validation failed for import chunk: {}", e.getMessage());
+            chunk.forEach(row -> recordError(report, row.lineNumber(), "User validation unavailable"));
+            return;
+        }
+
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existingUsers.contains(row.userId())) {
+                valid.add(row);
+            } else {
+                recordError(report, row.lineNumber(), "User with ID " + row.userId() + " does not exist");
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<String> accountNumbers = accountNumberAllocator.allocateBlock(valid.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            ImportRow row = valid.get(i);
+            batch.add(new Object[] {
+                UuidUtils.toBytes(UuidUtils.timeOrdered()),
+                accountNumbers.get(i),
+                row.accountType().name(),
+                row.initialBalance(),
+                row.initialBalance(),
+                AccountStatus.ACTIVE.name(),
+                UuidUtils.toBytes(row.userId()),
+                now,
+                now
+            });
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_ACCOUNT_SQL, batch));
+            report.setImported(report.getImported() + valid.size());
+        } catch (Exception e) {
+            logger.error("Batch insert failed for import chunk: {}", e.getMessage());
+            valid.forEach(row -> recordError(report, row.lineNumber(), "Insert failed"));
+        }
+    }
+
+    private Set<UUID> findExistingUsers(List<ImportRow> chunk) {
+        Set<String> userIds = new HashSet<>();
+        chunk.forEach(row -> userIds.add(row.userId().toString()));
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+            USER_SERVICE_URL + "/users/exists",
+            Map.of("userIds", userIds),
+            Map.class
+        );
+
+        Set<UUID> existing = new HashSet<>();
+        Object body = response.getBody() != null ? response.getBody().get("existing") : null;
+        if (body instanceof List<?> ids) {
+            ids.forEach(id -> existing.add(UUID.fromString(id.toString())));
+        }
+        return existing;
+    }
+
+    private void recordError(AccountImportResponseDto report, long lineNumber, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new AccountImportResponseDto.LineError(lineNumber, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private record ImportRow(long lineNumber, UUID userId, AccountType accountType, BigDecimal initialBalance) {}
+}
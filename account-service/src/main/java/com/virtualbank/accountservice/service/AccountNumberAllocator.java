@@ -0,0 +1,43 @@
+package com.virtualbank.accountservice.service;
+
+import com.virtualbank.accountservice.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands out unused 10-digit account numbers. Candidates are checked against the unique
+ * account_number column in blocks, so allocating N numbers costs one IN-query plus retries for collisions.
+ */
+@Component
+public class AccountNumberAllocator {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    public String allocate() {
+        return allocateBlock(1).get(0);
+    }
+
+    public List<String> allocateBlock(int count) {
+        Set<String> block = new LinkedHashSet<>(count * 2);
+        while (block.size() < count) {
+            Set<String> candidates = new HashSet<>();
+            while (candidates.size() < count - block.size()) {
+                String number = String.format("%010d", ThreadLocalRandom.current().nextLong(1_000_000_000L, 10_000_000_000L));
+                if (!block.contains(number)) {
+                    candidates.add(number);
+                }
+            }
+            accountRepository.findExistingAccountNumbers(candidates).forEach(candidates::remove);
+            block.addAll(candidates);
+        }
+        return new ArrayList<>(block);
+    }
+}
@@ -0,0 +1,36 @@
+package com.virtualbank.accountservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded LRU map from account number to account ID. Account numbers never change once
+ * assigned, so entries never go stale; only the account ID is cached and account data is
+ * always read fresh by primary key.
+ */
+@Component
+public class AccountNumberCache {
+
+    private final Map<String, UUID> cache;
+
+    public AccountNumberCache(@Value("${account.lookup.number-cache-size:100000}") int maxSize) {
+        this.cache = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized UUID get(String accountNumber) {
+        return cache.get(accountNumber);
+    }
+
+    public synchronized void put(String accountNumber, UUID accountId) {
+        cache.put(accountNumber, accountId);
+    }
+}
@@ -1,31 +1,48 @@
 package com.virtualbank.accountservice.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virtualbank.accountservice.dto.AccountBatchResponseDto;
 import com.virtualbank.accountservice.dto.AccountRequestDto;
 import com.virtualbank.accountservice.dto.AccountResponseDto;
 import com.virtualbank.accountservice.dto.TransferRequestDto;
+import com.virtualbank.accountservice.dto.TransferResultDto;
 import com.virtualbank.accountservice.exception.AccountNotFoundException;
 import com.virtualbank.accountservice.exception.InsufficientFundsException;
 import com.virtualbank.accountservice.exception.UserNotFoundException;
 import com.virtualbank.accountservice.model.*;
 import com.virtualbank.accountservice.repository.AccountRepository;
+import com.virtualbank.accountservice.util.UuidUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class AccountService {
@@ -35,8 +52,23 @@ public class AccountService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Autowired
+    private AccountNumberCache accountNumberCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private static final String USER_SERVICE_URL = "http://localhost:50001/api"; // User Service runs on port 50001
 
+    @Value("${account.lookup.max-batch-size:5000}")
+    private int maxBatchSize;
+
     public AccountResponseDto createAccount(AccountRequestDto request) {
         // Validate account type
         if (request.getAccountType() == null) {
@@ -54,7 +86,7 @@ public class AccountService {
         }
 
         // Generate unique account number
-        String accountNumber = generateUniqueAccountNumber();
+        String accountNumber = accountNumberAllocator.allocate();
 
         // Create account
         Account account = new Account();
@@ -62,6 +94,7 @@ public class AccountService {
         account.setAccountNumber(accountNumber);
         account.setAccountType(request.getAccountType());
         account.setBalance(request.getInitialBalance());
+        account.setOpeningBalance(request.getInitialBalance());
         account.setStatus(AccountStatus.ACTIVE);
         account.setLastTransactionTime(LocalDateTime.now());
 
@@ -82,13 +115,132 @@ public class AccountService {
         Account account = accountRepository.findById(accountId)
             .orElseThrow(() -> new AccountNotFoundException("Account with ID " + accountId + " not found."));
 
-        return new AccountResponseDto(
-            account.getAccountId(),
-            account.getAccountNumber(),
-            account.getAccountType(),
-            account.getBalance(),
-            account.getStatus()
-        );
+        return toResponse(account);
+    }
+
+    public AccountBatchResponseDto getAccountsByIds(List<UUID> accountIds) {
+        checkBatchSize(accountIds.size());
+
+        Map<UUID, Account> byId = new HashMap<>();
+        accountRepository.findAllById(new HashSet<>(accountIds)).forEach(account -> byId.put(account.getAccountId(), account));
+
+        AccountBatchResponseDto response = new AccountBatchResponseDto();
+        Set<UUID> seen = new HashSet<>();
+        for (UUID accountId : accountIds) {
+            if (!seen.add(accountId)) {
+                continue;
+            }
+            Account account = byId.get(accountId);
+            if (account != null) {
+                response.getFound().add(toResponse(account));
+            } else {
+                response.getMissing().add(accountId.toString());
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Same result as {@link #getAccountsByIds}, but rows are written to the output as the
+     * driver streams them instead of being collected into a response object first.
+     * The batch size is checked up front, before any output is written.
+     */
+    public StreamingResponseBody streamAccountsByIds(List<UUID> accountIds) {
+        checkBatchSize(accountIds.size());
+        Set<UUID> requested = new LinkedHashSet<>(accountIds);
+        String sql = "SELECT account_id, account_number, account_type, balance, held_balance, status FROM account WHERE account_id IN ("
+            + String.join(",", Collections.nCopies(requested.size(), "?")) + ")";
+        return out -> writeAccounts(sql, requested, out);
+    }
+
+    private void writeAccounts(String sql, Set<UUID> requested, OutputStream out) throws IOException {
+        Set<UUID> found = new HashSet<>();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("found");
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(Integer.MIN_VALUE); // MySQL row-by-row streaming
+                int index = 1;
+                for (UUID accountId : requested) {
+                    ps.setBytes(index++, UuidUtils.toBytes(accountId));
+                }
+                return ps;
+            }, (ResultSet rs) -> {
+                UUID accountId = UuidUtils.fromBytes(rs.getBytes("account_id"));
+                BigDecimal balance = rs.getBigDecimal("balance");
+                AccountResponseDto account = new AccountResponseDto(
+                    accountId,
+                    rs.getString("account_number"),
+                    AccountType.valueOf(rs.getString("account_type")),
+                    balance,
+                    AccountStatus.valueOf(rs.getString("status"))
+                );
+                account.setAvailableBalance(balance.subtract(rs.getBigDecimal("held_balance")));
+                try {
+                    objectMapper.writeValue(json, account);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                found.add(accountId);
+            });
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("missing");
+            for (UUID accountId : requested) {
+                if (!found.contains(accountId)) {
+                    json.writeString(accountId.toString());
+                }
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    public AccountResponseDto getAccountByNumber(String accountNumber) {
+        return toResponse(findByAccountNumber(accountNumber));
+    }
+
+    public AccountBatchResponseDto getAccountsByNumbers(List<String> accountNumbers) {
+        checkBatchSize(accountNumbers.size());
+
+        // Cached numbers resolve by primary key; the rest go through the unique account_number index
+        Set<UUID> cachedIds = new HashSet<>();
+        Set<String> uncached = new HashSet<>();
+        for (String accountNumber : accountNumbers) {
+            UUID accountId = accountNumberCache.get(accountNumber);
+            if (accountId != null) {
+                cachedIds.add(accountId);
+            } else {
+                uncached.add(accountNumber);
+            }
+        }
+
+        Map<String, Account> byNumber = new HashMap<>();
+        if (!cachedIds.isEmpty()) {
+            accountRepository.findAllById(cachedIds).forEach(account -> byNumber.put(account.getAccountNumber(), account));
+        }
+        if (!uncached.isEmpty()) {
+            for (Account account : accountRepository.findByAccountNumberIn(uncached)) {
+                accountNumberCache.put(account.getAccountNumber(), account.getAccountId());
+                byNumber.put(account.getAccountNumber(), account);
+            }
+        }
+
+        AccountBatchResponseDto response = new AccountBatchResponseDto();
+        Set<String> seen = new HashSet<>();
+        for (String accountNumber : accountNumbers) {
+            if (!seen.add(accountNumber)) {
+                continue;
+            }
+            Account account = byNumber.get(accountNumber);
+            if (account != null) {
+                response.getFound().add(toResponse(account));
+            } else {
+                response.getMissing().add(accountNumber);
+            }
+        }
+        return response;
     }
 
     public List<AccountResponseDto> getAccountsByUserId(UUID userId) {
@@ -99,32 +251,36 @@ public class AccountService {
         }
 
         return accounts.stream()
-            .map(account -> new AccountResponseDto(
-                account.getAccountId(),
-                account.getAccountNumber(),
-                account.getAccountType(),
-                account.getBalance(),
-                account.getStatus()
-            ))
+            .map(this::toResponse)
             .toList();
     }
 
+    /**
+     * Move funds between two accounts. Both rows are locked (in UUID order, to avoid deadlocks), so
+     * the balances reported back are exactly the ones this transfer left behind.
+     */
     @Transactional
-    public String transferFunds(TransferRequestDto request) {
+    public TransferResultDto transferFunds(TransferRequestDto request) {
         // Validate accounts exist
-        Account fromAccount = accountRepository.findById(request.getFromAccountId())
-            .orElseThrow(() -> new AccountNotFoundException("From account not found"));
-
-        Account toAccount = accountRepository.findById(request.getToAccountId())
-            .orElseThrow(() -> new AccountNotFoundException("To account not found"));
+        UUID fromAccountId = resolveTransferAccountId(request.getFromAccountId(), request.getFromAccountNumber(), "From");
+        UUID toAccountId = resolveTransferAccountId(request.getToAccountId(), request.getToAccountNumber(), "To");
+        Account fromAccount;
+        Account toAccount;
+        if (fromAccountId.compareTo(toAccountId) <= 0) {
+            fromAccount = lockTransferAccount(fromAccountId, "From");
+            toAccount = fromAccountId.equals(toAccountId) ? fromAccount : lockTransferAccount(toAccountId, "To");
+        } else {
+            toAccount = lockTransferAccount(toAccountId, "To");
+            fromAccount = lockTransferAccount(fromAccountId, "From");
+        }
 
         // Validate account status
         if (fromAccount.getStatus() != AccountStatus.ACTIVE || toAccount.getStatus() != AccountStatus.ACTIVE) {
             throw new IllegalArgumentException("One or both accounts are inactive");
         }
 
-        // Validate sufficient funds
-        if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
+        // Validate sufficient funds (funds reserved by holds are not available)
+        if (fromAccount.getAvailableBalance().compareTo(request.getAmount()) < 0) {
             throw new InsufficientFundsException("Insufficient funds in from account");
         }
 
@@ -145,7 +301,65 @@ public class AccountService {
         accountRepository.save(fromAccount);
         accountRepository.save(toAccount);
 
-        return "Account updated successfully.";
+        TransferResultDto result = new TransferResultDto(request.getTransactionId(), true, "Account updated successfully.");
+        result.setFromBalance(fromAccount.getBalance());
+        result.setToBalance(toAccount.getBalance());
+        return result;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " accounts can be looked up at once");
+        }
+    }
+
+    // Resolves without loading the entity, so the locking read that follows sees current state
+    private UUID resolveTransferAccountId(UUID accountId, String accountNumber, String side) {
+        if (accountId != null) {
+            return accountId;
+        }
+        if (accountNumber != null) {
+            UUID cached = accountNumberCache.get(accountNumber);
+            if (cached != null) {
+                return cached;
+            }
+            UUID resolved = accountRepository.findAccountIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account with number " + accountNumber + " not found."));
+            accountNumberCache.put(accountNumber, resolved);
+            return resolved;
+        }
+        throw new IllegalArgumentException(side + " account ID or account number is required");
+    }
+
+    private Account lockTransferAccount(UUID accountId, String side) {
+        return accountRepository.findByIdForUpdate(accountId)
+            .orElseThrow(() -> new AccountNotFoundException(side + " account not found"));
+    }
+
+    private Account findByAccountNumber(String accountNumber) {
+        UUID accountId = accountNumberCache.get(accountNumber);
+        if (accountId != null) {
+            Optional<Account> account = accountRepository.findById(accountId);
+            if (account.isPresent()) {
+                return account.get();
+            }
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountNotFoundException("Account with number " + accountNumber + " not found."));
+        accountNumberCache.put(accountNumber, account.getAccountId());
+        return account;
+    }
+
+    private AccountResponseDto toResponse(Account account) {
+        AccountResponseDto response = new AccountResponseDto(
+            account.getAccountId(),
+            account.getAccountNumber(),
+            account.getAccountType(),
+            account.getBalance(),
+            account.getStatus()
+        );
+        response.setAvailableBalance(account.getAvailableBalance());
+        return response;
     }
 
     private boolean validateUserExists(UUID userId) {
@@ -193,14 +407,4 @@ public class AccountService {
             return false;
         }
     }
-
-    private String generateUniqueAccountNumber() {
-        while (true) {
-            String number = String.format("%010d", ThreadLocalRandom.current().nextLong(1_000_000_000L, 10_000_000_000L));
-            boolean exists = accountRepository.findAll().stream().anyMatch(a -> a.getAccountNumber().equals(number));
-            if (!exists) {
-                return number;
-            }
-        }
-    }
 } 
\ No newline at end of file
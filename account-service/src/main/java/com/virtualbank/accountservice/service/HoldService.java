@@ -0,0 +1,357 @@
+package com.virtualbank.accountservice.service;
+
+import com.virtualbank.accountservice.dto.DisbursementCreditDto;
+import com.virtualbank.accountservice.dto.HoldRequestDto;
+import com.virtualbank.accountservice.dto.HoldResponseDto;
+import com.virtualbank.accountservice.dto.TransferResultDto;
+import com.virtualbank.accountservice.exception.AccountNotFoundException;
+import com.virtualbank.accountservice.exception.HoldNotFoundException;
+import com.virtualbank.accountservice.exception.InsufficientFundsException;
+import com.virtualbank.accountservice.exception.InvalidHoldStateException;
+import com.virtualbank.accountservice.model.Account;
+import com.virtualbank.accountservice.model.AccountStatus;
+import com.virtualbank.accountservice.model.Hold;
+import com.virtualbank.accountservice.model.HoldStatus;
+import com.virtualbank.accountservice.model.ProcessedTransfer;
+import com.virtualbank.accountservice.repository.AccountRepository;
+import com.virtualbank.accountservice.repository.HoldRepository;
+import com.virtualbank.accountservice.repository.ProcessedTransferRepository;
+import com.virtualbank.accountservice.scheduler.HoldExpiryWheel;
+import com.virtualbank.accountservice.util.UuidUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Two-phase funds reservations. Placing a hold moves the amount into the account's held balance;
+ * capturing debits it (and credits the optional target account); releasing or expiring gives it back.
+ * A hold without a target can also be paid out piecewise to many accounts by {@link #disburse}.
+ */
+@Service
+public class HoldService {
+
+    private static final String CREDIT_SQL =
+        "UPDATE account SET balance = balance + ?, last_transaction_time = ? WHERE account_id = ?";
+
+    private static final String RECORD_OUTCOME_SQL =
+        "INSERT INTO processed_transfer (transaction_id, success, message, from_balance, to_balance, processed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String CREDITED_BALANCES_SQL = "SELECT account_id, balance FROM account WHERE account_id IN (%s)";
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private HoldExpiryWheel holdExpiryWheel;
+
+    @Autowired
+    private ProcessedTransferRepository processedTransferRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${account.holds.default-ttl-seconds:900}")
+    private long defaultTtlSeconds;
+
+    /**
+     * Reserve funds on an account. With a request key the call is idempotent: a repeat returns
+     * the hold the first call placed, whatever its status now, instead of reserving again.
+     */
+    @Transactional
+    public HoldResponseDto placeHold(UUID accountId, HoldRequestDto request) {
+        Account account = accountRepository.findByIdForUpdate(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Account with ID " + accountId + " not found."));
+
+        // The account lock serializes repeats for the same account; the unique key covers the rest
+        if (request.getRequestKey() != null) {
+            Hold existing = holdRepository.findByRequestKey(request.getRequestKey()).orElse(null);
+            if (existing != null) {
+                // Disbursements draw a hold down, so its amount need not match the request any more
+                if (!existing.getAccountId().equals(accountId)) {
+                    throw new IllegalArgumentException("Request key was already used for another account");
+                }
+                HoldResponseDto response = toResponse(existing);
+                response.setMessage("Hold already placed.");
+                return response;
+            }
+        }
+
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new IllegalArgumentException("Account is inactive");
+        }
+        if (request.getToAccountId() != null && !accountRepository.existsById(request.getToAccountId())) {
+            throw new AccountNotFoundException("To account not found");
+        }
+        if (account.getAvailableBalance().compareTo(request.getAmount()) < 0) {
+            throw new InsufficientFundsException("Insufficient available funds in account");
+        }
+
+        account.setHeldBalance(account.getHeldBalance().add(request.getAmount()));
+        accountRepository.save(account);
+
+        long ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+        Hold hold = new Hold();
+        hold.setAccountId(accountId);
+        hold.setToAccountId(request.getToAccountId());
+        hold.setRequestKey(request.getRequestKey());
+        hold.setAmount(request.getAmount());
+        hold.setStatus(HoldStatus.ACTIVE);
+        hold.setExpiresAt(LocalDateTime.now().plusSeconds(ttlSeconds));
+        Hold savedHold = holdRepository.save(hold);
+
+        holdExpiryWheel.schedule(savedHold.getHoldId(), savedHold.getExpiresAt());
+
+        HoldResponseDto response = toResponse(savedHold);
+        response.setMessage("Hold placed successfully.");
+        return response;
+    }
+
+    @Transactional
+    public HoldResponseDto captureHold(UUID holdId) {
+        Hold hold = lockHold(holdId);
+        Account account = lockAccounts(hold.getAccountId(), hold.getToAccountId());
+
+        if (hold.getStatus() == HoldStatus.ACTIVE && !hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            // The expiry wheel releases the funds; never capture past the deadline
+            throw new InvalidHoldStateException("Hold " + holdId + " has expired");
+        }
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidHoldStateException("Hold " + holdId + " cannot be captured in status " + hold.getStatus());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        account.setBalance(account.getBalance().subtract(hold.getAmount()));
+        account.setLastTransactionTime(now);
+        if (hold.getToAccountId() != null) {
+            Account toAccount = accountRepository.findById(hold.getToAccountId())
+                .orElseThrow(() -> new AccountNotFoundException("To account not found"));
+            toAccount.setBalance(toAccount.getBalance().add(hold.getAmount()));
+            toAccount.setLastTransactionTime(now);
+            accountRepository.save(toAccount);
+        }
+        finish(hold, account, HoldStatus.CAPTURED);
+
+        HoldResponseDto response = toResponse(hold);
+        response.setMessage("Hold captured successfully.");
+        return response;
+    }
+
+    @Transactional
+    public HoldResponseDto releaseHold(UUID holdId) {
+        Hold hold = lockHold(holdId);
+        Account account = lockAccounts(hold.getAccountId(), null);
+
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidHoldStateException("Hold " + holdId + " cannot be released in status " + hold.getStatus());
+        }
+        finish(hold, account, HoldStatus.RELEASED);
+
+        HoldResponseDto response = toResponse(hold);
+        response.setMessage("Hold released successfully.");
+        return response;
+    }
+
+    /**
+     * Expire a hold whose deadline has passed. Safe to call for holds that were already
+     * captured, released or removed; those are left untouched.
+     */
+    @Transactional
+    public boolean expireHold(UUID holdId) {
+        Hold hold = holdRepository.findByIdForUpdate(holdId).orElse(null);
+        if (hold == null || hold.getStatus() != HoldStatus.ACTIVE || hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        Account account = lockAccounts(hold.getAccountId(), null);
+        finish(hold, account, HoldStatus.EXPIRED);
+        return true;
+    }
+
+    /**
+     * Pay part of an untargeted hold out to several accounts in one transaction. The source is
+     * debited once for the credits applied, and the hold keeps the reservation that remains until
+     * it is released. Each credit's outcome is recorded against its transaction ID, so credits
+     * that were already applied are answered from the record instead of being paid again.
+     */
+    @Transactional
+    public List<TransferResultDto> disburse(UUID holdId, List<DisbursementCreditDto> credits) {
+        if (credits.stream().anyMatch(credit -> credit.getTransactionId() == null)) {
+            throw new IllegalArgumentException("Every credit needs a transaction ID");
+        }
+        Hold hold = lockHold(holdId);
+        if (hold.getToAccountId() != null) {
+            throw new InvalidHoldStateException("Hold " + holdId + " is reserved for a single account");
+        }
+
+        Map<UUID, TransferResultDto> results = new LinkedHashMap<>();
+        List<UUID> transactionIds = credits.stream().map(DisbursementCreditDto::getTransactionId).toList();
+        for (ProcessedTransfer processed : processedTransferRepository.findAllById(transactionIds)) {
+            TransferResultDto result = new TransferResultDto(processed.getTransactionId(), processed.isSuccess(), processed.getMessage());
+            result.setFromBalance(processed.getFromBalance());
+            result.setToBalance(processed.getToBalance());
+            results.put(processed.getTransactionId(), result);
+        }
+        Map<UUID, DisbursementCreditDto> unique = new LinkedHashMap<>();
+        credits.forEach(credit -> unique.putIfAbsent(credit.getTransactionId(), credit));
+        List<DisbursementCreditDto> pending = unique.values().stream()
+            .filter(credit -> !results.containsKey(credit.getTransactionId()))
+            .toList();
+        if (pending.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+        // A released or expired hold fails the new credits but still reports those already applied
+        boolean usable = hold.getStatus() == HoldStatus.ACTIVE && hold.getExpiresAt().isAfter(LocalDateTime.now());
+
+        Account account = lockAccounts(hold.getAccountId(), null);
+        Set<UUID> targetIds = pending.stream()
+            .map(DisbursementCreditDto::getToAccountId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<UUID, Account> targets = new HashMap<>();
+        accountRepository.findAllById(targetIds).forEach(target -> targets.put(target.getAccountId(), target));
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        BigDecimal remaining = hold.getAmount();
+        BigDecimal sourceBalance = account.getBalance();
+        Map<UUID, BigDecimal> creditsByAccount = new HashMap<>();
+        List<DisbursementCreditDto> applied = new ArrayList<>(pending.size());
+        for (DisbursementCreditDto credit : pending) {
+            Account target = targets.get(credit.getToAccountId());
+            String failure = null;
+            if (!usable) {
+                failure = "Hold is not active";
+            } else if (credit.getAmount() == null || credit.getAmount().signum() <= 0) {
+                failure = "Amount must be greater than 0";
+            } else if (target == null) {
+                failure = "To account not found";
+            } else if (target.getStatus() != AccountStatus.ACTIVE) {
+                failure = "To account is inactive";
+            } else if (target.getAccountId().equals(account.getAccountId())) {
+                failure = "Cannot transfer to the same account";
+            } else if (credit.getAmount().compareTo(remaining) > 0) {
+                failure = "Reserved funds exhausted";
+            }
+
+            String message = failure != null ? failure : "Account updated successfully.";
+            TransferResultDto result = new TransferResultDto(credit.getTransactionId(), failure == null, message);
+            if (failure == null) {
+                remaining = remaining.subtract(credit.getAmount());
+                creditsByAccount.merge(target.getAccountId(), credit.getAmount(), BigDecimal::add);
+                sourceBalance = sourceBalance.subtract(credit.getAmount());
+                result.setFromBalance(sourceBalance);
+                applied.add(credit);
+            }
+            results.put(credit.getTransactionId(), result);
+        }
+
+        BigDecimal paid = hold.getAmount().subtract(remaining);
+        if (paid.signum() > 0) {
+            account.setBalance(account.getBalance().subtract(paid));
+            account.setHeldBalance(account.getHeldBalance().subtract(paid));
+            account.setLastTransactionTime(now);
+            accountRepository.save(account);
+            hold.setAmount(remaining);
+            holdRepository.save(hold);
+
+            // Credited in account order so concurrent disbursements lock rows in the same order
+            List<Object[]> updates = creditsByAccount.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entry -> new Object[] { entry.getValue(), timestamp, UuidUtils.toBytes(entry.getKey()) })
+                .toList();
+            jdbcTemplate.batchUpdate(CREDIT_SQL, updates);
+            assignTargetBalances(applied, creditsByAccount.keySet(), results);
+        }
+
+        List<Object[]> outcomes = new ArrayList<>(pending.size());
+        for (DisbursementCreditDto credit : pending) {
+            TransferResultDto result = results.get(credit.getTransactionId());
+            outcomes.add(new Object[] { UuidUtils.toBytes(credit.getTransactionId()), result.isSuccess(), result.getMessage(),
+                result.getFromBalance(), result.getToBalance(), timestamp });
+        }
+        jdbcTemplate.batchUpdate(RECORD_OUTCOME_SQL, outcomes);
+        return new ArrayList<>(results.values());
+    }
+
+    // The credited rows are locked by this transaction, so their balances now are final for the
+    // batch; walking the credits backwards from there gives each one's balance right after it
+    private void assignTargetBalances(List<DisbursementCreditDto> applied, Set<UUID> accountIds, Map<UUID, TransferResultDto> results) {
+        List<UUID> ids = new ArrayList<>(accountIds);
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(String.format(CREDITED_BALANCES_SQL, String.join(",", Collections.nCopies(ids.size(), "?"))),
+            rs -> {
+                balances.put(UuidUtils.fromBytes(rs.getBytes("account_id")), rs.getBigDecimal("balance"));
+            },
+            ids.stream().map(UuidUtils::toBytes).toArray());
+        for (int i = applied.size() - 1; i >= 0; i--) {
+            DisbursementCreditDto credit = applied.get(i);
+            BigDecimal balance = balances.get(credit.getToAccountId());
+            results.get(credit.getTransactionId()).setToBalance(balance);
+            balances.put(credit.getToAccountId(), balance.subtract(credit.getAmount()));
+        }
+    }
+
+    public HoldResponseDto getHold(UUID holdId) {
+        return toResponse(findHold(holdId));
+    }
+
+    private Hold findHold(UUID holdId) {
+        return holdRepository.findById(holdId)
+            .orElseThrow(() -> new HoldNotFoundException("Hold with ID " + holdId + " not found."));
+    }
+
+    private Hold lockHold(UUID holdId) {
+        return holdRepository.findByIdForUpdate(holdId)
+            .orElseThrow(() -> new HoldNotFoundException("Hold with ID " + holdId + " not found."));
+    }
+
+    // Holds are locked before accounts; the two accounts are locked in UUID order to avoid deadlocks
+    private Account lockAccounts(UUID accountId, UUID toAccountId) {
+        if (toAccountId != null && toAccountId.compareTo(accountId) < 0) {
+            accountRepository.findByIdForUpdate(toAccountId);
+        }
+        Account account = accountRepository.findByIdForUpdate(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Account with ID " + accountId + " not found."));
+        if (toAccountId != null && toAccountId.compareTo(accountId) > 0) {
+            accountRepository.findByIdForUpdate(toAccountId);
+        }
+        return account;
+    }
+
+    private void finish(Hold hold, Account account, HoldStatus status) {
+        account.setHeldBalance(account.getHeldBalance().subtract(hold.getAmount()));
+        accountRepository.save(account);
+        hold.setStatus(status);
+        holdRepository.save(hold);
+    }
+
+    private HoldResponseDto toResponse(Hold hold) {
+        return new HoldResponseDto(
+            hold.getHoldId(),
+            hold.getAccountId(),
+            hold.getToAccountId(),
+            hold.getAmount(),
+            hold.getStatus(),
+            hold.getExpiresAt()
+        );
+    }
+}
@@ -0,0 +1,198 @@
+package com.virtualbank.accountservice.service;
+
+import com.virtualbank.accountservice.dto.InterestAccrualResultDto;
+import com.virtualbank.accountservice.model.AccountType;
+import com.virtualbank.accountservice.model.AccrualCheckpoint;
+import com.virtualbank.accountservice.repository.AccrualCheckpointRepository;
+import com.virtualbank.accountservice.util.UuidUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Daily interest accrual for SAVINGS accounts. Accounts are read in keyset-ordered partitions
+ * (account_id order, served by idx_account_type_id), interest is computed for each partition on a
+ * dedicated fork-join pool, and balance updates, ledger postings and the checkpoint for the
+ * partition commit together. A run that stops part way resumes after the last committed account.
+ */
+@Service
+public class InterestAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualService.class);
+
+    private static final String FIRST_PARTITION_SQL =
+        "SELECT account_id, balance FROM account WHERE account_type = ? ORDER BY account_id LIMIT ?";
+
+    private static final String NEXT_PARTITION_SQL =
+        "SELECT account_id, balance FROM account WHERE account_type = ? AND account_id > ? ORDER BY account_id LIMIT ?";
+
+    private static final String CREDIT_INTEREST_SQL =
+        "UPDATE account SET balance = balance + ? WHERE account_id = ?";
+
+    private static final String INSERT_POSTING_SQL =
+        "INSERT INTO interest_posting (posting_id, account_id, accrual_date, amount, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccrualCheckpointRepository checkpointRepository;
+
+    @Value("${account.interest.annual-rate:0.03}")
+    private BigDecimal annualRate;
+
+    @Value("${account.interest.days-in-year:365}")
+    private int daysInYear;
+
+    @Value("${account.interest.partition-size:5000}")
+    private int partitionSize;
+
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public InterestAccrualService(@Value("${account.interest.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public List<LocalDate> findIncompleteRuns() {
+        return checkpointRepository.findByCompletedFalseOrderByAccrualDate().stream()
+            .map(AccrualCheckpoint::getAccrualDate)
+            .toList();
+    }
+
+    public InterestAccrualResultDto accrue(LocalDate accrualDate) {
+        InterestAccrualResultDto result = new InterestAccrualResultDto();
+        result.setAccrualDate(accrualDate);
+
+        if (!running.compareAndSet(false, true)) {
+            result.setMessage("An accrual run is already in progress.");
+            return result;
+        }
+        try {
+            AccrualCheckpoint checkpoint = checkpointRepository.findById(accrualDate).orElseGet(() -> {
+                AccrualCheckpoint created = new AccrualCheckpoint();
+                created.setAccrualDate(accrualDate);
+                return created;
+            });
+            if (checkpoint.isCompleted()) {
+                result.setAccountsProcessed(checkpoint.getProcessedCount());
+                result.setMessage("Interest for " + accrualDate + " has already been accrued.");
+                return result;
+            }
+            result.setResumed(checkpoint.getLastAccountId() != null);
+            run(checkpoint, result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void run(AccrualCheckpoint checkpoint, InterestAccrualResultDto result) {
+        long start = System.nanoTime();
+        BigDecimal dailyRate = annualRate.divide(BigDecimal.valueOf(daysInYear), 12, RoundingMode.HALF_EVEN);
+        byte[] lastAccountId = checkpoint.getLastAccountId() != null ? UuidUtils.toBytes(checkpoint.getLastAccountId()) : null;
+
+        while (true) {
+            List<AccountBalance> partition = readPartition(lastAccountId);
+            if (partition.isEmpty()) {
+                break;
+            }
+
+            List<Accrual> accruals = pool.submit(() -> partition.parallelStream()
+                .map(account -> new Accrual(account.accountId(),
+                    account.balance().multiply(dailyRate).setScale(2, RoundingMode.HALF_EVEN)))
+                .filter(accrual -> accrual.interest().signum() > 0)
+                .toList()
+            ).join();
+
+            lastAccountId = partition.get(partition.size() - 1).accountId();
+            checkpoint.setLastAccountId(UuidUtils.fromBytes(lastAccountId));
+            checkpoint.setProcessedCount(checkpoint.getProcessedCount() + partition.size());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            writePartition(checkpoint, accruals);
+
+            result.setPartitions(result.getPartitions() + 1);
+            result.setAccountsProcessed(result.getAccountsProcessed() + partition.size());
+            result.setPostingsWritten(result.getPostingsWritten() + accruals.size());
+            result.setTotalInterest(accruals.stream().map(Accrual::interest).reduce(result.getTotalInterest(), BigDecimal::add));
+
+            if (result.getPartitions() % 100 == 0) {
+                logger.info("Interest accrual {}: {} accounts processed", checkpoint.getAccrualDate(), checkpoint.getProcessedCount());
+            }
+            if (partition.size() < partitionSize) {
+                break;
+            }
+        }
+
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setDurationMillis(elapsedNanos / 1_000_000);
+        result.setAccountsPerSecond(elapsedNanos > 0 ? result.getAccountsProcessed() * 1_000_000_000.0 / elapsedNanos : 0);
+        result.setMessage("Interest accrued successfully.");
+        logger.info("Interest accrual {} finished: {} accounts, {} postings in {} ms ({} accounts/s)",
+            checkpoint.getAccrualDate(), result.getAccountsProcessed(), result.getPostingsWritten(),
+            result.getDurationMillis(), Math.round(result.getAccountsPerSecond()));
+    }
+
+    private List<AccountBalance> readPartition(byte[] afterAccountId) {
+        if (afterAccountId == null) {
+            return jdbcTemplate.query(FIRST_PARTITION_SQL,
+                (rs, rowNum) -> new AccountBalance(rs.getBytes("account_id"), rs.getBigDecimal("balance")),
+                AccountType.SAVINGS.name(), partitionSize);
+        }
+        return jdbcTemplate.query(NEXT_PARTITION_SQL,
+            (rs, rowNum) -> new AccountBalance(rs.getBytes("account_id"), rs.getBigDecimal("balance")),
+            AccountType.SAVINGS.name(), afterAccountId, partitionSize);
+    }
+
+    // Credits, ledger postings and the checkpoint commit together, so a restart never double-posts
+    private void writePartition(AccrualCheckpoint checkpoint, List<Accrual> accruals) {
+        Date accrualDate = Date.valueOf(checkpoint.getAccrualDate());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> credits = new ArrayList<>(accruals.size());
+        List<Object[]> postings = new ArrayList<>(accruals.size());
+        for (Accrual accrual : accruals) {
+            credits.add(new Object[] { accrual.interest(), accrual.accountId() });
+            postings.add(new Object[] { UuidUtils.toBytes(UuidUtils.timeOrdered()), accrual.accountId(), accrualDate, accrual.interest(), now });
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!accruals.isEmpty()) {
+                jdbcTemplate.batchUpdate(CREDIT_INTEREST_SQL, credits);
+                jdbcTemplate.batchUpdate(INSERT_POSTING_SQL, postings);
+            }
+            checkpointRepository.save(checkpoint);
+        });
+    }
+
+    private record AccountBalance(byte[] accountId, BigDecimal balance) {}
+
+    private record Accrual(byte[] accountId, BigDecimal interest) {}
+}
@@ -0,0 +1,86 @@
+package com.virtualbank.accountservice.service;
+
+import com.virtualbank.accountservice.dto.LedgerPositionDto;
+import com.virtualbank.accountservice.util.UuidUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Ledger positions for consecutive ranges of accounts in account_id order, read for the
+ * ledger consistency check. Each page costs four range queries, all served by indexes led by
+ * the account ID.
+ */
+@Service
+public class LedgerPositionService {
+
+    private static final String FIRST_PAGE_SQL =
+        "SELECT account_id, balance, opening_balance FROM account ORDER BY account_id LIMIT ?";
+
+    private static final String NEXT_PAGE_SQL =
+        "SELECT account_id, balance, opening_balance FROM account WHERE account_id > ? ORDER BY account_id LIMIT ?";
+
+    private static final String INTEREST_SQL =
+        "SELECT account_id, SUM(amount) FROM interest_posting WHERE account_id BETWEEN ? AND ? GROUP BY account_id";
+
+    private static final String HOLD_DEBITS_SQL =
+        "SELECT account_id, SUM(amount) FROM hold WHERE status = 'CAPTURED' AND account_id BETWEEN ? AND ? GROUP BY account_id";
+
+    private static final String HOLD_CREDITS_SQL =
+        "SELECT to_account_id, SUM(amount) FROM hold WHERE status = 'CAPTURED' AND to_account_id BETWEEN ? AND ? GROUP BY to_account_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${account.ledger.max-page-size:10000}")
+    private int maxPageSize;
+
+    /** Up to {@code limit} accounts after {@code afterAccountId} (from the start when null), in account_id order. */
+    public List<LedgerPositionDto> getPositions(UUID afterAccountId, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), maxPageSize);
+        Map<UUID, LedgerPositionDto> positions = new LinkedHashMap<>();
+        if (afterAccountId == null) {
+            jdbcTemplate.query(FIRST_PAGE_SQL, rs -> {
+                UUID accountId = UuidUtils.fromBytes(rs.getBytes(1));
+                positions.put(accountId, new LedgerPositionDto(accountId, rs.getBigDecimal(2), rs.getBigDecimal(3)));
+            }, pageSize);
+        } else {
+            jdbcTemplate.query(NEXT_PAGE_SQL, rs -> {
+                UUID accountId = UuidUtils.fromBytes(rs.getBytes(1));
+                positions.put(accountId, new LedgerPositionDto(accountId, rs.getBigDecimal(2), rs.getBigDecimal(3)));
+            }, UuidUtils.toBytes(afterAccountId), pageSize);
+        }
+        if (positions.isEmpty()) {
+            return List.of();
+        }
+
+        List<LedgerPositionDto> page = List.copyOf(positions.values());
+        byte[] first = UuidUtils.toBytes(page.get(0).getAccountId());
+        byte[] last = UuidUtils.toBytes(page.get(page.size() - 1).getAccountId());
+        sumByAccount(INTEREST_SQL, first, last, positions,
+            (position, amount) -> position.setInterestCredited(amount));
+        sumByAccount(HOLD_DEBITS_SQL, first, last, positions,
+            (position, amount) -> position.setCapturedHoldsNet(position.getCapturedHoldsNet().subtract(amount)));
+        sumByAccount(HOLD_CREDITS_SQL, first, last, positions,
+            (position, amount) -> position.setCapturedHoldsNet(position.getCapturedHoldsNet().add(amount)));
+        return page;
+    }
+
+    private void sumByAccount(String sql, byte[] first, byte[] last, Map<UUID, LedgerPositionDto> positions,
+                              BiConsumer<LedgerPositionDto, BigDecimal> apply) {
+        jdbcTemplate.query(sql, rs -> {
+            LedgerPositionDto position = positions.get(UuidUtils.fromBytes(rs.getBytes(1)));
+            if (position != null) {
+                apply.accept(position, rs.getBigDecimal(2));
+            }
+        }, first, last);
+    }
+}
@@ -0,0 +1,67 @@
+package com.virtualbank.accountservice.service;
+
+import com.virtualbank.accountservice.config.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+@Service
+public class TokenValidationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenValidationService.class);
+
+    private static final String USER_SERVICE_URL = "http://localhost:50001/api"; // User Service runs on port 50001
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${auth.token-validation.mode:local}")
+    private String mode;
+
+    /**
+     * Check that a bearer token grants access to the given user's resources.
+     * In "local" mode the token is verified in-process; "remote" mode asks user-service instead.
+     * @param token The raw JWT (without the "Bearer " prefix)
+     * @param userId The user whose resources are being accessed
+     * @return true if access is allowed
+     */
+    public boolean isAuthorizedForUser(String token, String userId) {
+        if ("remote".equalsIgnoreCase(mode)) {
+            return validateRemotely(token, userId);
+        }
+        return jwtUtil.validateTokenForUser(token, userId);
+    }
+
+    private boolean validateRemotely(String token, String userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", "Bearer " + token);
+
+        try {
+            ResponseEntity<Map> response = restTemplate.exchange(
+                USER_SERVICE_URL + "/users/" + userId + "/profile",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                Map.class
+            );
+            return response.getStatusCode() == HttpStatus.OK;
+        } catch (Exception e) {
+            logger.debug("Remote token validation failed: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.virtualbank.accountservice.service;
+
+import com.virtualbank.accountservice.dto.TransferCommandDto;
+import com.virtualbank.accountservice.dto.TransferRequestDto;
+import com.virtualbank.accountservice.dto.TransferResultDto;
+import com.virtualbank.accountservice.exception.AccountNotFoundException;
+import com.virtualbank.accountservice.exception.InsufficientFundsException;
+import com.virtualbank.accountservice.model.ProcessedTransfer;
+import com.virtualbank.accountservice.repository.ProcessedTransferRepository;
+import com.virtualbank.accountservice.util.UuidUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Executes transfer commands delivered through Kafka, and synchronous transfers that carry a
+ * transaction ID. Either may be repeated, so the balance
+ * update and the processed-transfer record commit together and a repeated command returns the
+ * recorded outcome. The record is a plain INSERT: when two deliveries race, or reconciliation
+ * fenced the transaction first, the loser hits the primary key, its balance update rolls back and
+ * it answers from the row that won. Business rejections are recorded too; infrastructure errors
+ * propagate so the command is retried.
+ */
+@Service
+public class TransferCommandService {
+
+    private static final String RECONCILED_MESSAGE = "Transfer was not applied before reconciliation";
+
+    private static final String RECORD_SQL =
+        "INSERT INTO processed_transfer (transaction_id, success, message, from_balance, to_balance, processed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String FENCE_SQL =
+        "INSERT IGNORE INTO processed_transfer (transaction_id, success, message, processed_at) VALUES (?, false, ?, ?)";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ProcessedTransferRepository processedTransferRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public TransferResultDto process(TransferCommandDto command) {
+        TransferRequestDto request = new TransferRequestDto();
+        request.setFromAccountId(command.getFromAccountId());
+        request.setToAccountId(command.getToAccountId());
+        request.setAmount(command.getAmount());
+        return process(command.getTransactionId(), request);
+    }
+
+    public TransferResultDto process(UUID transactionId, TransferRequestDto request) {
+        Optional<ProcessedTransfer> processed = processedTransferRepository.findById(transactionId);
+        if (processed.isPresent()) {
+            return toResult(processed.get());
+        }
+
+        try {
+            try {
+                return transactionTemplate.execute(status -> {
+                    TransferResultDto applied = accountService.transferFunds(request);
+                    return record(transactionId, true, applied.getMessage(), applied.getFromBalance(), applied.getToBalance());
+                });
+            } catch (AccountNotFoundException | InsufficientFundsException | IllegalArgumentException e) {
+                return transactionTemplate.execute(status -> record(transactionId, false, e.getMessage(), null, null));
+            }
+        } catch (DuplicateKeyException e) {
+            // Another delivery or reconciliation recorded an outcome first; ours rolled back
+            return processedTransferRepository.findById(transactionId)
+                .map(this::toResult)
+                .orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Report the outcome of each transaction. Transactions never seen here are recorded as
+     * failed first, so a command or retry that arrives later cannot move funds after the caller
+     * has settled the transaction as failed. That holds for one already past its check in
+     * {@link #process} too: its outcome insert hits the fence row and its balance update rolls back.
+     */
+    public List<TransferResultDto> reconcile(List<UUID> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> fences = new ArrayList<>(transactionIds.size());
+        for (UUID transactionId : transactionIds) {
+            fences.add(new Object[] { UuidUtils.toBytes(transactionId), RECONCILED_MESSAGE, now });
+        }
+        return transactionTemplate.execute(status -> {
+            // INSERT IGNORE leaves outcomes that are already recorded untouched
+            jdbcTemplate.batchUpdate(FENCE_SQL, fences);
+            return processedTransferRepository.findAllById(transactionIds).stream()
+                .map(this::toResult)
+                .toList();
+        });
+    }
+
+    // Throws DuplicateKeyException if an outcome is already recorded, rolling back the caller's transaction
+    private TransferResultDto record(UUID transactionId, boolean success, String message, BigDecimal fromBalance, BigDecimal toBalance) {
+        jdbcTemplate.update(RECORD_SQL, UuidUtils.toBytes(transactionId), success, message, fromBalance, toBalance,
+            Timestamp.valueOf(LocalDateTime.now()));
+        TransferResultDto result = new TransferResultDto(transactionId, success, message);
+        result.setFromBalance(fromBalance);
+        result.setToBalance(toBalance);
+        return result;
+    }
+
+    private TransferResultDto toResult(ProcessedTransfer processed) {
+        TransferResultDto result = new TransferResultDto(processed.getTransactionId(), processed.isSuccess(), processed.getMessage());
+        result.setFromBalance(processed.getFromBalance());
+        result.setToBalance(processed.getToBalance());
+        return result;
+    }
+}
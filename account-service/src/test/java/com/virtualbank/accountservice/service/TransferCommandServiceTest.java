@@ -0,0 +1,265 @@
+package com.virtualbank.accountservice.service;
+
+import com.virtualbank.accountservice.dto.TransferRequestDto;
+import com.virtualbank.accountservice.dto.TransferResultDto;
+import com.virtualbank.accountservice.exception.InsufficientFundsException;
+import com.virtualbank.accountservice.model.ProcessedTransfer;
+import com.virtualbank.accountservice.repository.ProcessedTransferRepository;
+import com.virtualbank.accountservice.util.UuidUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the service against a small in-memory stand-in for the database: writes stay with their
+ * transaction until it commits, and the processed_transfer primary key is enforced against
+ * committed rows, which is what a racing delivery sees in MySQL once the winner has committed.
+ */
+class TransferCommandServiceTest {
+
+    private static final UUID FROM = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID TO = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private final Map<UUID, BigDecimal> balances = new HashMap<>();
+    private final Map<UUID, ProcessedTransfer> committed = new HashMap<>();
+    private final Deque<Tx> transactions = new ArrayDeque<>();
+
+    private AccountService accountService;
+    private TransferCommandService service;
+
+    private static final class Tx {
+        final Map<UUID, ProcessedTransfer> rows = new HashMap<>();
+        final Map<UUID, BigDecimal> deltas = new HashMap<>();
+    }
+
+    @BeforeEach
+    void setUp() {
+        balances.put(FROM, new BigDecimal("100.00"));
+        balances.put(TO, new BigDecimal("0.00"));
+
+        accountService = mock(AccountService.class);
+        ProcessedTransferRepository repository = mock(ProcessedTransferRepository.class);
+        when(repository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(visible(invocation.getArgument(0))));
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<UUID> ids = invocation.getArgument(0);
+            List<ProcessedTransfer> found = new ArrayList<>();
+            ids.forEach(id -> Optional.ofNullable(visible(id)).ifPresent(found::add));
+            return found;
+        });
+
+        service = new TransferCommandService();
+        ReflectionTestUtils.setField(service, "accountService", accountService);
+        ReflectionTestUtils.setField(service, "processedTransferRepository", repository);
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(new FakeTransactionManager()));
+        ReflectionTestUtils.setField(service, "jdbcTemplate", new FakeJdbcTemplate());
+    }
+
+    @Test
+    void repeatedDeliveryIsAnsweredFromTheRecord() {
+        UUID transactionId = UUID.randomUUID();
+        when(accountService.transferFunds(any())).thenAnswer(invocation -> applyTransfer(invocation.getArgument(0)));
+
+        TransferResultDto first = service.process(transactionId, request("40.00"));
+        TransferResultDto second = service.process(transactionId, request("40.00"));
+
+        assertTrue(first.isSuccess());
+        assertTrue(second.isSuccess());
+        assertEquals(new BigDecimal("60.00"), second.getFromBalance());
+        assertEquals(new BigDecimal("60.00"), balances.get(FROM));
+        verify(accountService, times(1)).transferFunds(any());
+    }
+
+    @Test
+    void racingDeliveriesMoveFundsOnce() {
+        UUID transactionId = UUID.randomUUID();
+        TransferRequestDto request = request("40.00");
+        boolean[] raced = { false };
+        when(accountService.transferFunds(any())).thenAnswer(invocation -> {
+            if (!raced[0]) {
+                // A second delivery passes the same check and commits while the first is still open
+                raced[0] = true;
+                service.process(transactionId, request);
+            }
+            return applyTransfer(invocation.getArgument(0));
+        });
+
+        TransferResultDto result = service.process(transactionId, request);
+
+        assertTrue(result.isSuccess());
+        assertEquals(new BigDecimal("60.00"), result.getFromBalance());
+        assertEquals(new BigDecimal("60.00"), balances.get(FROM));
+        assertEquals(new BigDecimal("40.00"), balances.get(TO));
+    }
+
+    @Test
+    void rejectionIsRecordedWithoutMovingFunds() {
+        UUID transactionId = UUID.randomUUID();
+        when(accountService.transferFunds(any()))
+            .thenThrow(new InsufficientFundsException("Insufficient funds"));
+
+        TransferResultDto first = service.process(transactionId, request("400.00"));
+        TransferResultDto second = service.process(transactionId, request("400.00"));
+
+        assertFalse(first.isSuccess());
+        assertEquals("Insufficient funds", second.getMessage());
+        assertEquals(new BigDecimal("100.00"), balances.get(FROM));
+        verify(accountService, times(1)).transferFunds(any());
+    }
+
+    @Test
+    void transferFencedByReconciliationAfterItsCheckRollsBack() {
+        UUID transactionId = UUID.randomUUID();
+        List<TransferResultDto> reconciled = new ArrayList<>();
+        when(accountService.transferFunds(any())).thenAnswer(invocation -> {
+            // process() passed its check; reconciliation fences the ID and commits before the transfer records
+            reconciled.addAll(service.reconcile(List.of(transactionId)));
+            return applyTransfer(invocation.getArgument(0));
+        });
+
+        TransferResultDto result = service.process(transactionId, request("40.00"));
+
+        assertFalse(reconciled.get(0).isSuccess());
+        assertFalse(result.isSuccess());
+        assertEquals(reconciled.get(0).getMessage(), result.getMessage());
+        assertFalse(committed.get(transactionId).isSuccess());
+        assertEquals(new BigDecimal("100.00"), balances.get(FROM));
+        assertEquals(new BigDecimal("0.00"), balances.get(TO));
+    }
+
+    @Test
+    void reconciliationReportsATransferThatWasApplied() {
+        UUID transactionId = UUID.randomUUID();
+        when(accountService.transferFunds(any())).thenAnswer(invocation -> applyTransfer(invocation.getArgument(0)));
+        service.process(transactionId, request("40.00"));
+
+        List<TransferResultDto> reconciled = service.reconcile(List.of(transactionId));
+
+        assertTrue(reconciled.get(0).isSuccess());
+        assertEquals(new BigDecimal("60.00"), reconciled.get(0).getFromBalance());
+        assertEquals(new BigDecimal("60.00"), balances.get(FROM));
+    }
+
+    @Test
+    void fencedTransactionIsNeverApplied() {
+        UUID transactionId = UUID.randomUUID();
+        service.reconcile(List.of(transactionId));
+
+        TransferResultDto result = service.process(transactionId, request("40.00"));
+
+        assertFalse(result.isSuccess());
+        assertEquals(new BigDecimal("100.00"), balances.get(FROM));
+        verify(accountService, never()).transferFunds(any());
+    }
+
+    private TransferRequestDto request(String amount) {
+        TransferRequestDto request = new TransferRequestDto();
+        request.setFromAccountId(FROM);
+        request.setToAccountId(TO);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private TransferResultDto applyTransfer(TransferRequestDto request) {
+        Tx tx = transactions.peek();
+        tx.deltas.merge(FROM, request.getAmount().negate(), BigDecimal::add);
+        tx.deltas.merge(TO, request.getAmount(), BigDecimal::add);
+        TransferResultDto result = new TransferResultDto(null, true, "Account updated successfully.");
+        result.setFromBalance(balances.get(FROM).add(tx.deltas.get(FROM)));
+        result.setToBalance(balances.get(TO).add(tx.deltas.get(TO)));
+        return result;
+    }
+
+    private ProcessedTransfer visible(UUID transactionId) {
+        Tx tx = transactions.peek();
+        if (tx != null && tx.rows.containsKey(transactionId)) {
+            return tx.rows.get(transactionId);
+        }
+        return committed.get(transactionId);
+    }
+
+    private static ProcessedTransfer row(UUID transactionId, boolean success, String message) {
+        ProcessedTransfer processed = new ProcessedTransfer();
+        processed.setTransactionId(transactionId);
+        processed.setSuccess(success);
+        processed.setMessage(message);
+        return processed;
+    }
+
+    private final class FakeTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            transactions.push(new Tx());
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            Tx tx = transactions.pop();
+            tx.rows.forEach(committed::putIfAbsent);
+            tx.deltas.forEach((accountId, delta) -> balances.merge(accountId, delta, BigDecimal::add));
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            transactions.pop();
+        }
+    }
+
+    private final class FakeJdbcTemplate extends JdbcTemplate {
+        // The strict outcome INSERT
+        @Override
+        public int update(String sql, Object... args) {
+            UUID transactionId = UuidUtils.fromBytes((byte[]) args[0]);
+            if (visible(transactionId) != null) {
+                throw new DuplicateKeyException("Duplicate entry for key 'PRIMARY'");
+            }
+            ProcessedTransfer processed = row(transactionId, (Boolean) args[1], (String) args[2]);
+            processed.setFromBalance((BigDecimal) args[3]);
+            processed.setToBalance((BigDecimal) args[4]);
+            transactions.peek().rows.put(transactionId, processed);
+            return 1;
+        }
+
+        // The reconciliation fence, INSERT IGNORE
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            int[] counts = new int[batchArgs.size()];
+            for (int i = 0; i < counts.length; i++) {
+                Object[] args = batchArgs.get(i);
+                UUID transactionId = UuidUtils.fromBytes((byte[]) args[0]);
+                if (visible(transactionId) == null) {
+                    transactions.peek().rows.put(transactionId, row(transactionId, false, (String) args[1]));
+                    counts[i] = 1;
+                }
+            }
+            return counts;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -14,12 +15,16 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class BffService {
     private static final Logger logger = LoggerFactory.getLogger(BffService.class);
 
+    // transaction-service caps history pages at 1000 entries
+    private static final int TRANSACTION_PAGE_SIZE = 1000;
+
     @Autowired
     private WebClient userServiceWebClient;
 
@@ -98,12 +103,7 @@ public class BffService {
 
                     // Fetch transactions for each account asynchronously
                     Flux<DashboardResponseDto.Account> accountFlux = Flux.fromIterable(accounts)
-                            .flatMap(account -> transactionServiceWebClient.get()
-                                    .uri("/transactions/accounts/{accountId}/transactions", account.getAccountId())
-                                    .header("Authorization", "Bearer " + token)
-                                    .retrieve()
-                                    .bodyToFlux(TransactionResponse.class)
-                                    .collectList()
+                            .flatMap(account -> fetchTransactions(account.getAccountId(), token)
                                     .map(transactions -> {
                                         DashboardResponseDto.Account accountDto = new DashboardResponseDto.Account();
                                         accountDto.setAccountId(account.getAccountId());
@@ -160,6 +160,28 @@ public class BffService {
         });
     }
 
+    // History is served in pages; follow X-Next-Cursor to the last one so the dashboard shows all of it
+    private Mono<List<TransactionResponse>> fetchTransactions(UUID accountId, String token) {
+        return fetchTransactionPage(accountId, null, token)
+                .expand(page -> {
+                    String next = page.getHeaders().getFirst("X-Next-Cursor");
+                    return next != null ? fetchTransactionPage(accountId, next, token) : Mono.empty();
+                })
+                .flatMapIterable(page -> page.getBody() != null ? page.getBody() : List.<TransactionResponse>of())
+                .collectList();
+    }
+
+    private Mono<ResponseEntity<List<TransactionResponse>>> fetchTransactionPage(UUID accountId, String cursor, String token) {
+        return transactionServiceWebClient.get()
+                .uri(builder -> builder.path("/transactions/accounts/{accountId}/transactions")
+                        .queryParam("limit", TRANSACTION_PAGE_SIZE)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .build(accountId))
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .toEntityList(TransactionResponse.class);
+    }
+
     // Helper classes for deserialization
     private static class UserResponse {
         private UUID userId;
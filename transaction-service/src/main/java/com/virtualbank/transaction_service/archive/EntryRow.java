@@ -0,0 +1,33 @@
+package com.virtualbank.transaction_service.archive;
+
+import com.virtualbank.transaction_service.util.UuidUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * One account-side row of a transaction as held in an archive segment: the entry columns plus the
+ * transaction's description and final status. balanceAfter is null for failed transfers and for
+ * rows archived before running balances were recorded.
+ */
+public record EntryRow(UUID accountId, LocalDateTime timestamp, UUID transactionId, BigDecimal amount,
+                       BigDecimal balanceAfter, String description, String status) {
+
+    /** Oldest first; ties broken by transaction ID in database order. */
+    public static final Comparator<EntryRow> CHRONOLOGICAL = Comparator
+        .comparing(EntryRow::timestamp)
+        .thenComparing(EntryRow::transactionId, UuidUtils::compareUnsigned);
+
+    /** Segment order: grouped by account, then chronological. */
+    public static final Comparator<EntryRow> SEGMENT_ORDER = Comparator
+        .comparing(EntryRow::accountId, UuidUtils::compareUnsigned)
+        .thenComparing(CHRONOLOGICAL);
+
+    /** True if this row sorts before the (timestamp, transactionId) position. */
+    public boolean isBefore(LocalDateTime otherTimestamp, UUID otherTransactionId) {
+        int result = timestamp.compareTo(otherTimestamp);
+        return result < 0 || (result == 0 && UuidUtils.compareUnsigned(transactionId, otherTransactionId) < 0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.virtualbank.transaction_service.archive;
+
+import com.virtualbank.transaction_service.util.UuidUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Archive segment file format. Rows are sorted by account and written in independently deflated
+ * blocks; a footer holds the sparse index (first and last account of each block with its offset),
+ * so reading one account's history only inflates the blocks that can contain it.
+ *
+ * <pre>
+ * magic(int) version(int) block* index footerOffset(long) magic(int)
+ * index = blockCount(int) { firstAccount(16) lastAccount(16) offset(long) length(int) rows(int) }*
+ * </pre>
+ *
+ * Version 2 rows carry the balance after the entry (empty when unknown); version 1 files are
+ * still readable and report no balance.
+ */
+public final class SegmentFile {
+
+    private static final int MAGIC = 0x56425347; // "VBSG"
+    private static final int VERSION = 2;
+
+    private SegmentFile() {}
+
+    public record Block(UUID firstAccountId, UUID lastAccountId, long offset, int length, int rows) {
+        boolean overlaps(UUID fromAccountId, UUID toAccountId) {
+            return UuidUtils.compareUnsigned(firstAccountId, toAccountId) <= 0
+                && UuidUtils.compareUnsigned(fromAccountId, lastAccountId) <= 0;
+        }
+    }
+
+    /**
+     * Write rows (already in {@link EntryRow#SEGMENT_ORDER}) to {@code target}. The file is written
+     * under a temporary name, forced to disk and then moved into place.
+     */
+    public static void write(Path target, List<EntryRow> rows, int rowsPerBlock) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.flush();
+
+            List<Block> blocks = new ArrayList<>();
+            for (int start = 0; start < rows.size(); start += rowsPerBlock) {
+                List<EntryRow> blockRows = rows.subList(start, Math.min(start + rowsPerBlock, rows.size()));
+                byte[] compressed = compress(blockRows);
+                blocks.add(new Block(blockRows.get(0).accountId(), blockRows.get(blockRows.size() - 1).accountId(),
+                    channel.position(), compressed.length, blockRows.size()));
+                data.write(compressed);
+                data.flush();
+            }
+
+            long footerOffset = channel.position();
+            data.writeInt(blocks.size());
+            for (Block block : blocks) {
+                writeUuid(data, block.firstAccountId());
+                writeUuid(data, block.lastAccountId());
+                data.writeLong(block.offset());
+                data.writeInt(block.length());
+                data.writeInt(block.rows());
+            }
+            data.writeLong(footerOffset);
+            data.writeInt(MAGIC);
+            data.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static List<Block> readIndex(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer trailer = ByteBuffer.allocate(12);
+            readFully(channel, trailer, size - 12);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Not a segment file: " + path);
+            }
+
+            ByteBuffer footer = ByteBuffer.allocate((int) (size - 12 - footerOffset));
+            readFully(channel, footer, footerOffset);
+            int blockCount = footer.getInt();
+            List<Block> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(new Block(new UUID(footer.getLong(), footer.getLong()), new UUID(footer.getLong(), footer.getLong()),
+                    footer.getLong(), footer.getInt(), footer.getInt()));
+            }
+            return blocks;
+        }
+    }
+
+    /** All rows of one account in the segment, in chronological order. */
+    public static List<EntryRow> readAccount(Path path, List<Block> index, UUID accountId) throws IOException {
+        return readAccounts(path, index, accountId, accountId);
+    }
+
+    /**
+     * All rows of the accounts in [fromAccountId, toAccountId], in segment order. Rows are sorted by
+     * account, so the range is one run of blocks read with a single open of the file.
+     */
+    public static List<EntryRow> readAccounts(Path path, List<Block> index, UUID fromAccountId, UUID toAccountId) throws IOException {
+        List<EntryRow> rows = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            readFully(channel, header, 0);
+            header.getInt();
+            int version = header.getInt();
+            for (Block block : index) {
+                if (!block.overlaps(fromAccountId, toAccountId)) {
+                    continue;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(block.length());
+                readFully(channel, buffer, block.offset());
+                try (DataInputStream data = new DataInputStream(new InflaterInputStream(asStream(buffer)))) {
+                    for (int i = 0; i < block.rows(); i++) {
+                        EntryRow row = readRow(data, version);
+                        if (UuidUtils.compareUnsigned(fromAccountId, row.accountId()) <= 0
+                                && UuidUtils.compareUnsigned(row.accountId(), toAccountId) <= 0) {
+                            rows.add(row);
+                        }
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static byte[] compress(List<EntryRow> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream data = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (EntryRow row : rows) {
+                writeUuid(data, row.accountId());
+                data.writeLong(row.timestamp().toEpochSecond(ZoneOffset.UTC));
+                data.writeInt(row.timestamp().getNano());
+                writeUuid(data, row.transactionId());
+                data.writeUTF(row.amount().toPlainString());
+                data.writeUTF(row.balanceAfter() != null ? row.balanceAfter().toPlainString() : "");
+                data.writeUTF(row.description() != null ? row.description() : "");
+                data.writeUTF(row.status());
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static EntryRow readRow(DataInputStream data, int version) throws IOException {
+        UUID accountId = readUuid(data);
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(data.readLong(), data.readInt(), ZoneOffset.UTC);
+        UUID transactionId = readUuid(data);
+        BigDecimal amount = new BigDecimal(data.readUTF());
+        BigDecimal balanceAfter = null;
+        if (version >= 2) {
+            String balance = data.readUTF();
+            balanceAfter = balance.isEmpty() ? null : new BigDecimal(balance);
+        }
+        String description = data.readUTF();
+        String status = data.readUTF();
+        return new EntryRow(accountId, timestamp, transactionId, amount, balanceAfter, description, status);
+    }
+
+    private static void writeUuid(DataOutputStream data, UUID uuid) throws IOException {
+        data.writeLong(uuid.getMostSignificantBits());
+        data.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream data) throws IOException {
+        return new UUID(data.readLong(), data.readLong());
+    }
+
+    private static InputStream asStream(ByteBuffer buffer) {
+        return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of segment file");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,155 @@
+package com.virtualbank.transaction_service.categorization;
+
+import com.virtualbank.transaction_service.dto.CategoryRuleDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable, compiled rule set. Rules are ranked by priority (rank 0 wins) and all keywords go
+ * into one {@link KeywordAutomaton} whose outputs are rule ranks, so a description is scanned once
+ * and only rules whose keywords occur in it have their amount range and pattern checked. Rules
+ * without keywords are tried afterwards, and only while they could still beat the best match.
+ */
+public final class CategoryRuleSet {
+
+    public static final CategoryRuleSet EMPTY = compile(List.of());
+
+    private final String[] categories;
+    private final BigDecimal[] minAmounts;
+    private final BigDecimal[] maxAmounts;
+    private final Pattern[] patterns;
+    private final int[] unkeyedRanks;
+    private final KeywordAutomaton automaton;
+    private final int keywordCount;
+
+    private CategoryRuleSet(String[] categories, BigDecimal[] minAmounts, BigDecimal[] maxAmounts, Pattern[] patterns,
+                            int[] unkeyedRanks, KeywordAutomaton automaton, int keywordCount) {
+        this.categories = categories;
+        this.minAmounts = minAmounts;
+        this.maxAmounts = maxAmounts;
+        this.patterns = patterns;
+        this.unkeyedRanks = unkeyedRanks;
+        this.automaton = automaton;
+        this.keywordCount = keywordCount;
+    }
+
+    /** @throws IllegalArgumentException if a rule is incomplete or its pattern does not compile */
+    public static CategoryRuleSet compile(List<CategoryRuleDto> rules) {
+        // Stable sort, so equal priorities keep their file order
+        List<CategoryRuleDto> ranked = IntStream.range(0, rules.size()).boxed()
+            .sorted(Comparator.<Integer>comparingInt(i -> -rules.get(i).getPriority()).thenComparingInt(i -> i))
+            .map(rules::get)
+            .toList();
+
+        int size = ranked.size();
+        String[] categories = new String[size];
+        BigDecimal[] minAmounts = new BigDecimal[size];
+        BigDecimal[] maxAmounts = new BigDecimal[size];
+        Pattern[] patterns = new Pattern[size];
+        List<Integer> unkeyed = new ArrayList<>();
+        List<String> keywords = new ArrayList<>();
+        List<Integer> keywordRanks = new ArrayList<>();
+        for (int rank = 0; rank < size; rank++) {
+            CategoryRuleDto rule = ranked.get(rank);
+            if (rule.getCategory() == null || rule.getCategory().isBlank()) {
+                throw new IllegalArgumentException("Rule " + (rank + 1) + " has no category");
+            }
+            if (rule.getCategory().length() > 40) {
+                throw new IllegalArgumentException("Category '" + rule.getCategory() + "' is longer than 40 characters");
+            }
+            categories[rank] = rule.getCategory();
+            minAmounts[rank] = rule.getMinAmount();
+            maxAmounts[rank] = rule.getMaxAmount();
+            if (rule.getPattern() != null) {
+                try {
+                    patterns[rank] = Pattern.compile(rule.getPattern(), Pattern.CASE_INSENSITIVE);
+                } catch (PatternSyntaxException e) {
+                    throw new IllegalArgumentException("Invalid pattern for category " + rule.getCategory() + ": " + e.getDescription());
+                }
+            }
+
+            boolean keyed = false;
+            if (rule.getKeywords() != null) {
+                for (String keyword : rule.getKeywords()) {
+                    if (keyword != null && !keyword.isEmpty()) {
+                        keywords.add(keyword);
+                        keywordRanks.add(rank);
+                        keyed = true;
+                    }
+                }
+            }
+            if (!keyed) {
+                if (rule.getPattern() == null && rule.getMinAmount() == null && rule.getMaxAmount() == null) {
+                    throw new IllegalArgumentException("Rule for category " + rule.getCategory() + " has no condition");
+                }
+                unkeyed.add(rank);
+            }
+        }
+
+        KeywordAutomaton automaton = KeywordAutomaton.build(keywords, keywordRanks.stream().mapToInt(Integer::intValue).toArray());
+        return new CategoryRuleSet(categories, minAmounts, maxAmounts, patterns,
+            unkeyed.stream().mapToInt(Integer::intValue).toArray(), automaton, keywords.size());
+    }
+
+    /** The category of the best-ranked matching rule, or null if none matches. */
+    public String categorize(String description, BigDecimal amount) {
+        int best = Integer.MAX_VALUE;
+        if (description != null) {
+            int state = automaton.start();
+            for (int i = 0; i < description.length(); i++) {
+                state = automaton.next(state, description.charAt(i));
+                int[] ranks = automaton.outputs(state);
+                if (ranks == null) {
+                    continue;
+                }
+                for (int rank : ranks) {
+                    if (rank >= best) {
+                        break;
+                    }
+                    if (matches(rank, description, amount)) {
+                        best = rank;
+                        break;
+                    }
+                }
+            }
+        }
+        for (int rank : unkeyedRanks) {
+            if (rank >= best) {
+                break;
+            }
+            if (matches(rank, description, amount)) {
+                best = rank;
+                break;
+            }
+        }
+        return best == Integer.MAX_VALUE ? null : categories[best];
+    }
+
+    public int getRuleCount() {
+        return categories.length;
+    }
+
+    public int getKeywordCount() {
+        return keywordCount;
+    }
+
+    public int getStateCount() {
+        return automaton.stateCount();
+    }
+
+    private boolean matches(int rank, String description, BigDecimal amount) {
+        if (minAmounts[rank] != null && (amount == null || amount.compareTo(minAmounts[rank]) < 0)) {
+            return false;
+        }
+        if (maxAmounts[rank] != null && (amount == null || amount.compareTo(maxAmounts[rank]) > 0)) {
+            return false;
+        }
+        return patterns[rank] == null || (description != null && patterns[rank].matcher(description).find());
+    }
+}
@@ -0,0 +1,155 @@
+package com.virtualbank.transaction_service.categorization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over case-insensitive keywords, compiled to a dense transition table so
+ * scanning costs one array lookup per character whatever the number of keywords. Characters that
+ * occur in no keyword share a single alphabet slot, which keeps the table small. Every state lists
+ * the values of all keywords ending there, including those reached through failure links, in
+ * ascending order.
+ */
+public final class KeywordAutomaton {
+
+    private static final int ROOT = 0;
+
+    private final int[] asciiClasses;
+    private final Map<Character, Integer> otherClasses;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    private KeywordAutomaton(int[] asciiClasses, Map<Character, Integer> otherClasses, int alphabetSize,
+                             int[] transitions, int[][] outputs) {
+        this.asciiClasses = asciiClasses;
+        this.otherClasses = otherClasses;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    /**
+     * @param keywords non-empty keywords, matched case-insensitively
+     * @param values value reported for the keyword at the same position
+     */
+    public static KeywordAutomaton build(List<String> keywords, int[] values) {
+        // Alphabet: slot 0 is every character that appears in no keyword
+        int[] asciiClasses = new int[128];
+        Map<Character, Integer> otherClasses = new HashMap<>();
+        int alphabetSize = 1;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                if (c < 128) {
+                    if (asciiClasses[c] == 0) {
+                        asciiClasses[c] = alphabetSize++;
+                    }
+                } else if (!otherClasses.containsKey(c)) {
+                    otherClasses.put(c, alphabetSize++);
+                }
+            }
+        }
+
+        // Trie, with -1 for a missing edge
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        trie.add(newRow(alphabetSize));
+        stateOutputs.add(new ArrayList<>());
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = classOf(asciiClasses, otherClasses, Character.toLowerCase(keyword.charAt(i)));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow(alphabetSize));
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            stateOutputs.get(state).add(values[k]);
+        }
+
+        // Breadth-first, so each state's failure target is complete before the state is visited
+        int stateCount = trie.size();
+        int[] transitions = new int[stateCount * alphabetSize];
+        int[] failure = new int[stateCount];
+        int[][] outputs = new int[stateCount][];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int child = trie.get(ROOT)[symbol];
+            transitions[symbol] = child < 0 ? ROOT : child;
+            if (child > 0) {
+                failure[child] = ROOT;
+                queue.add(child);
+            }
+        }
+        outputs[ROOT] = toSortedArray(stateOutputs.get(ROOT), null);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = toSortedArray(stateOutputs.get(state), outputs[failure[state]]);
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int child = trie.get(state)[symbol];
+                int fallback = transitions[failure[state] * alphabetSize + symbol];
+                if (child < 0) {
+                    transitions[state * alphabetSize + symbol] = fallback;
+                } else {
+                    transitions[state * alphabetSize + symbol] = child;
+                    failure[child] = fallback;
+                    queue.add(child);
+                }
+            }
+        }
+        return new KeywordAutomaton(asciiClasses, otherClasses, alphabetSize, transitions, outputs);
+    }
+
+    public int start() {
+        return ROOT;
+    }
+
+    public int next(int state, char c) {
+        char lower = Character.toLowerCase(c);
+        return transitions[state * alphabetSize + classOf(asciiClasses, otherClasses, lower)];
+    }
+
+    /** Values of the keywords ending at this state in ascending order, or null if there are none. */
+    public int[] outputs(int state) {
+        return outputs[state];
+    }
+
+    public int stateCount() {
+        return outputs.length;
+    }
+
+    private static int classOf(int[] asciiClasses, Map<Character, Integer> otherClasses, char c) {
+        return c < 128 ? asciiClasses[c] : otherClasses.getOrDefault(c, 0);
+    }
+
+    private static int[] newRow(int alphabetSize) {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] toSortedArray(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int inheritedLength = inherited != null ? inherited.length : 0;
+        int[] merged = new int[own.size() + inheritedLength];
+        for (int i = 0; i < own.size(); i++) {
+            merged[i] = own.get(i);
+        }
+        if (inherited != null) {
+            System.arraycopy(inherited, 0, merged, own.size(), inheritedLength);
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+}
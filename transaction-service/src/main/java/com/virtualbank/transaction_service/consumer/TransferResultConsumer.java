@@ -0,0 +1,48 @@
+package com.virtualbank.transaction_service.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.virtualbank.transaction_service.dto.TransferResultDto;
+import com.virtualbank.transaction_service.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies transfer results published by account-service for commands sent through the outbox.
+ */
+@Component
+public class TransferResultConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferResultConsumer.class);
+
+    private final TransactionService transactionService;
+    private final ObjectReader resultReader;
+
+    @Autowired
+    public TransferResultConsumer(TransactionService transactionService, ObjectMapper objectMapper) {
+        this.transactionService = transactionService;
+        this.resultReader = objectMapper.readerFor(TransferResultDto.class);
+    }
+
+    @KafkaListener(topics = "${kafka.topic.transfer-results}", containerFactory = "kafkaListenerContainerFactory")
+    public void consumeTransferResult(String message) {
+        TransferResultDto result;
+        try {
+            result = resultReader.readValue(message);
+        } catch (JsonProcessingException e) {
+            // A malformed event will never parse; skip it rather than retrying forever
+            logger.error("Error parsing transfer result: {}", e.getMessage());
+            return;
+        }
+
+        if (transactionService.applyTransferResult(result)) {
+            logger.debug("Transaction {} completed: success={}", result.getTransactionId(), result.isSuccess());
+        } else {
+            logger.debug("Ignoring duplicate or unknown transfer result for {}", result.getTransactionId());
+        }
+    }
+}
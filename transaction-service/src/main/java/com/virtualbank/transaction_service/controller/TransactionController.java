@@ -1,107 +1,587 @@
 package com.virtualbank.transaction_service.controller;
 
+import com.virtualbank.transaction_service.dto.AccountEntryDto;
+import com.virtualbank.transaction_service.dto.ErrorResponseDto;
+import com.virtualbank.transaction_service.dto.LedgerCheckRunDto;
+import com.virtualbank.transaction_service.dto.TransactionRequestDto;
+import com.virtualbank.transaction_service.dto.TransactionResponseDto;
+import com.virtualbank.transaction_service.dto.TransferExecutionRequestDto;
+import com.virtualbank.transaction_service.dto.TransferScheduleRequestDto;
+import com.virtualbank.transaction_service.exception.DuplicateTransferException;
+import com.virtualbank.transaction_service.exception.InitiationNotConfirmedException;
+import com.virtualbank.transaction_service.exception.SubscriberLimitExceededException;
+import com.virtualbank.transaction_service.exception.TransactionNotFoundException;
+import com.virtualbank.transaction_service.exception.VelocityLimitExceededException;
+import com.virtualbank.transaction_service.model.DisbursementLineStatus;
 import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import com.virtualbank.transaction_service.service.AccountActivityService;
+import com.virtualbank.transaction_service.service.DisbursementService;
+import com.virtualbank.transaction_service.service.DuplicateTransferDetector;
+import com.virtualbank.transaction_service.service.InitiationBatchWriter;
+import com.virtualbank.transaction_service.service.InitiationJournal;
+import com.virtualbank.transaction_service.service.LedgerConsistencyService;
+import com.virtualbank.transaction_service.service.TransactionArchiveService;
+import com.virtualbank.transaction_service.service.TransactionCategorizer;
+import com.virtualbank.transaction_service.service.TransactionExportService;
+import com.virtualbank.transaction_service.service.TransactionRecoveryService;
 import com.virtualbank.transaction_service.service.TransactionService;
+import com.virtualbank.transaction_service.service.TransactionStatusNotifier;
+import com.virtualbank.transaction_service.service.TransferPipeline;
+import com.virtualbank.transaction_service.service.TransferScheduleService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/transactions")
 public class TransactionController {
 
     private final TransactionService service;
+    private final TransferPipeline pipeline;
+    private final TransactionExportService exportService;
+    private final AccountActivityService activityService;
+    private final TransactionStatusNotifier statusNotifier;
+    private final TransactionArchiveService archiveService;
+    private final InitiationBatchWriter initiationBatchWriter;
+    private final InitiationJournal initiationJournal;
+    private final TransactionRecoveryService recoveryService;
+    private final LedgerConsistencyService ledgerConsistencyService;
+    private final TransferScheduleService scheduleService;
+    private final DisbursementService disbursementService;
+    private final TransactionCategorizer categorizer;
+    private final DuplicateTransferDetector duplicateDetector;
 
-    public TransactionController(TransactionService service) {
+    @Value("${transaction.status.sse-timeout-ms:300000}")
+    private long sseTimeoutMillis;
+
+    @Value("${transaction.status.max-wait-seconds:60}")
+    private long maxWaitSeconds;
+
+    public TransactionController(TransactionService service, TransferPipeline pipeline,
+                                 TransactionExportService exportService, AccountActivityService activityService,
+                                 TransactionStatusNotifier statusNotifier, TransactionArchiveService archiveService,
+                                 InitiationBatchWriter initiationBatchWriter, InitiationJournal initiationJournal,
+                                 TransactionRecoveryService recoveryService,
+                                 LedgerConsistencyService ledgerConsistencyService,
+                                 TransferScheduleService scheduleService, DisbursementService disbursementService,
+                                 TransactionCategorizer categorizer, DuplicateTransferDetector duplicateDetector) {
         this.service = service;
+        this.pipeline = pipeline;
+        this.exportService = exportService;
+        this.activityService = activityService;
+        this.statusNotifier = statusNotifier;
+        this.archiveService = archiveService;
+        this.initiationBatchWriter = initiationBatchWriter;
+        this.initiationJournal = initiationJournal;
+        this.recoveryService = recoveryService;
+        this.ledgerConsistencyService = ledgerConsistencyService;
+        this.scheduleService = scheduleService;
+        this.disbursementService = disbursementService;
+        this.categorizer = categorizer;
+        this.duplicateDetector = duplicateDetector;
+    }
+
+    /**
+     * Initiate and execute a transfer in one call. The transaction is persisted and queued on the
+     * execution pipeline; the response carries the ID and a URL to poll for the final status.
+     */
+    @PostMapping("/transfers")
+    public ResponseEntity<?> submitTransfer(@Valid @RequestBody TransactionRequestDto request) {
+        if (!pipeline.tryReserve()) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Transfer pipeline is at capacity, please retry.");
+        }
+        boolean queued = false;
+        try {
+            UUID fromAccountId = resolveAccount(request.getFromAccountId(), request.getFromAccountNumber());
+            UUID toAccountId = resolveAccount(request.getToAccountId(), request.getToAccountNumber());
+            String description = request.getDescription() != null ? request.getDescription() : "";
+            Optional<Transaction> txOpt = service.initiateTransfer(fromAccountId, toAccountId, request.getAmount(), description, true, true);
+            if (txOpt.isEmpty()) {
+                return error(HttpStatus.BAD_REQUEST, "Invalid input.");
+            }
+            Transaction tx = txOpt.get();
+            // A journaled transfer is queued for execution when it is replayed
+            if (!tx.isJournaled()) {
+                pipeline.submit(tx.getTransactionId());
+                queued = true;
+            }
+            TransactionResponseDto response = toResponse(tx);
+            response.setStatusUrl("/transactions/" + tx.getTransactionId());
+            return ResponseEntity.accepted().body(response);
+        } catch (VelocityLimitExceededException e) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        } catch (DuplicateTransferException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (InitiationNotConfirmedException e) {
+            return notConfirmed(e);
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } finally {
+            if (!queued) {
+                pipeline.release();
+            }
+        }
+    }
+
+    @GetMapping("/transfers/pipeline")
+    public ResponseEntity<?> getPipelineStats() {
+        return ResponseEntity.ok(pipeline.getStats());
+    }
+
+    @GetMapping("/transfers/duplicates")
+    public ResponseEntity<?> getDuplicateDetectorStats() {
+        return ResponseEntity.ok(duplicateDetector.getStats());
+    }
+
+    @GetMapping("/{transactionId}")
+    public ResponseEntity<?> getTransaction(@PathVariable String transactionId) {
+        try {
+            UUID txId = UUID.fromString(transactionId);
+            Optional<Transaction> txOpt = service.findTransaction(txId);
+            if (txOpt.isEmpty()) {
+                return error(HttpStatus.NOT_FOUND, "Transaction with ID " + transactionId + " not found.");
+            }
+            Transaction tx = txOpt.get();
+            return ResponseEntity.ok(toResponse(tx));
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @PostMapping("/transfer/initiation")
-    public ResponseEntity<?> initiateTransfer(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> initiateTransfer(@Valid @RequestBody TransactionRequestDto request) {
         try {
-            UUID fromAccountId = UUID.fromString(request.get("fromAccountId").toString());
-            UUID toAccountId = UUID.fromString(request.get("toAccountId").toString());
-            BigDecimal amount = new BigDecimal(request.get("amount").toString());
-            String description = request.getOrDefault("description", "").toString();
-            Optional<Transaction> txOpt = service.initiateTransfer(fromAccountId, toAccountId, amount, description);
+            UUID fromAccountId = resolveAccount(request.getFromAccountId(), request.getFromAccountNumber());
+            UUID toAccountId = resolveAccount(request.getToAccountId(), request.getToAccountNumber());
+            String description = request.getDescription() != null ? request.getDescription() : "";
+            Optional<Transaction> txOpt = service.initiateTransfer(fromAccountId, toAccountId, request.getAmount(), description);
             if (txOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
-                    "status", 400,
-                    "error", "Bad Request",
-                    "message", "Invalid input."
-                ));
+                return error(HttpStatus.BAD_REQUEST, "Invalid input.");
             }
             Transaction tx = txOpt.get();
-            return ResponseEntity.ok(Map.of(
-                "transactionId", tx.getTransactionId(),
-                "status", tx.getStatus(),
-                "timestamp", tx.getTimestamp()
-            ));
+            return ResponseEntity.ok(toResponse(tx));
+        } catch (VelocityLimitExceededException e) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        } catch (DuplicateTransferException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (InitiationNotConfirmedException e) {
+            return notConfirmed(e);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
-                "status", 400,
-                "error", "Bad Request",
-                "message", e.getMessage()
-            ));
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
 
     @PostMapping("/transfer/execution")
-    public ResponseEntity<?> executeTransfer(@RequestBody Map<String, Object> request) {
-        try {
-            UUID transactionId = UUID.fromString(request.get("transactionId").toString());
-            Map<String, Object> result = service.executeTransfer(transactionId);
-            if (result.containsKey("error")) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
-                    "status", 400,
-                    "error", "Bad Request",
-                    "message", result.get("error")
-                ));
+    public ResponseEntity<?> executeTransfer(@Valid @RequestBody TransferExecutionRequestDto request) {
+        try {
+            TransactionResponseDto result = service.executeTransfer(request.getTransactionId());
+            if (result.getStatus() == TransactionStatus.Processing) {
+                // Queued for asynchronous execution; the final status arrives later
+                return ResponseEntity.accepted().body(result);
             }
             return ResponseEntity.ok(result);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
-                "status", 400,
-                "error", "Bad Request",
-                "message", e.getMessage()
-            ));
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Server-sent events for a transaction's status: the current status is sent on connect and
+     * every change after that; the stream completes once the transfer reaches Success or Failed.
+     */
+    @GetMapping("/{transactionId}/events")
+    public SseEmitter streamStatus(@PathVariable UUID transactionId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        TransactionStatusNotifier.Subscription subscription = statusNotifier.subscribe(transactionId, status -> {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(new TransactionResponseDto(transactionId, status, null)));
+                if (isFinal(status)) {
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        if (subscription == null) {
+            throw new SubscriberLimitExceededException("Too many status subscribers, please retry.");
+        }
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+
+        // Subscribed before reading, so a change in between is delivered rather than lost
+        Transaction tx = service.findTransaction(transactionId).orElse(null);
+        if (tx == null) {
+            subscription.cancel();
+            throw new TransactionNotFoundException("Transaction with ID " + transactionId + " not found.");
+        }
+        try {
+            emitter.send(SseEmitter.event().name("status").data(new TransactionResponseDto(transactionId, tx.getStatus(), null)));
+            if (isFinal(tx.getStatus())) {
+                emitter.complete();
+            }
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Long-poll for a status change: answers as soon as the status differs from {@code after}
+     * (immediately if it already does), or with the unchanged status when the wait times out.
+     */
+    @GetMapping("/{transactionId}/status")
+    public DeferredResult<ResponseEntity<?>> pollStatus(@PathVariable UUID transactionId,
+                                                        @RequestParam(required = false) TransactionStatus after,
+                                                        @RequestParam(defaultValue = "30") long waitSeconds) {
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(Math.min(waitSeconds, maxWaitSeconds)));
+        TransactionStatusNotifier.Subscription subscription = statusNotifier.subscribe(transactionId,
+            status -> result.setResult(ResponseEntity.ok(new TransactionResponseDto(transactionId, status, null))));
+        if (subscription == null) {
+            throw new SubscriberLimitExceededException("Too many status subscribers, please retry.");
+        }
+        result.onCompletion(subscription::cancel);
+
+        Transaction tx = service.findTransaction(transactionId).orElse(null);
+        if (tx == null) {
+            subscription.cancel();
+            throw new TransactionNotFoundException("Transaction with ID " + transactionId + " not found.");
+        }
+        TransactionResponseDto current = new TransactionResponseDto(transactionId, tx.getStatus(), null);
+        if (tx.getStatus() != after || isFinal(tx.getStatus())) {
+            result.setResult(ResponseEntity.ok(current));
+        } else {
+            result.onTimeout(() -> result.setResult(ResponseEntity.ok(current)));
         }
+        return result;
     }
 
     @GetMapping("/accounts/{accountId}/transactions")
-    public ResponseEntity<?> getAccountTransactions(@PathVariable String accountId) {
+    public ResponseEntity<?> getAccountTransactions(@PathVariable String accountId,
+                                                    @RequestParam(defaultValue = "100") int limit,
+                                                    @RequestParam(required = false) String cursor) {
         try {
             UUID accId = UUID.fromString(accountId);
-            List<Transaction> txs = service.getTransactionsForAccount(accId);
-            if (txs.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
-                    "status", 404,
-                    "error", "Not Found",
-                    "message", "No transactions found for account ID " + accountId + "."
-                ));
+            LocalDateTime beforeTimestamp = null;
+            UUID beforeTransactionId = null;
+            if (cursor != null) {
+                String[] parts = cursor.split("_", 2);
+                beforeTimestamp = LocalDateTime.parse(parts[0]);
+                beforeTransactionId = UUID.fromString(parts[1]);
             }
-            List<Map<String, Object>> result = new ArrayList<>();
-            for (Transaction tx : txs) {
-                result.add(Map.of(
-                    "transactionId", tx.getTransactionId(),
-                    "accountId", accId,
-                    "amount", tx.getFromAccountId() != null && tx.getFromAccountId().equals(accId) ? tx.getAmount().negate() : tx.getAmount(),
-                    "description", tx.getDescription(),
-                    "timestamp", tx.getTimestamp()
-                ));
+            List<AccountEntryDto> entries = service.getAccountHistory(accId, beforeTimestamp, beforeTransactionId, limit);
+            if (entries.isEmpty() && cursor == null) {
+                return error(HttpStatus.NOT_FOUND, "No transactions found for account ID " + accountId + ".");
             }
-            return ResponseEntity.ok(result);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            // A full page means there may be more; compare against the size the service clamped to
+            if (entries.size() == service.getHistoryPageSize(limit)) {
+                // Cursor for the next page: timestamp and ID of the last entry returned
+                AccountEntryDto last = entries.get(entries.size() - 1);
+                response.header("X-Next-Cursor", last.getTimestamp() + "_" + last.getTransactionId());
+            }
+            return response.body(entries);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
-                "status", 400,
-                "error", "Bad Request",
-                "message", e.getMessage()
-            ));
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/accounts/{accountId}/summary")
+    public ResponseEntity<?> getAccountSummary(@PathVariable String accountId,
+                                               @RequestParam(required = false) String from,
+                                               @RequestParam(required = false) String to) {
+        try {
+            UUID accId = UUID.fromString(accountId);
+            LocalDateTime fromTime = from != null ? LocalDateTime.parse(from) : LocalDateTime.of(1970, 1, 1, 0, 0);
+            LocalDateTime toTime = to != null ? LocalDateTime.parse(to) : LocalDateTime.now().plusDays(1);
+            return ResponseEntity.ok(service.getAccountSummary(accId, fromTime, toTime));
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Balance right after a transaction, or at a point in time (defaults to now)
+    @GetMapping("/accounts/{accountId}/balance")
+    public ResponseEntity<?> getBalance(@PathVariable String accountId,
+                                        @RequestParam(required = false) String transactionId,
+                                        @RequestParam(required = false) String at) {
+        try {
+            UUID accId = UUID.fromString(accountId);
+            UUID txId = transactionId != null ? UUID.fromString(transactionId) : null;
+            LocalDateTime atTime = at != null ? LocalDateTime.parse(at) : LocalDateTime.now();
+            Optional<AccountEntryDto> balance = service.getBalance(accId, txId, atTime);
+            if (balance.isEmpty()) {
+                return error(HttpStatus.NOT_FOUND, "No recorded balance for account " + accountId + ".");
+            }
+            return ResponseEntity.ok(balance.get());
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Spending insights: outgoing payments by category over [from, to)
+    @GetMapping("/accounts/{accountId}/categories")
+    public ResponseEntity<?> getCategorySpending(@PathVariable String accountId,
+                                                 @RequestParam(required = false) String from,
+                                                 @RequestParam(required = false) String to) {
+        try {
+            UUID accId = UUID.fromString(accountId);
+            LocalDateTime fromTime = from != null ? LocalDateTime.parse(from) : LocalDateTime.of(1970, 1, 1, 0, 0);
+            LocalDateTime toTime = to != null ? LocalDateTime.parse(to) : LocalDateTime.now().plusDays(1);
+            return ResponseEntity.ok(service.getCategorySpending(accId, fromTime, toTime));
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Stream an account's full history as CSV or NDJSON, optionally gzip-encoded.
+     * The range is [from, to); both bounds are optional.
+     */
+    @GetMapping("/accounts/{accountId}/export")
+    public ResponseEntity<?> exportAccountTransactions(@PathVariable String accountId,
+                                                       @RequestParam(defaultValue = "csv") String format,
+                                                       @RequestParam(required = false) String from,
+                                                       @RequestParam(required = false) String to,
+                                                       @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            UUID accId = UUID.fromString(accountId);
+            TransactionExportService.Format exportFormat = TransactionExportService.Format.valueOf(format.toUpperCase());
+            LocalDateTime fromTime = from != null ? LocalDateTime.parse(from) : LocalDateTime.of(1970, 1, 1, 0, 0);
+            LocalDateTime toTime = to != null ? LocalDateTime.parse(to) : LocalDateTime.now().plusDays(1);
+
+            StreamingResponseBody body = exportService.export(accId, fromTime, toTime, exportFormat, gzip);
+            String extension = exportFormat == TransactionExportService.Format.CSV ? "csv" : "ndjson";
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat == TransactionExportService.Format.CSV
+                    ? MediaType.parseMediaType("text/csv")
+                    : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions-" + accountId + "." + extension + "\"");
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/accounts/{accountId}/activity/daily")
+    public ResponseEntity<?> getDailyActivity(@PathVariable String accountId,
+                                              @RequestParam String from,
+                                              @RequestParam String to) {
+        try {
+            return ResponseEntity.ok(activityService.getDaily(UUID.fromString(accountId), LocalDate.parse(from), LocalDate.parse(to)));
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/accounts/{accountId}/activity/monthly")
+    public ResponseEntity<?> getMonthlyActivity(@PathVariable String accountId,
+                                                @RequestParam String from,
+                                                @RequestParam String to) {
+        try {
+            return ResponseEntity.ok(activityService.getMonthly(UUID.fromString(accountId), YearMonth.parse(from), YearMonth.parse(to)));
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/accounts/{accountId}/activity/total")
+    public ResponseEntity<?> getActivityTotal(@PathVariable String accountId,
+                                              @RequestParam String from,
+                                              @RequestParam String to) {
+        try {
+            return ResponseEntity.ok(activityService.getTotal(UUID.fromString(accountId), LocalDate.parse(from), LocalDate.parse(to)));
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/initiation/group-commit")
+    public ResponseEntity<?> getGroupCommitStats() {
+        return ResponseEntity.ok(initiationBatchWriter.getStats());
+    }
+
+    @GetMapping("/initiation/journal")
+    public ResponseEntity<?> getJournalStats() {
+        return ResponseEntity.ok(initiationJournal.getStats());
+    }
+
+    @PostMapping("/archive/runs")
+    public ResponseEntity<?> runArchive() {
+        return ResponseEntity.ok(archiveService.archive());
+    }
+
+    @PostMapping("/ledger-checks")
+    public ResponseEntity<?> runLedgerCheck() {
+        return ResponseEntity.ok(ledgerConsistencyService.check());
+    }
+
+    @GetMapping("/ledger-checks/{runId}")
+    public ResponseEntity<?> getLedgerCheck(@PathVariable Long runId) {
+        LedgerCheckRunDto run = ledgerConsistencyService.getRun(runId);
+        if (run == null) {
+            return error(HttpStatus.NOT_FOUND, "Ledger check " + runId + " not found.");
+        }
+        return ResponseEntity.ok(run);
+    }
+
+    // Paged by discrepancy ID: pass the last ID of a page as `after` for the next one
+    @GetMapping("/ledger-checks/{runId}/discrepancies")
+    public ResponseEntity<?> getLedgerDiscrepancies(@PathVariable Long runId,
+                                                    @RequestParam(required = false) Long after,
+                                                    @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(ledgerConsistencyService.getDiscrepancies(runId, after, limit));
+    }
+
+    @PostMapping("/recovery/runs")
+    public ResponseEntity<?> runRecovery() {
+        return ResponseEntity.ok(recoveryService.recover());
+    }
+
+    @GetMapping("/recovery")
+    public ResponseEntity<?> getRecoveryProgress() {
+        return ResponseEntity.ok(recoveryService.getProgress());
+    }
+
+    // Recurring or future-dated transfers; omit both cron and intervalSeconds for a one-off at startAt
+    @PostMapping("/schedules")
+    public ResponseEntity<?> createSchedule(@Valid @RequestBody TransferScheduleRequestDto request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(scheduleService.createSchedule(request));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/schedules/{scheduleId}")
+    public ResponseEntity<?> getSchedule(@PathVariable UUID scheduleId) {
+        return ResponseEntity.ok(scheduleService.getSchedule(scheduleId));
+    }
+
+    @PostMapping("/schedules/{scheduleId}/pause")
+    public ResponseEntity<?> pauseSchedule(@PathVariable UUID scheduleId) {
+        try {
+            return ResponseEntity.ok(scheduleService.pauseSchedule(scheduleId));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @PostMapping("/schedules/{scheduleId}/resume")
+    public ResponseEntity<?> resumeSchedule(@PathVariable UUID scheduleId) {
+        try {
+            return ResponseEntity.ok(scheduleService.resumeSchedule(scheduleId));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/schedules/{scheduleId}")
+    public ResponseEntity<?> cancelSchedule(@PathVariable UUID scheduleId) {
+        try {
+            return ResponseEntity.ok(scheduleService.cancelSchedule(scheduleId));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Upload a payroll file of {@code accountNumber,amount[,reference]} lines paid from one account.
+     * Lines are validated before the response; payment continues in the background.
+     */
+    @PostMapping(value = "/disbursements", consumes = "text/csv")
+    public ResponseEntity<?> uploadDisbursement(@RequestParam UUID fromAccountId,
+                                                @RequestParam(required = false) String description,
+                                                HttpServletRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(disbursementService.upload(fromAccountId, description, request.getInputStream()));
+    }
+
+    @GetMapping("/disbursements/{disbursementId}")
+    public ResponseEntity<?> getDisbursement(@PathVariable UUID disbursementId) {
+        return ResponseEntity.ok(disbursementService.getDisbursement(disbursementId));
+    }
+
+    // Paged by line number: pass the last line number of a page as `after` for the next one
+    @GetMapping("/disbursements/{disbursementId}/lines")
+    public ResponseEntity<?> getDisbursementLines(@PathVariable UUID disbursementId,
+                                                  @RequestParam(required = false) DisbursementLineStatus status,
+                                                  @RequestParam(defaultValue = "0") long after,
+                                                  @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(disbursementService.getLines(disbursementId, status, after, limit));
+    }
+
+    @GetMapping("/categories/rules")
+    public ResponseEntity<?> getCategoryRules() {
+        return ResponseEntity.ok(categorizer.getStatus());
+    }
+
+    // Recompiles the rule file; categorization carries on with the old rules until the switch
+    @PostMapping("/categories/rules/reload")
+    public ResponseEntity<?> reloadCategoryRules() {
+        try {
+            return ResponseEntity.ok(categorizer.reload());
+        } catch (IllegalArgumentException | IOException e) {
+            return error(HttpStatus.BAD_REQUEST, "Category rules not reloaded: " + e.getMessage());
+        }
+    }
+
+    private static boolean isFinal(TransactionStatus status) {
+        return status == TransactionStatus.Success || status == TransactionStatus.Failed;
+    }
+
+    private static TransactionResponseDto toResponse(Transaction tx) {
+        TransactionResponseDto response = new TransactionResponseDto(tx.getTransactionId(), tx.getStatus(), tx.getTimestamp());
+        if (Boolean.TRUE.equals(tx.getSuspectedDuplicate())) {
+            response.setSuspectedDuplicate(true);
+        }
+        return response;
+    }
+
+    private static ResponseEntity<ErrorResponseDto> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponseDto(status.value(), status.getReasonPhrase(), message));
+    }
+
+    // 503 either way; the transaction ID, when there is one, is for polling rather than retrying
+    private static ResponseEntity<ErrorResponseDto> notConfirmed(InitiationNotConfirmedException e) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponseDto body = new ErrorResponseDto(status.value(), status.getReasonPhrase(), e.getMessage());
+        if (e.getTransactionId() != null) {
+            body.setTransactionId(e.getTransactionId());
+            body.setStatusUrl("/transactions/" + e.getTransactionId());
+        }
+        return ResponseEntity.status(status).body(body);
+    }
+
+    // Accounts may be given by ID or, to save clients a lookup, by account number
+    private UUID resolveAccount(UUID accountId, String accountNumber) {
+        if (accountId == null && accountNumber != null) {
+            return service.resolveAccountId(accountNumber);
+        }
+        if (accountId == null) {
+            throw new IllegalArgumentException("Account ID or account number is required");
         }
+        return accountId;
     }
 
     @GetMapping("/test")
@@ -0,0 +1,39 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class AccountActivityDto {
+    private UUID accountId;
+    private String period;
+    private long debitCount;
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+    private long creditCount;
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+
+    // Constructors
+    public AccountActivityDto() {}
+
+    public AccountActivityDto(UUID accountId, String period) {
+        this.accountId = accountId;
+        this.period = period;
+    }
+
+    public BigDecimal getNet() {
+        return creditTotal.subtract(debitTotal);
+    }
+
+    // Getters and setters
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+    public long getDebitCount() { return debitCount; }
+    public void setDebitCount(long debitCount) { this.debitCount = debitCount; }
+    public BigDecimal getDebitTotal() { return debitTotal; }
+    public void setDebitTotal(BigDecimal debitTotal) { this.debitTotal = debitTotal; }
+    public long getCreditCount() { return creditCount; }
+    public void setCreditCount(long creditCount) { this.creditCount = creditCount; }
+    public BigDecimal getCreditTotal() { return creditTotal; }
+    public void setCreditTotal(BigDecimal creditTotal) { this.creditTotal = creditTotal; }
+}
@@ -0,0 +1,42 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class AccountEntryDto {
+    private UUID transactionId;
+    private UUID accountId;
+    private BigDecimal amount;
+    private String description;
+    private String category;
+    private BigDecimal balanceAfter;
+    private LocalDateTime timestamp;
+
+    // Constructors
+    public AccountEntryDto() {}
+
+    public AccountEntryDto(UUID transactionId, UUID accountId, BigDecimal amount, String description, LocalDateTime timestamp) {
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.description = description;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and setters
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,42 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class AccountSummaryDto {
+    private UUID accountId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long transactionCount;
+    private BigDecimal totalCredits;
+    private BigDecimal totalDebits;
+    private BigDecimal net;
+
+    // Constructors
+    public AccountSummaryDto() {}
+
+    // Used by the aggregate query over transaction entries; sums are null when no rows match
+    public AccountSummaryDto(Long transactionCount, BigDecimal totalCredits, BigDecimal totalDebits) {
+        this.transactionCount = transactionCount != null ? transactionCount : 0;
+        this.totalCredits = totalCredits != null ? totalCredits : BigDecimal.ZERO;
+        this.totalDebits = totalDebits != null ? totalDebits : BigDecimal.ZERO;
+        this.net = this.totalCredits.subtract(this.totalDebits);
+    }
+
+    // Getters and setters
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+    public BigDecimal getTotalCredits() { return totalCredits; }
+    public void setTotalCredits(BigDecimal totalCredits) { this.totalCredits = totalCredits; }
+    public BigDecimal getTotalDebits() { return totalDebits; }
+    public void setTotalDebits(BigDecimal totalDebits) { this.totalDebits = totalDebits; }
+    public BigDecimal getNet() { return net; }
+    public void setNet(BigDecimal net) { this.net = net; }
+}
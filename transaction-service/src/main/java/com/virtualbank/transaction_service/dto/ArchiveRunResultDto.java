@@ -0,0 +1,26 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.time.LocalDateTime;
+
+public class ArchiveRunResultDto {
+    private LocalDateTime cutoff;
+    private int segmentsWritten;
+    private long transactionsArchived;
+    private long entriesArchived;
+    private long durationMillis;
+    private String message;
+
+    // Getters and setters
+    public LocalDateTime getCutoff() { return cutoff; }
+    public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+    public int getSegmentsWritten() { return segmentsWritten; }
+    public void setSegmentsWritten(int segmentsWritten) { this.segmentsWritten = segmentsWritten; }
+    public long getTransactionsArchived() { return transactionsArchived; }
+    public void setTransactionsArchived(long transactionsArchived) { this.transactionsArchived = transactionsArchived; }
+    public long getEntriesArchived() { return entriesArchived; }
+    public void setEntriesArchived(long entriesArchived) { this.entriesArchived = entriesArchived; }
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,34 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One categorization rule as read from the rules file. A rule matches when any keyword occurs in
+ * the description (case-insensitive), the optional pattern is found in it and the amount is in
+ * range. A rule with no keywords matches on its pattern and amount range alone.
+ */
+public class CategoryRuleDto {
+    private String category;
+    // Higher priorities win; equal priorities go to the rule listed first
+    private int priority;
+    private List<String> keywords = new ArrayList<>();
+    private String pattern;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    // Getters and setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+    public List<String> getKeywords() { return keywords; }
+    public void setKeywords(List<String> keywords) { this.keywords = keywords; }
+    public String getPattern() { return pattern; }
+    public void setPattern(String pattern) { this.pattern = pattern; }
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+}
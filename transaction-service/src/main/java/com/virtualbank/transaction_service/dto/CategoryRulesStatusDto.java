@@ -0,0 +1,38 @@
+package com.virtualbank.transaction_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoryRulesStatusDto {
+    private String location;
+    private long version;
+    private int rules;
+    private int keywords;
+    private int automatonStates;
+    private LocalDateTime loadedAt;
+    private long categorized;
+    private long uncategorized;
+    private String message;
+
+    // Getters and setters
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public int getRules() { return rules; }
+    public void setRules(int rules) { this.rules = rules; }
+    public int getKeywords() { return keywords; }
+    public void setKeywords(int keywords) { this.keywords = keywords; }
+    public int getAutomatonStates() { return automatonStates; }
+    public void setAutomatonStates(int automatonStates) { this.automatonStates = automatonStates; }
+    public LocalDateTime getLoadedAt() { return loadedAt; }
+    public void setLoadedAt(LocalDateTime loadedAt) { this.loadedAt = loadedAt; }
+    public long getCategorized() { return categorized; }
+    public void setCategorized(long categorized) { this.categorized = categorized; }
+    public long getUncategorized() { return uncategorized; }
+    public void setUncategorized(long uncategorized) { this.uncategorized = uncategorized; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
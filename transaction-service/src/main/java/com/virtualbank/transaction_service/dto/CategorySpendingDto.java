@@ -0,0 +1,27 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.math.BigDecimal;
+
+public class CategorySpendingDto {
+    // Null for transactions no rule matched
+    private String category;
+    private long transactionCount;
+    private BigDecimal total = BigDecimal.ZERO;
+
+    // Constructors
+    public CategorySpendingDto() {}
+
+    public CategorySpendingDto(String category, Long transactionCount, BigDecimal total) {
+        this.category = category;
+        this.transactionCount = transactionCount != null ? transactionCount : 0;
+        this.total = total;
+    }
+
+    // Getters and setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+}
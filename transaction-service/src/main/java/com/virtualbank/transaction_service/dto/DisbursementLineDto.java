@@ -0,0 +1,35 @@
+package com.virtualbank.transaction_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.virtualbank.transaction_service.model.DisbursementLineStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DisbursementLineDto {
+    private long lineNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private String reference;
+    private DisbursementLineStatus status;
+    private String message;
+    // Set once the line has been paid or attempted
+    private UUID transactionId;
+
+    // Getters and setters
+    public long getLineNumber() { return lineNumber; }
+    public void setLineNumber(long lineNumber) { this.lineNumber = lineNumber; }
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getReference() { return reference; }
+    public void setReference(String reference) { this.reference = reference; }
+    public DisbursementLineStatus getStatus() { return status; }
+    public void setStatus(DisbursementLineStatus status) { this.status = status; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+}
@@ -0,0 +1,62 @@
+package com.virtualbank.transaction_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.virtualbank.transaction_service.model.DisbursementStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DisbursementResponseDto {
+    private UUID disbursementId;
+    private UUID fromAccountId;
+    private String description;
+    private DisbursementStatus status;
+    private long totalLines;
+    private long invalidLines;
+    private long pendingLines;
+    private long succeededLines;
+    private long failedLines;
+    private BigDecimal totalAmount;
+    private BigDecimal disbursedAmount;
+    private String message;
+    private String statusUrl;
+    private String linesUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and setters
+    public UUID getDisbursementId() { return disbursementId; }
+    public void setDisbursementId(UUID disbursementId) { this.disbursementId = disbursementId; }
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public DisbursementStatus getStatus() { return status; }
+    public void setStatus(DisbursementStatus status) { this.status = status; }
+    public long getTotalLines() { return totalLines; }
+    public void setTotalLines(long totalLines) { this.totalLines = totalLines; }
+    public long getInvalidLines() { return invalidLines; }
+    public void setInvalidLines(long invalidLines) { this.invalidLines = invalidLines; }
+    public long getPendingLines() { return pendingLines; }
+    public void setPendingLines(long pendingLines) { this.pendingLines = pendingLines; }
+    public long getSucceededLines() { return succeededLines; }
+    public void setSucceededLines(long succeededLines) { this.succeededLines = succeededLines; }
+    public long getFailedLines() { return failedLines; }
+    public void setFailedLines(long failedLines) { this.failedLines = failedLines; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public BigDecimal getDisbursedAmount() { return disbursedAmount; }
+    public void setDisbursedAmount(BigDecimal disbursedAmount) { this.disbursedAmount = disbursedAmount; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public String getStatusUrl() { return statusUrl; }
+    public void setStatusUrl(String statusUrl) { this.statusUrl = statusUrl; }
+    public String getLinesUrl() { return linesUrl; }
+    public void setLinesUrl(String linesUrl) { this.linesUrl = linesUrl; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
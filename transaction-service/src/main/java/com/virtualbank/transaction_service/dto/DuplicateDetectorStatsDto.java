@@ -0,0 +1,33 @@
+package com.virtualbank.transaction_service.dto;
+
+public class DuplicateDetectorStatsDto {
+    private String action;
+    private long windowMillis;
+    private int slices;
+    private int bitsPerSlice;
+    private int hashCount;
+    private long memoryBytes;
+    private double targetFalsePositiveRate;
+    private long checked;
+    private long duplicates;
+
+    // Getters and setters
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+    public long getWindowMillis() { return windowMillis; }
+    public void setWindowMillis(long windowMillis) { this.windowMillis = windowMillis; }
+    public int getSlices() { return slices; }
+    public void setSlices(int slices) { this.slices = slices; }
+    public int getBitsPerSlice() { return bitsPerSlice; }
+    public void setBitsPerSlice(int bitsPerSlice) { this.bitsPerSlice = bitsPerSlice; }
+    public int getHashCount() { return hashCount; }
+    public void setHashCount(int hashCount) { this.hashCount = hashCount; }
+    public long getMemoryBytes() { return memoryBytes; }
+    public void setMemoryBytes(long memoryBytes) { this.memoryBytes = memoryBytes; }
+    public double getTargetFalsePositiveRate() { return targetFalsePositiveRate; }
+    public void setTargetFalsePositiveRate(double targetFalsePositiveRate) { this.targetFalsePositiveRate = targetFalsePositiveRate; }
+    public long getChecked() { return checked; }
+    public void setChecked(long checked) { this.checked = checked; }
+    public long getDuplicates() { return duplicates; }
+    public void setDuplicates(long duplicates) { this.duplicates = duplicates; }
+}
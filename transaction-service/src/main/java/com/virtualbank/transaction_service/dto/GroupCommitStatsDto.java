@@ -0,0 +1,30 @@
+package com.virtualbank.transaction_service.dto;
+
+public class GroupCommitStatsDto {
+    private boolean enabled;
+    private int maxBatchSize;
+    private long maxDelayMillis;
+    private int queueDepth;
+    private long batches;
+    private long rows;
+    private long fallbackRows;
+    private double averageBatchSize;
+
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+    public long getMaxDelayMillis() { return maxDelayMillis; }
+    public void setMaxDelayMillis(long maxDelayMillis) { this.maxDelayMillis = maxDelayMillis; }
+    public int getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(int queueDepth) { this.queueDepth = queueDepth; }
+    public long getBatches() { return batches; }
+    public void setBatches(long batches) { this.batches = batches; }
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+    public long getFallbackRows() { return fallbackRows; }
+    public void setFallbackRows(long fallbackRows) { this.fallbackRows = fallbackRows; }
+    public double getAverageBatchSize() { return averageBatchSize; }
+    public void setAverageBatchSize(double averageBatchSize) { this.averageBatchSize = averageBatchSize; }
+}
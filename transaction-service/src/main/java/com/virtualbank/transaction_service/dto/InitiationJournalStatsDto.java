@@ -0,0 +1,30 @@
+package com.virtualbank.transaction_service.dto;
+
+public class InitiationJournalStatsDto {
+    private boolean enabled;
+    private long capacityBytes;
+    private long usedBytes;
+    private long backlogBytes;
+    private long appended;
+    private long fsyncs;
+    private long replayed;
+    private double averageAppendsPerFsync;
+
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getCapacityBytes() { return capacityBytes; }
+    public void setCapacityBytes(long capacityBytes) { this.capacityBytes = capacityBytes; }
+    public long getUsedBytes() { return usedBytes; }
+    public void setUsedBytes(long usedBytes) { this.usedBytes = usedBytes; }
+    public long getBacklogBytes() { return backlogBytes; }
+    public void setBacklogBytes(long backlogBytes) { this.backlogBytes = backlogBytes; }
+    public long getAppended() { return appended; }
+    public void setAppended(long appended) { this.appended = appended; }
+    public long getFsyncs() { return fsyncs; }
+    public void setFsyncs(long fsyncs) { this.fsyncs = fsyncs; }
+    public long getReplayed() { return replayed; }
+    public void setReplayed(long replayed) { this.replayed = replayed; }
+    public double getAverageAppendsPerFsync() { return averageAppendsPerFsync; }
+    public void setAverageAppendsPerFsync(double averageAppendsPerFsync) { this.averageAppendsPerFsync = averageAppendsPerFsync; }
+}
@@ -0,0 +1,45 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class LedgerCheckRunDto {
+    private Long runId;
+    private boolean resumed;
+    private boolean completed;
+    private UUID lastAccountId;
+    private long accountsChecked;
+    private long discrepancies;
+    private long unverifiable;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long durationMillis;
+    private double accountsPerSecond;
+    private String message;
+
+    // Getters and setters
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+    public boolean isResumed() { return resumed; }
+    public void setResumed(boolean resumed) { this.resumed = resumed; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    public UUID getLastAccountId() { return lastAccountId; }
+    public void setLastAccountId(UUID lastAccountId) { this.lastAccountId = lastAccountId; }
+    public long getAccountsChecked() { return accountsChecked; }
+    public void setAccountsChecked(long accountsChecked) { this.accountsChecked = accountsChecked; }
+    public long getDiscrepancies() { return discrepancies; }
+    public void setDiscrepancies(long discrepancies) { this.discrepancies = discrepancies; }
+    public long getUnverifiable() { return unverifiable; }
+    public void setUnverifiable(long unverifiable) { this.unverifiable = unverifiable; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+    public double getAccountsPerSecond() { return accountsPerSecond; }
+    public void setAccountsPerSecond(double accountsPerSecond) { this.accountsPerSecond = accountsPerSecond; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,24 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class LedgerPositionDto {
+    private UUID accountId;
+    private BigDecimal balance;
+    private BigDecimal openingBalance;
+    private BigDecimal interestCredited;
+    private BigDecimal capturedHoldsNet;
+
+    // Getters and setters
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+    public BigDecimal getInterestCredited() { return interestCredited; }
+    public void setInterestCredited(BigDecimal interestCredited) { this.interestCredited = interestCredited; }
+    public BigDecimal getCapturedHoldsNet() { return capturedHoldsNet; }
+    public void setCapturedHoldsNet(BigDecimal capturedHoldsNet) { this.capturedHoldsNet = capturedHoldsNet; }
+}
@@ -0,0 +1,44 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.time.LocalDateTime;
+
+public class RecoveryRunDto {
+    private boolean running;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime cutoff;
+    private long batches;
+    private long scanned;
+    private long resolvedSuccess;
+    private long resolvedFailed;
+    private long skipped;
+    private long errors;
+    private long durationMillis;
+    private String message;
+
+    // Getters and setters
+    public boolean isRunning() { return running; }
+    public void setRunning(boolean running) { this.running = running; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    public LocalDateTime getCutoff() { return cutoff; }
+    public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+    public long getBatches() { return batches; }
+    public void setBatches(long batches) { this.batches = batches; }
+    public long getScanned() { return scanned; }
+    public void setScanned(long scanned) { this.scanned = scanned; }
+    public long getResolvedSuccess() { return resolvedSuccess; }
+    public void setResolvedSuccess(long resolvedSuccess) { this.resolvedSuccess = resolvedSuccess; }
+    public long getResolvedFailed() { return resolvedFailed; }
+    public void setResolvedFailed(long resolvedFailed) { this.resolvedFailed = resolvedFailed; }
+    public long getSkipped() { return skipped; }
+    public void setSkipped(long skipped) { this.skipped = skipped; }
+    public long getErrors() { return errors; }
+    public void setErrors(long errors) { this.errors = errors; }
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
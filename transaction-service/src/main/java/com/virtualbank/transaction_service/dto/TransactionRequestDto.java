@@ -7,11 +7,14 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 public class TransactionRequestDto {
-    @NotNull(message = "From account ID is required")
+    // Each side is given either by ID or by account number
     private UUID fromAccountId;
+
+    private String fromAccountNumber;
     
-    @NotNull(message = "To account ID is required")
     private UUID toAccountId;
+
+    private String toAccountNumber;
     
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
@@ -22,8 +25,12 @@ public class TransactionRequestDto {
     // Getters and setters
     public UUID getFromAccountId() { return fromAccountId; }
     public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public String getFromAccountNumber() { return fromAccountNumber; }
+    public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
     public UUID getToAccountId() { return toAccountId; }
     public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
     public BigDecimal getAmount() { return amount; }
     public void setAmount(BigDecimal amount) { this.amount = amount; }
     public String getDescription() { return description; }
@@ -1,14 +1,18 @@
 package com.virtualbank.transaction_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.virtualbank.transaction_service.model.TransactionStatus;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TransactionResponseDto {
     private UUID transactionId;
     private TransactionStatus status;
     private LocalDateTime timestamp;
+    private String statusUrl;
+    private Boolean suspectedDuplicate;
 
     // Constructors
     public TransactionResponseDto() {}
@@ -26,4 +30,8 @@ public class TransactionResponseDto {
     public void setStatus(TransactionStatus status) { this.status = status; }
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+    public String getStatusUrl() { return statusUrl; }
+    public void setStatusUrl(String statusUrl) { this.statusUrl = statusUrl; }
+    public Boolean getSuspectedDuplicate() { return suspectedDuplicate; }
+    public void setSuspectedDuplicate(Boolean suspectedDuplicate) { this.suspectedDuplicate = suspectedDuplicate; }
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.virtualbank.transaction_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public class TransferExecutionRequestDto {
+    @NotNull(message = "Transaction ID is required")
+    private UUID transactionId;
+
+    // Getters and setters
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+}
@@ -0,0 +1,33 @@
+package com.virtualbank.transaction_service.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class TransferResultDto {
+    private UUID transactionId;
+    private boolean success;
+    private String message;
+    private BigDecimal fromBalance;
+    private BigDecimal toBalance;
+
+    // Constructors
+    public TransferResultDto() {}
+
+    public TransferResultDto(UUID transactionId, boolean success, String message) {
+        this.transactionId = transactionId;
+        this.success = success;
+        this.message = message;
+    }
+
+    // Getters and setters
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public BigDecimal getFromBalance() { return fromBalance; }
+    public void setFromBalance(BigDecimal fromBalance) { this.fromBalance = fromBalance; }
+    public BigDecimal getToBalance() { return toBalance; }
+    public void setToBalance(BigDecimal toBalance) { this.toBalance = toBalance; }
+}
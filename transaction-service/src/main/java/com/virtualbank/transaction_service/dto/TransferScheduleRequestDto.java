@@ -0,0 +1,57 @@
+package com.virtualbank.transaction_service.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class TransferScheduleRequestDto {
+    @NotNull(message = "From account ID is required")
+    private UUID fromAccountId;
+
+    @NotNull(message = "To account ID is required")
+    private UUID toAccountId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    private String description;
+
+    // At most one of cron (six fields, seconds first) and intervalSeconds; neither means a one-off transfer
+    private String cron;
+
+    @Min(value = 60, message = "Interval must be at least 60 seconds")
+    private Long intervalSeconds;
+
+    // First run, or the earliest run for cron schedules; defaults to now
+    private LocalDateTime startAt;
+
+    private LocalDateTime endAt;
+
+    @Min(value = 1, message = "Max runs must be at least 1")
+    private Integer maxRuns;
+
+    // Getters and setters
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public String getCron() { return cron; }
+    public void setCron(String cron) { this.cron = cron; }
+    public Long getIntervalSeconds() { return intervalSeconds; }
+    public void setIntervalSeconds(Long intervalSeconds) { this.intervalSeconds = intervalSeconds; }
+    public LocalDateTime getStartAt() { return startAt; }
+    public void setStartAt(LocalDateTime startAt) { this.startAt = startAt; }
+    public LocalDateTime getEndAt() { return endAt; }
+    public void setEndAt(LocalDateTime endAt) { this.endAt = endAt; }
+    public Integer getMaxRuns() { return maxRuns; }
+    public void setMaxRuns(Integer maxRuns) { this.maxRuns = maxRuns; }
+}
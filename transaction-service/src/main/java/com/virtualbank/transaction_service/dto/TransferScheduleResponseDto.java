@@ -0,0 +1,59 @@
+package com.virtualbank.transaction_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.virtualbank.transaction_service.model.ScheduleStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferScheduleResponseDto {
+    private UUID scheduleId;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private BigDecimal amount;
+    private String description;
+    private String cron;
+    private Long intervalSeconds;
+    private ScheduleStatus status;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime endAt;
+    private Integer maxRuns;
+    private int runCount;
+    private LocalDateTime lastRunAt;
+    private UUID lastTransactionId;
+    private String lastError;
+
+    // Getters and setters
+    public UUID getScheduleId() { return scheduleId; }
+    public void setScheduleId(UUID scheduleId) { this.scheduleId = scheduleId; }
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public String getCron() { return cron; }
+    public void setCron(String cron) { this.cron = cron; }
+    public Long getIntervalSeconds() { return intervalSeconds; }
+    public void setIntervalSeconds(Long intervalSeconds) { this.intervalSeconds = intervalSeconds; }
+    public ScheduleStatus getStatus() { return status; }
+    public void setStatus(ScheduleStatus status) { this.status = status; }
+    public LocalDateTime getNextRunAt() { return nextRunAt; }
+    public void setNextRunAt(LocalDateTime nextRunAt) { this.nextRunAt = nextRunAt; }
+    public LocalDateTime getEndAt() { return endAt; }
+    public void setEndAt(LocalDateTime endAt) { this.endAt = endAt; }
+    public Integer getMaxRuns() { return maxRuns; }
+    public void setMaxRuns(Integer maxRuns) { this.maxRuns = maxRuns; }
+    public int getRunCount() { return runCount; }
+    public void setRunCount(int runCount) { this.runCount = runCount; }
+    public LocalDateTime getLastRunAt() { return lastRunAt; }
+    public void setLastRunAt(LocalDateTime lastRunAt) { this.lastRunAt = lastRunAt; }
+    public UUID getLastTransactionId() { return lastTransactionId; }
+    public void setLastTransactionId(UUID lastTransactionId) { this.lastTransactionId = lastTransactionId; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
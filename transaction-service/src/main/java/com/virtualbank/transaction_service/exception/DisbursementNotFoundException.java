@@ -0,0 +1,7 @@
+package com.virtualbank.transaction_service.exception;
+
+public class DisbursementNotFoundException extends RuntimeException {
+    public DisbursementNotFoundException(String message) {
+        super(message);
+    }
+}
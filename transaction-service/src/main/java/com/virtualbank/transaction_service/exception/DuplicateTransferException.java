@@ -0,0 +1,7 @@
+package com.virtualbank.transaction_service.exception;
+
+public class DuplicateTransferException extends RuntimeException {
+    public DuplicateTransferException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.virtualbank.transaction_service.exception;
+
+import java.util.UUID;
+
+/**
+ * The initiation was not confirmed in time. When a transaction ID is attached the write may still
+ * land, so the caller should poll that transaction rather than retry; without one nothing was
+ * recorded and a retry is safe.
+ */
+public class InitiationNotConfirmedException extends RuntimeException {
+    private final UUID transactionId;
+
+    public InitiationNotConfirmedException(UUID transactionId, String message) {
+        super(message);
+        this.transactionId = transactionId;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+}
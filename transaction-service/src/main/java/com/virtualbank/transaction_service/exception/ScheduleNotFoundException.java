@@ -0,0 +1,7 @@
+package com.virtualbank.transaction_service.exception;
+
+public class ScheduleNotFoundException extends RuntimeException {
+    public ScheduleNotFoundException(String message) {
+        super(message);
+    }
+}
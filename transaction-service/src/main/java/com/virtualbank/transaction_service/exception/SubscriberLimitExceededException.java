@@ -0,0 +1,7 @@
+package com.virtualbank.transaction_service.exception;
+
+public class SubscriberLimitExceededException extends RuntimeException {
+    public SubscriberLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.virtualbank.transaction_service.exception;
+
+public class TransferFailedException extends RuntimeException {
+    public TransferFailedException(String message) {
+        super(message);
+    }
+}
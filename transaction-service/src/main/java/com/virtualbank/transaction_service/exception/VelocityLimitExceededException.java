@@ -0,0 +1,7 @@
+package com.virtualbank.transaction_service.exception;
+
+public class VelocityLimitExceededException extends RuntimeException {
+    public VelocityLimitExceededException(String message) {
+        super(message);
+    }
+}
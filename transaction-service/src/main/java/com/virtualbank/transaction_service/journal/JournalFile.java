@@ -0,0 +1,224 @@
+package com.virtualbank.transaction_service.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal in a fixed-size memory-mapped file. Appends only copy into the mapping;
+ * {@link #force} makes everything appended so far durable, so callers can batch many appends per
+ * fsync. Opening the file scans the records and stops at the first one that is incomplete or fails
+ * its checksum, which is where a crash mid-append leaves the tail.
+ *
+ * <pre>
+ * header = magic(int) version(int) epoch(long) replayedUpTo(long), padded to DATA_START
+ * record = length(int) crc32c(int) epoch(long) payload(length)
+ * </pre>
+ *
+ * Once every record has been replayed the journal is {@link #reset}: the epoch is bumped and
+ * appends start again at the front. Records left over from an older epoch fail the epoch check,
+ * so the region never has to be zeroed.
+ */
+public final class JournalFile implements AutoCloseable {
+
+    private static final int MAGIC = 0x56424a4c; // "VBJL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int RECORD_HEADER_SIZE = 16;
+    static final int DATA_START = 64;
+
+    public record Entry(byte[] payload, long endOffset) {}
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private long epoch;
+    private long replayedUpTo;
+    private int writePosition;
+    private int forcedPosition;
+
+    private JournalFile(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /** Open the journal at {@code path}, creating it with {@code capacity} bytes if it does not exist. */
+    public static JournalFile open(Path path, int capacity) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        boolean created = !Files.exists(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int size = created ? capacity : (int) Math.min(channel.size(), Integer.MAX_VALUE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            JournalFile journal = new JournalFile(channel, buffer, size);
+            if (created || buffer.getInt(0) == 0) {
+                journal.epoch = 1;
+                journal.replayedUpTo = DATA_START;
+                journal.writeHeader();
+                buffer.force(0, HEADER_SIZE);
+                journal.writePosition = DATA_START;
+            } else {
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    throw new IOException("Not a journal file: " + path);
+                }
+                journal.epoch = buffer.getLong(8);
+                journal.replayedUpTo = buffer.getLong(16);
+                journal.writePosition = journal.scanEnd();
+                journal.replayedUpTo = Math.min(Math.max(journal.replayedUpTo, DATA_START), journal.writePosition);
+            }
+            journal.forcedPosition = journal.writePosition;
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized long position() {
+        return writePosition;
+    }
+
+    public synchronized long replayedUpTo() {
+        return replayedUpTo;
+    }
+
+    public synchronized boolean hasBacklog() {
+        return replayedUpTo < writePosition;
+    }
+
+    /**
+     * Copy a record into the mapping. It is not durable until a later {@link #force} returns.
+     * @return the offset just past the record
+     * @throws JournalFullException if the record does not fit in what is left of the file
+     */
+    public synchronized long append(byte[] payload) {
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Empty journal record");
+        }
+        int end = writePosition + RECORD_HEADER_SIZE + payload.length;
+        if (end > capacity || end < 0) {
+            throw new JournalFullException("Journal is full");
+        }
+        buffer.putInt(writePosition, payload.length);
+        buffer.putLong(writePosition + 8, epoch);
+        buffer.put(writePosition + RECORD_HEADER_SIZE, payload);
+        buffer.putInt(writePosition + 4, checksum(epoch, payload));
+        writePosition = end;
+        return end;
+    }
+
+    /**
+     * Flush everything appended so far to disk.
+     * @return the offset up to which records are now durable
+     */
+    public long force() {
+        int from;
+        int to;
+        long forcedEpoch;
+        synchronized (this) {
+            from = forcedPosition;
+            to = writePosition;
+            forcedEpoch = epoch;
+        }
+        if (to > from) {
+            buffer.force(from, to - from);
+        }
+        synchronized (this) {
+            // A reset while this force ran moved the tail back; what was forced no longer counts
+            if (forcedEpoch == epoch) {
+                forcedPosition = Math.max(forcedPosition, to);
+            }
+            return forcedPosition;
+        }
+    }
+
+    /** Records after {@code fromOffset}, in append order, up to {@code maxRecords} of them. */
+    public synchronized List<Entry> read(long fromOffset, int maxRecords) {
+        List<Entry> entries = new ArrayList<>();
+        int offset = (int) fromOffset;
+        while (offset < forcedPosition && entries.size() < maxRecords) {
+            int length = buffer.getInt(offset);
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_SIZE, payload);
+            offset += RECORD_HEADER_SIZE + length;
+            entries.add(new Entry(payload, offset));
+        }
+        return entries;
+    }
+
+    /** Record that everything before {@code offset} has been replayed, durably. */
+    public synchronized void markReplayed(long offset) {
+        replayedUpTo = offset;
+        buffer.putLong(16, replayedUpTo);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    /**
+     * Start over at the front of the file if every record has been replayed.
+     * @return false if there were records still to replay
+     */
+    public synchronized boolean reset() {
+        if (replayedUpTo < writePosition || writePosition == DATA_START) {
+            return false;
+        }
+        epoch++;
+        replayedUpTo = DATA_START;
+        writeHeader();
+        buffer.force(0, HEADER_SIZE);
+        writePosition = DATA_START;
+        forcedPosition = DATA_START;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, epoch);
+        buffer.putLong(16, replayedUpTo);
+    }
+
+    // The first record that does not fit, belongs to another epoch or fails its checksum ends the log
+    private int scanEnd() {
+        int offset = DATA_START;
+        while (offset + RECORD_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > capacity - offset - RECORD_HEADER_SIZE || buffer.getLong(offset + 8) != epoch) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_SIZE, payload);
+            if (buffer.getInt(offset + 4) != checksum(epoch, payload)) {
+                break;
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private static int checksum(long epoch, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(8).putLong(0, epoch));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
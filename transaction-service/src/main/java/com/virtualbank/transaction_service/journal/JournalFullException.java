@@ -0,0 +1,7 @@
+package com.virtualbank.transaction_service.journal;
+
+public class JournalFullException extends RuntimeException {
+    public JournalFullException(String message) {
+        super(message);
+    }
+}
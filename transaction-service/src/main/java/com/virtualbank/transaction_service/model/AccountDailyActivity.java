@@ -0,0 +1,46 @@
+package com.virtualbank.transaction_service.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Per-account, per-day totals of successful transactions. Rows are upserted in the same database
+ * transaction that moves a transaction to Success, so range reads cost one row per day.
+ */
+@Entity
+@IdClass(AccountDailyActivityId.class)
+public class AccountDailyActivity {
+    @Id
+    private UUID accountId;
+
+    @Id
+    private LocalDate activityDate;
+
+    @Column(nullable = false)
+    private long debitCount;
+
+    @Column(nullable = false)
+    private BigDecimal debitTotal;
+
+    @Column(nullable = false)
+    private long creditCount;
+
+    @Column(nullable = false)
+    private BigDecimal creditTotal;
+
+    // Getters and setters
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public LocalDate getActivityDate() { return activityDate; }
+    public void setActivityDate(LocalDate activityDate) { this.activityDate = activityDate; }
+    public long getDebitCount() { return debitCount; }
+    public void setDebitCount(long debitCount) { this.debitCount = debitCount; }
+    public BigDecimal getDebitTotal() { return debitTotal; }
+    public void setDebitTotal(BigDecimal debitTotal) { this.debitTotal = debitTotal; }
+    public long getCreditCount() { return creditCount; }
+    public void setCreditCount(long creditCount) { this.creditCount = creditCount; }
+    public BigDecimal getCreditTotal() { return creditTotal; }
+    public void setCreditTotal(BigDecimal creditTotal) { this.creditTotal = creditTotal; }
+}
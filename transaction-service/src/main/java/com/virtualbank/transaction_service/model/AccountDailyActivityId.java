@@ -0,0 +1,31 @@
+package com.virtualbank.transaction_service.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+public class AccountDailyActivityId implements Serializable {
+    private UUID accountId;
+    private LocalDate activityDate;
+
+    // Constructors
+    public AccountDailyActivityId() {}
+
+    public AccountDailyActivityId(UUID accountId, LocalDate activityDate) {
+        this.accountId = accountId;
+        this.activityDate = activityDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountDailyActivityId other)) return false;
+        return Objects.equals(accountId, other.accountId) && Objects.equals(activityDate, other.activityDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, activityDate);
+    }
+}
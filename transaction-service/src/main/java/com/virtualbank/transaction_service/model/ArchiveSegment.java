@@ -0,0 +1,62 @@
+package com.virtualbank.transaction_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A segment file of archived transactions. The row is committed in the same database transaction
+ * that deletes the archived rows, so a segment is only read once its rows are gone from the tables;
+ * files without a row (left by an interrupted run) are ignored.
+ */
+@Entity
+public class ArchiveSegment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String fileName;
+
+    // First day of the month the segment's transactions belong to
+    @Column(nullable = false)
+    private LocalDate period;
+
+    @Column(nullable = false)
+    private LocalDateTime minTimestamp;
+
+    @Column(nullable = false)
+    private LocalDateTime maxTimestamp;
+
+    @Column(nullable = false)
+    private int transactionCount;
+
+    @Column(nullable = false)
+    private int entryCount;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public LocalDate getPeriod() { return period; }
+    public void setPeriod(LocalDate period) { this.period = period; }
+    public LocalDateTime getMinTimestamp() { return minTimestamp; }
+    public void setMinTimestamp(LocalDateTime minTimestamp) { this.minTimestamp = minTimestamp; }
+    public LocalDateTime getMaxTimestamp() { return maxTimestamp; }
+    public void setMaxTimestamp(LocalDateTime maxTimestamp) { this.maxTimestamp = maxTimestamp; }
+    public int getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(int transactionCount) { this.transactionCount = transactionCount; }
+    public int getEntryCount() { return entryCount; }
+    public void setEntryCount(int entryCount) { this.entryCount = entryCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,98 @@
+package com.virtualbank.transaction_service.model;
+
+import com.virtualbank.transaction_service.util.TimeOrderedUuid;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One uploaded bulk disbursement (payroll) file. The total of the valid lines is reserved on the
+ * source account as a single hold, and lines are paid out in chunks; lastLineNumber is the
+ * checkpoint below which every line has a recorded outcome.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_disbursement_status", columnList = "status"))
+public class Disbursement {
+    @Id
+    @TimeOrderedUuid
+    private UUID disbursementId;
+
+    @Column(nullable = false)
+    private UUID fromAccountId;
+
+    @Column(length = 100)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(20)")
+    private DisbursementStatus status;
+
+    private UUID holdId;
+
+    @Column(nullable = false)
+    private long totalLines;
+
+    @Column(nullable = false)
+    private long invalidLines;
+
+    @Column(nullable = false)
+    private long succeededLines;
+
+    @Column(nullable = false)
+    private long failedLines;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private BigDecimal disbursedAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private long lastLineNumber;
+
+    private String message;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // Getters and setters
+    public UUID getDisbursementId() { return disbursementId; }
+    public void setDisbursementId(UUID disbursementId) { this.disbursementId = disbursementId; }
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public DisbursementStatus getStatus() { return status; }
+    public void setStatus(DisbursementStatus status) { this.status = status; }
+    public UUID getHoldId() { return holdId; }
+    public void setHoldId(UUID holdId) { this.holdId = holdId; }
+    public long getTotalLines() { return totalLines; }
+    public void setTotalLines(long totalLines) { this.totalLines = totalLines; }
+    public long getInvalidLines() { return invalidLines; }
+    public void setInvalidLines(long invalidLines) { this.invalidLines = invalidLines; }
+    public long getSucceededLines() { return succeededLines; }
+    public void setSucceededLines(long succeededLines) { this.succeededLines = succeededLines; }
+    public long getFailedLines() { return failedLines; }
+    public void setFailedLines(long failedLines) { this.failedLines = failedLines; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public BigDecimal getDisbursedAmount() { return disbursedAmount; }
+    public void setDisbursedAmount(BigDecimal disbursedAmount) { this.disbursedAmount = disbursedAmount; }
+    public long getLastLineNumber() { return lastLineNumber; }
+    public void setLastLineNumber(long lastLineNumber) { this.lastLineNumber = lastLineNumber; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,59 @@
+package com.virtualbank.transaction_service.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One line of a disbursement file. The line ID is time-ordered and doubles as the ID of the
+ * transaction that pays it, which is what makes a resumed chunk safe to resend. Rows are written
+ * in JDBC batches; the unique key serves both the checkpointed execution scan and paged reads.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_disbursement_line", columnNames = {"disbursement_id", "line_number"}))
+public class DisbursementLine {
+    @Id
+    private UUID lineId;
+
+    @Column(nullable = false)
+    private UUID disbursementId;
+
+    @Column(nullable = false)
+    private long lineNumber;
+
+    @Column(length = 34)
+    private String toAccountNumber;
+
+    private UUID toAccountId;
+
+    private BigDecimal amount;
+
+    @Column(length = 100)
+    private String reference;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(20)")
+    private DisbursementLineStatus status;
+
+    private String message;
+
+    // Getters and setters
+    public UUID getLineId() { return lineId; }
+    public void setLineId(UUID lineId) { this.lineId = lineId; }
+    public UUID getDisbursementId() { return disbursementId; }
+    public void setDisbursementId(UUID disbursementId) { this.disbursementId = disbursementId; }
+    public long getLineNumber() { return lineNumber; }
+    public void setLineNumber(long lineNumber) { this.lineNumber = lineNumber; }
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getReference() { return reference; }
+    public void setReference(String reference) { this.reference = reference; }
+    public DisbursementLineStatus getStatus() { return status; }
+    public void setStatus(DisbursementLineStatus status) { this.status = status; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
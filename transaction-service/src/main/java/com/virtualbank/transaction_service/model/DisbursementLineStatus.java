@@ -0,0 +1,8 @@
+package com.virtualbank.transaction_service.model;
+
+public enum DisbursementLineStatus {
+    Pending,
+    Invalid,
+    Succeeded,
+    Failed
+}
@@ -0,0 +1,9 @@
+package com.virtualbank.transaction_service.model;
+
+public enum DisbursementStatus {
+    Validating,
+    Validated,
+    Executing,
+    Completed,
+    Failed
+}
@@ -0,0 +1,61 @@
+package com.virtualbank.transaction_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint and totals of a ledger consistency check. Accounts are checked in account_id order;
+ * every account up to lastAccountId has been checked and its discrepancies stored, so an
+ * interrupted run resumes after it.
+ */
+@Entity
+public class LedgerCheckRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = true)
+    private UUID lastAccountId;
+
+    @Column(nullable = false)
+    private long accountsChecked;
+
+    @Column(nullable = false)
+    private long discrepancies;
+
+    // Accounts without a recorded opening balance, which cannot be checked
+    @Column(nullable = false)
+    private long unverifiable;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public UUID getLastAccountId() { return lastAccountId; }
+    public void setLastAccountId(UUID lastAccountId) { this.lastAccountId = lastAccountId; }
+    public long getAccountsChecked() { return accountsChecked; }
+    public void setAccountsChecked(long accountsChecked) { this.accountsChecked = accountsChecked; }
+    public long getDiscrepancies() { return discrepancies; }
+    public void setDiscrepancies(long discrepancies) { this.discrepancies = discrepancies; }
+    public long getUnverifiable() { return unverifiable; }
+    public void setUnverifiable(long unverifiable) { this.unverifiable = unverifiable; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
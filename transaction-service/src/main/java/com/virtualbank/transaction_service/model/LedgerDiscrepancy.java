@@ -0,0 +1,59 @@
+package com.virtualbank.transaction_service.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An account whose balance in account-service differs from what its opening balance, its
+ * account-service movements and its successful transactions add up to.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_ledger_discrepancy_run_account", columnNames = {"run_id", "account_id"}))
+public class LedgerDiscrepancy {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long runId;
+
+    @Column(nullable = false)
+    private UUID accountId;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private BigDecimal expectedBalance;
+
+    // Net of the account's successful transactions
+    @Column(nullable = false)
+    private BigDecimal transferNet;
+
+    // balance - expectedBalance
+    @Column(nullable = false)
+    private BigDecimal difference;
+
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public BigDecimal getExpectedBalance() { return expectedBalance; }
+    public void setExpectedBalance(BigDecimal expectedBalance) { this.expectedBalance = expectedBalance; }
+    public BigDecimal getTransferNet() { return transferNet; }
+    public void setTransferNet(BigDecimal transferNet) { this.transferNet = transferNet; }
+    public BigDecimal getDifference() { return difference; }
+    public void setDifference(BigDecimal difference) { this.difference = difference; }
+    public LocalDateTime getDetectedAt() { return detectedAt; }
+    public void setDetectedAt(LocalDateTime detectedAt) { this.detectedAt = detectedAt; }
+}
@@ -1,14 +1,19 @@
 package com.virtualbank.transaction_service.model;
 
+import com.virtualbank.transaction_service.util.TimeOrderedUuid;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_transaction_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_transaction_status_ts", columnList = "status, timestamp, transaction_id")
+})
 public class Transaction {
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID transactionId;
 
     @Column(nullable = true)
@@ -23,8 +28,15 @@ public class Transaction {
     @Column(length = 100)
     private String description;
 
+    // Assigned by TransactionCategorizer when the row is written; null if no rule matched
+    @Column(length = 40)
+    private String category;
+
+    // Set when the duplicate detector flagged this transfer as a likely double-submit
+    private Boolean suspectedDuplicate;
+
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(nullable = false, columnDefinition = "VARCHAR(20)")
     private TransactionStatus status;
 
     @Column(nullable = false)
@@ -33,6 +45,10 @@ public class Transaction {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Accepted into the local journal during a database outage and not yet in the database
+    @Transient
+    private boolean journaled;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -50,10 +66,16 @@ public class Transaction {
     public void setAmount(BigDecimal amount) { this.amount = amount; }
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public Boolean getSuspectedDuplicate() { return suspectedDuplicate; }
+    public void setSuspectedDuplicate(Boolean suspectedDuplicate) { this.suspectedDuplicate = suspectedDuplicate; }
     public TransactionStatus getStatus() { return status; }
     public void setStatus(TransactionStatus status) { this.status = status; }
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public boolean isJournaled() { return journaled; }
+    public void setJournaled(boolean journaled) { this.journaled = journaled; }
 } 
\ No newline at end of file
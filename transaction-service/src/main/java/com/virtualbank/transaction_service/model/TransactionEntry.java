@@ -0,0 +1,62 @@
+package com.virtualbank.transaction_service.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One side of a transaction as seen by a single account: debits are negative, credits positive.
+ * idx_entry_account_ts covers history, pagination and per-account aggregates without touching
+ * the transaction table. balanceAfter is the account's balance as reported by account-service
+ * when the transfer succeeded, so statements and point-in-time balances need no running sum.
+ */
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_entry_account_ts", columnList = "account_id, timestamp, transaction_id, amount"),
+    @Index(name = "idx_entry_transaction", columnList = "transaction_id")
+})
+public class TransactionEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID accountId;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false)
+    private UUID transactionId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    // Null until the transfer succeeds, and for transfers that fail
+    private BigDecimal balanceAfter;
+
+    // Constructors
+    public TransactionEntry() {}
+
+    public TransactionEntry(UUID accountId, LocalDateTime timestamp, UUID transactionId, BigDecimal amount) {
+        this.accountId = accountId;
+        this.timestamp = timestamp;
+        this.transactionId = transactionId;
+        this.amount = amount;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+}
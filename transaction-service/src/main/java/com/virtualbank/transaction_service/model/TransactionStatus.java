@@ -2,6 +2,7 @@ package com.virtualbank.transaction_service.model;
 
 public enum TransactionStatus {
     Initiated,
+    Processing,
     Success,
     Failed
 } 
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.virtualbank.transaction_service.model;
+
+import com.virtualbank.transaction_service.util.TimeOrderedUuid;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A standing order or future-dated transfer. Recurring schedules carry either a cron expression or
+ * a fixed interval; one-off schedules carry neither and complete after their single run.
+ * dueBucket is nextRunAt in whole buckets since the epoch, so the dispatcher loads one bucket of
+ * due schedules with an index lookup instead of scanning.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_schedule_bucket_status", columnList = "due_bucket, status, schedule_id"))
+public class TransferSchedule {
+    @Id
+    @TimeOrderedUuid
+    private UUID scheduleId;
+
+    @Column(nullable = false)
+    private UUID fromAccountId;
+
+    @Column(nullable = false)
+    private UUID toAccountId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(length = 100)
+    private String description;
+
+    @Column(length = 100)
+    private String cronExpression;
+
+    private Long intervalSeconds;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(20)")
+    private ScheduleStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(nullable = false)
+    private long dueBucket;
+
+    private LocalDateTime endAt;
+
+    private Integer maxRuns;
+
+    @Column(nullable = false)
+    private int runCount;
+
+    private LocalDateTime lastRunAt;
+
+    private UUID lastTransactionId;
+
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public UUID getScheduleId() { return scheduleId; }
+    public void setScheduleId(UUID scheduleId) { this.scheduleId = scheduleId; }
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public String getCronExpression() { return cronExpression; }
+    public void setCronExpression(String cronExpression) { this.cronExpression = cronExpression; }
+    public Long getIntervalSeconds() { return intervalSeconds; }
+    public void setIntervalSeconds(Long intervalSeconds) { this.intervalSeconds = intervalSeconds; }
+    public ScheduleStatus getStatus() { return status; }
+    public void setStatus(ScheduleStatus status) { this.status = status; }
+    public LocalDateTime getNextRunAt() { return nextRunAt; }
+    public void setNextRunAt(LocalDateTime nextRunAt) { this.nextRunAt = nextRunAt; }
+    public long getDueBucket() { return dueBucket; }
+    public void setDueBucket(long dueBucket) { this.dueBucket = dueBucket; }
+    public LocalDateTime getEndAt() { return endAt; }
+    public void setEndAt(LocalDateTime endAt) { this.endAt = endAt; }
+    public Integer getMaxRuns() { return maxRuns; }
+    public void setMaxRuns(Integer maxRuns) { this.maxRuns = maxRuns; }
+    public int getRunCount() { return runCount; }
+    public void setRunCount(int runCount) { this.runCount = runCount; }
+    public LocalDateTime getLastRunAt() { return lastRunAt; }
+    public void setLastRunAt(LocalDateTime lastRunAt) { this.lastRunAt = lastRunAt; }
+    public UUID getLastTransactionId() { return lastTransactionId; }
+    public void setLastTransactionId(UUID lastTransactionId) { this.lastTransactionId = lastTransactionId; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
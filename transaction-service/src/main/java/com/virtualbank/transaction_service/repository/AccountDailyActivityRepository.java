@@ -0,0 +1,34 @@
+package com.virtualbank.transaction_service.repository;
+
+import com.virtualbank.transaction_service.model.AccountDailyActivity;
+import com.virtualbank.transaction_service.model.AccountDailyActivityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface AccountDailyActivityRepository extends JpaRepository<AccountDailyActivity, AccountDailyActivityId> {
+
+    List<AccountDailyActivity> findByAccountIdAndActivityDateBetweenOrderByActivityDate(UUID accountId, LocalDate from, LocalDate to);
+
+    // Account IDs are bound as BINARY(16) bytes since this is a native statement
+    @Modifying
+    @Query(value = "INSERT INTO account_daily_activity (account_id, activity_date, debit_count, debit_total, credit_count, credit_total) " +
+                   "VALUES (:accountId, :activityDate, :debitCount, :debitTotal, :creditCount, :creditTotal) " +
+                   "ON DUPLICATE KEY UPDATE debit_count = debit_count + VALUES(debit_count), " +
+                   "debit_total = debit_total + VALUES(debit_total), " +
+                   "credit_count = credit_count + VALUES(credit_count), " +
+                   "credit_total = credit_total + VALUES(credit_total)",
+           nativeQuery = true)
+    int upsert(@Param("accountId") byte[] accountId,
+               @Param("activityDate") LocalDate activityDate,
+               @Param("debitCount") long debitCount,
+               @Param("debitTotal") BigDecimal debitTotal,
+               @Param("creditCount") long creditCount,
+               @Param("creditTotal") BigDecimal creditTotal);
+}
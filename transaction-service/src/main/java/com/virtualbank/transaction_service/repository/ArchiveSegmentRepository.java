@@ -0,0 +1,10 @@
+package com.virtualbank.transaction_service.repository;
+
+import com.virtualbank.transaction_service.model.ArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ArchiveSegmentRepository extends JpaRepository<ArchiveSegment, Long> {
+    List<ArchiveSegment> findAllByOrderByPeriodAscIdAsc();
+}
@@ -0,0 +1,44 @@
+package com.virtualbank.transaction_service.repository;
+
+import com.virtualbank.transaction_service.model.DisbursementLine;
+import com.virtualbank.transaction_service.model.DisbursementLineStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface DisbursementLineRepository extends JpaRepository<DisbursementLine, UUID> {
+
+    // Keyset page in line order over uk_disbursement_line
+    @Query("SELECT l FROM DisbursementLine l WHERE l.disbursementId = :disbursementId " +
+           "AND l.lineNumber > :afterLine ORDER BY l.lineNumber")
+    List<DisbursementLine> findPage(@Param("disbursementId") UUID disbursementId,
+                                    @Param("afterLine") long afterLine,
+                                    Pageable pageable);
+
+    @Query("SELECT l FROM DisbursementLine l WHERE l.disbursementId = :disbursementId AND l.status = :status " +
+           "AND l.lineNumber > :afterLine ORDER BY l.lineNumber")
+    List<DisbursementLine> findPageByStatus(@Param("disbursementId") UUID disbursementId,
+                                            @Param("status") DisbursementLineStatus status,
+                                            @Param("afterLine") long afterLine,
+                                            Pageable pageable);
+
+    // Count and total per line status, as Object[] { status, count, sum(amount) }
+    @Query("SELECT l.status, COUNT(l), SUM(l.amount) FROM DisbursementLine l " +
+           "WHERE l.disbursementId = :disbursementId GROUP BY l.status")
+    List<Object[]> summarize(@Param("disbursementId") UUID disbursementId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DisbursementLine l SET l.status = :status, l.message = :message " +
+           "WHERE l.disbursementId = :disbursementId AND l.status = :from")
+    int updateStatus(@Param("disbursementId") UUID disbursementId,
+                     @Param("from") DisbursementLineStatus from,
+                     @Param("status") DisbursementLineStatus status,
+                     @Param("message") String message);
+}
@@ -0,0 +1,14 @@
+package com.virtualbank.transaction_service.repository;
+
+import com.virtualbank.transaction_service.model.Disbursement;
+import com.virtualbank.transaction_service.model.DisbursementStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface DisbursementRepository extends JpaRepository<Disbursement, UUID> {
+
+    List<Disbursement> findByStatusIn(Collection<DisbursementStatus> statuses);
+}
@@ -0,0 +1,10 @@
+package com.virtualbank.transaction_service.repository;
+
+import com.virtualbank.transaction_service.model.LedgerCheckRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface LedgerCheckRunRepository extends JpaRepository<LedgerCheckRun, Long> {
+    Optional<LedgerCheckRun> findFirstByCompletedFalseOrderByIdDesc();
+}
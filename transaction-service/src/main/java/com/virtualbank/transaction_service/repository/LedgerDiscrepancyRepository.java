@@ -0,0 +1,11 @@
+package com.virtualbank.transaction_service.repository;
+
+import com.virtualbank.transaction_service.model.LedgerDiscrepancy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LedgerDiscrepancyRepository extends JpaRepository<LedgerDiscrepancy, Long> {
+    List<LedgerDiscrepancy> findByRunIdAndIdGreaterThanOrderById(Long runId, Long afterId, Pageable pageable);
+}
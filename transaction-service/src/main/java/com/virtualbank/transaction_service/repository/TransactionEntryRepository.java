@@ -0,0 +1,69 @@
+package com.virtualbank.transaction_service.repository;
+
+import com.virtualbank.transaction_service.dto.AccountSummaryDto;
+import com.virtualbank.transaction_service.dto.CategorySpendingDto;
+import com.virtualbank.transaction_service.model.TransactionEntry;
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TransactionEntryRepository extends JpaRepository<TransactionEntry, Long> {
+
+    @Query("SELECT e FROM TransactionEntry e WHERE e.accountId = :accountId " +
+           "ORDER BY e.timestamp DESC, e.transactionId DESC")
+    List<TransactionEntry> findLatest(@Param("accountId") UUID accountId, Pageable pageable);
+
+    // Keyset page: entries strictly older than the (timestamp, transactionId) cursor
+    @Query("SELECT e FROM TransactionEntry e WHERE e.accountId = :accountId " +
+           "AND (e.timestamp < :timestamp OR (e.timestamp = :timestamp AND e.transactionId < :transactionId)) " +
+           "ORDER BY e.timestamp DESC, e.transactionId DESC")
+    List<TransactionEntry> findBefore(@Param("accountId") UUID accountId,
+                                      @Param("timestamp") LocalDateTime timestamp,
+                                      @Param("transactionId") UUID transactionId,
+                                      Pageable pageable);
+
+    // Latest entry at or before the instant that carries a balance, i.e. the balance at that time
+    @Query("SELECT e FROM TransactionEntry e WHERE e.accountId = :accountId AND e.timestamp <= :timestamp " +
+           "AND e.balanceAfter IS NOT NULL ORDER BY e.timestamp DESC, e.transactionId DESC")
+    List<TransactionEntry> findLatestBalanceAt(@Param("accountId") UUID accountId,
+                                               @Param("timestamp") LocalDateTime timestamp,
+                                               Pageable pageable);
+
+    Optional<TransactionEntry> findByTransactionIdAndAccountId(UUID transactionId, UUID accountId);
+
+    @Modifying
+    @Query("UPDATE TransactionEntry e SET e.balanceAfter = :balance WHERE e.transactionId = :transactionId AND e.accountId = :accountId")
+    int updateBalanceAfter(@Param("transactionId") UUID transactionId,
+                           @Param("accountId") UUID accountId,
+                           @Param("balance") BigDecimal balance);
+
+    // Entries are written at initiation, so only those of transactions with the given status count
+    @Query("SELECT new com.virtualbank.transaction_service.dto.AccountSummaryDto(COUNT(e), " +
+           "SUM(CASE WHEN e.amount > 0 THEN e.amount ELSE 0 END), " +
+           "SUM(CASE WHEN e.amount < 0 THEN -e.amount ELSE 0 END)) " +
+           "FROM TransactionEntry e JOIN Transaction t ON t.transactionId = e.transactionId " +
+           "WHERE e.accountId = :accountId AND e.timestamp >= :from AND e.timestamp < :to AND t.status = :status")
+    AccountSummaryDto summarize(@Param("accountId") UUID accountId,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                @Param("status") TransactionStatus status);
+
+    // Successful outgoing payments grouped by the category of their transaction
+    @Query("SELECT new com.virtualbank.transaction_service.dto.CategorySpendingDto(t.category, COUNT(e), SUM(-e.amount)) " +
+           "FROM TransactionEntry e JOIN Transaction t ON t.transactionId = e.transactionId " +
+           "WHERE e.accountId = :accountId AND e.timestamp >= :from AND e.timestamp < :to AND e.amount < 0 " +
+           "AND t.status = :status GROUP BY t.category")
+    List<CategorySpendingDto> sumSpendingByCategory(@Param("accountId") UUID accountId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("status") TransactionStatus status);
+}
@@ -1,11 +1,26 @@
 package com.virtualbank.transaction_service.repository;
 
 import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    List<Transaction> findByFromAccountIdOrToAccountId(UUID fromAccountId, UUID toAccountId);
-} 
\ No newline at end of file
+
+    // Keyset page over idx_transaction_status_ts: transactions in one status older than the cutoff,
+    // strictly after the (timestamp, transactionId) cursor
+    @Query("SELECT t FROM Transaction t WHERE t.status = :status AND t.timestamp < :cutoff " +
+           "AND (t.timestamp > :timestamp OR (t.timestamp = :timestamp AND t.transactionId > :transactionId)) " +
+           "ORDER BY t.timestamp, t.transactionId")
+    List<Transaction> findStaleAfter(@Param("status") TransactionStatus status,
+                                     @Param("cutoff") LocalDateTime cutoff,
+                                     @Param("timestamp") LocalDateTime timestamp,
+                                     @Param("transactionId") UUID transactionId,
+                                     Pageable pageable);
+}
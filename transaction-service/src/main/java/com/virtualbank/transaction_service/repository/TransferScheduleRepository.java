@@ -0,0 +1,43 @@
+package com.virtualbank.transaction_service.repository;
+
+import com.virtualbank.transaction_service.model.ScheduleStatus;
+import com.virtualbank.transaction_service.model.TransferSchedule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TransferScheduleRepository extends JpaRepository<TransferSchedule, UUID> {
+
+    // Keyset page of one bucket over idx_schedule_bucket_status
+    @Query("SELECT s FROM TransferSchedule s WHERE s.dueBucket = :bucket AND s.status = :status " +
+           "AND s.scheduleId > :afterId ORDER BY s.scheduleId")
+    List<TransferSchedule> findBucketPage(@Param("bucket") long bucket,
+                                          @Param("status") ScheduleStatus status,
+                                          @Param("afterId") UUID afterId,
+                                          Pageable pageable);
+
+    // Keyset page of schedules in buckets before :before, in (bucket, ID) order
+    @Query("SELECT s FROM TransferSchedule s WHERE s.dueBucket < :before AND s.status = :status " +
+           "AND (s.dueBucket > :afterBucket OR (s.dueBucket = :afterBucket AND s.scheduleId > :afterId)) " +
+           "ORDER BY s.dueBucket, s.scheduleId")
+    List<TransferSchedule> findOverduePage(@Param("before") long before,
+                                           @Param("status") ScheduleStatus status,
+                                           @Param("afterBucket") long afterBucket,
+                                           @Param("afterId") UUID afterId,
+                                           Pageable pageable);
+
+    // Conditional, so a status change never overwrites a run the dispatcher has just claimed
+    @Modifying
+    @Transactional
+    @Query("UPDATE TransferSchedule s SET s.status = :status WHERE s.scheduleId = :scheduleId AND s.status IN :from")
+    int updateStatus(@Param("scheduleId") UUID scheduleId,
+                     @Param("from") Collection<ScheduleStatus> from,
+                     @Param("status") ScheduleStatus status);
+}
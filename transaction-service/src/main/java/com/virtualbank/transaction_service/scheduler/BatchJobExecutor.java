@@ -0,0 +1,42 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one long batch job (archive, ledger check, recovery) on its own thread, so a run that takes
+ * minutes never holds a thread of the shared scheduler pool. A trigger that fires while the previous
+ * run is still going is dropped rather than queued behind it.
+ */
+final class BatchJobExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchJobExecutor.class);
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+
+    BatchJobExecutor(String name) {
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+            Thread.ofPlatform().name(name).daemon(true).factory(),
+            (job, pool) -> logger.info("Skipped a {} trigger: the previous run is still in progress", name));
+    }
+
+    void submit(Runnable job) {
+        executor.execute(() -> {
+            try {
+                job.run();
+            } catch (Exception e) {
+                logger.error("{} run failed: {}", name, e.getMessage(), e);
+            }
+        });
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
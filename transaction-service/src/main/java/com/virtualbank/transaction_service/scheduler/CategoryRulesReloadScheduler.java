@@ -0,0 +1,20 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import com.virtualbank.transaction_service.service.TransactionCategorizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryRulesReloadScheduler {
+
+    @Autowired
+    private TransactionCategorizer categorizer;
+
+    // Picks up edits to a rule file on disk; POST /transactions/categories/rules/reload forces a reload
+    @Scheduled(fixedDelayString = "${transaction.categorization.reload-check-ms:30000}",
+               initialDelayString = "${transaction.categorization.reload-check-ms:30000}")
+    public void reloadChangedRules() {
+        categorizer.reloadIfChanged();
+    }
+}
@@ -0,0 +1,29 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import com.virtualbank.transaction_service.service.DisbursementService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DisbursementResumeScheduler {
+
+    @Autowired
+    private DisbursementService disbursementService;
+
+    // Disbursements cut off by a restart continue from their last committed chunk
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeAfterStartup() {
+        disbursementService.failInterruptedUploads();
+        disbursementService.resumeIncomplete();
+    }
+
+    // Also retries disbursements paused because account-service was unreachable
+    @Scheduled(fixedDelayString = "${transaction.disbursements.resume-interval-ms:60000}",
+               initialDelayString = "${transaction.disbursements.resume-interval-ms:60000}")
+    public void resumeIncomplete() {
+        disbursementService.resumeIncomplete();
+    }
+}
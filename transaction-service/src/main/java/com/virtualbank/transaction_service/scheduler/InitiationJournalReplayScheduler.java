@@ -0,0 +1,55 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import com.virtualbank.transaction_service.service.InitiationJournal;
+import com.virtualbank.transaction_service.service.TransferPipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "transaction.initiation.journal.enabled", havingValue = "true")
+public class InitiationJournalReplayScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InitiationJournalReplayScheduler.class);
+
+    @Autowired
+    private InitiationJournal initiationJournal;
+
+    @Autowired
+    private TransferPipeline pipeline;
+
+    // Replay doubles as the health probe: while the database is down each attempt fails fast and is retried
+    @Scheduled(fixedDelayString = "${transaction.initiation.journal.replay-interval-ms:500}")
+    public void replayJournal() {
+        if (!initiationJournal.hasBacklog()) {
+            return;
+        }
+        try {
+            initiationJournal.replay(this::execute);
+        } catch (Exception e) {
+            logger.warn("Journal replay deferred: {}", e.getMessage());
+        }
+    }
+
+    // Transfers the pipeline has no room for stay Initiated; they can still be executed by ID, and
+    // recovery settles any left past its stale threshold
+    private void execute(List<UUID> transactionIds) {
+        int skipped = 0;
+        for (UUID transactionId : transactionIds) {
+            if (pipeline.tryReserve()) {
+                pipeline.submit(transactionId);
+            } else {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            logger.warn("{} replayed transfers were not queued for execution", skipped);
+        }
+    }
+}
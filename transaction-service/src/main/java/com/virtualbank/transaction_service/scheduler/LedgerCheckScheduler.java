@@ -0,0 +1,28 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import com.virtualbank.transaction_service.service.LedgerConsistencyService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "transaction.ledger-check.enabled", havingValue = "true")
+public class LedgerCheckScheduler {
+
+    @Autowired
+    private LedgerConsistencyService ledgerConsistencyService;
+
+    private final BatchJobExecutor executor = new BatchJobExecutor("ledger-check");
+
+    @Scheduled(cron = "${transaction.ledger-check.cron:0 0 4 * * *}")
+    public void checkLedger() {
+        executor.submit(ledgerConsistencyService::check);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
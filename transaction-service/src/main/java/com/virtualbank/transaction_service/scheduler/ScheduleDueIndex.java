@@ -0,0 +1,75 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * In-memory window of upcoming schedule runs. Time is cut into fixed buckets; the dispatcher loads
+ * whole buckets from the database just ahead of time, and only loaded buckets live in the queue, so
+ * memory follows the schedules due in the window rather than the total number of schedules.
+ * Entries can be stale (a schedule paused or moved after it was queued); the dispatcher checks each
+ * entry against the database before running it.
+ */
+@Component
+public class ScheduleDueIndex {
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(
+        Comparator.comparing(Entry::runAt).thenComparing(Entry::scheduleId));
+    private final long bucketSeconds;
+    private long loadedThrough = Long.MIN_VALUE;
+
+    public ScheduleDueIndex(@Value("${transaction.schedules.bucket-seconds:60}") long bucketSeconds) {
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    public long bucketOf(LocalDateTime time) {
+        return Math.floorDiv(time.atZone(ZoneId.systemDefault()).toEpochSecond(), bucketSeconds);
+    }
+
+    /** Queue a run if its bucket is already loaded; later buckets are picked up when they are loaded. */
+    public synchronized void offer(UUID scheduleId, LocalDateTime runAt) {
+        if (bucketOf(runAt) <= loadedThrough) {
+            queue.add(new Entry(scheduleId, runAt));
+        }
+    }
+
+    /** Queue a run read while loading a bucket. */
+    public synchronized void add(UUID scheduleId, LocalDateTime runAt) {
+        queue.add(new Entry(scheduleId, runAt));
+    }
+
+    public synchronized long getLoadedThrough() {
+        return loadedThrough;
+    }
+
+    /**
+     * Mark a bucket as loaded before reading it, so a schedule committed while the bucket is being
+     * read is either seen by the read or accepted by {@link #offer}; duplicates are harmless.
+     */
+    public synchronized void markLoaded(long bucket) {
+        loadedThrough = Math.max(loadedThrough, bucket);
+    }
+
+    /** @return up to {@code max} entries due at or before {@code now}, earliest first */
+    public synchronized List<Entry> pollDue(LocalDateTime now, int max) {
+        List<Entry> due = new ArrayList<>();
+        while (due.size() < max && !queue.isEmpty() && !queue.peek().runAt().isAfter(now)) {
+            due.add(queue.poll());
+        }
+        return due;
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    public record Entry(UUID scheduleId, LocalDateTime runAt) {}
+}
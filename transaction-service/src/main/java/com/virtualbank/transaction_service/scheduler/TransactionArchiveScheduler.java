@@ -0,0 +1,28 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import com.virtualbank.transaction_service.service.TransactionArchiveService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "transaction.archive.enabled", havingValue = "true")
+public class TransactionArchiveScheduler {
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    private final BatchJobExecutor executor = new BatchJobExecutor("transaction-archive");
+
+    @Scheduled(cron = "${transaction.archive.cron:0 0 3 * * *}")
+    public void archiveOldTransactions() {
+        executor.submit(archiveService::archive);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
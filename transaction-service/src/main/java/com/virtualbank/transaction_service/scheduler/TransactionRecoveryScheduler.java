@@ -0,0 +1,29 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import com.virtualbank.transaction_service.service.TransactionRecoveryService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "transaction.recovery.enabled", havingValue = "true")
+public class TransactionRecoveryScheduler {
+
+    @Autowired
+    private TransactionRecoveryService recoveryService;
+
+    private final BatchJobExecutor executor = new BatchJobExecutor("transaction-recovery");
+
+    @Scheduled(fixedDelayString = "${transaction.recovery.interval-ms:300000}",
+               initialDelayString = "${transaction.recovery.interval-ms:300000}")
+    public void recoverStaleTransactions() {
+        executor.submit(recoveryService::recover);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,265 @@
+package com.virtualbank.transaction_service.scheduler;
+
+import com.virtualbank.transaction_service.exception.InitiationNotConfirmedException;
+import com.virtualbank.transaction_service.model.ScheduleStatus;
+import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.model.TransferSchedule;
+import com.virtualbank.transaction_service.repository.TransferScheduleRepository;
+import com.virtualbank.transaction_service.service.TransactionService;
+import com.virtualbank.transaction_service.service.TransferPipeline;
+import com.virtualbank.transaction_service.service.TransferScheduleService;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs due transfer schedules. Each tick loads the buckets entering the look-ahead window into
+ * {@link ScheduleDueIndex}, then takes due entries in batches: a batch reserves pipeline slots,
+ * claims its runs with one conditional batch update (which also advances each schedule), then
+ * initiates the transfers concurrently and hands them to {@link TransferPipeline} for execution.
+ * A run is claimed before its transfer is initiated, so a crash in between skips that run rather
+ * than paying it twice.
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.schedules.enabled", havingValue = "true", matchIfMissing = true)
+public class TransferScheduleDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferScheduleDispatcher.class);
+
+    private static final String CLAIM_SQL =
+        "UPDATE transfer_schedule SET run_count = run_count + 1, last_run_at = ?, next_run_at = ?, due_bucket = ?, status = ? " +
+        "WHERE schedule_id = ? AND status = 'Active' AND next_run_at = ?";
+
+    private static final String RESULT_SQL =
+        "UPDATE transfer_schedule SET last_transaction_id = ?, last_error = ? WHERE schedule_id = ?";
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    @Autowired
+    private ScheduleDueIndex dueIndex;
+
+    @Autowired
+    private TransferScheduleRepository scheduleRepository;
+
+    @Autowired
+    private TransferScheduleService scheduleService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferPipeline pipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${transaction.schedules.batch-size:500}")
+    private int batchSize;
+
+    @Value("${transaction.schedules.lookahead-buckets:2}")
+    private int lookaheadBuckets;
+
+    // Buckets before this one fell due before startup and are read page by page as the queue drains
+    private Long catchUpBefore;
+    private long catchUpBucket = Long.MIN_VALUE;
+    private UUID catchUpId = FIRST_ID;
+    private boolean caughtUp;
+
+    @Scheduled(fixedDelayString = "${transaction.schedules.tick-millis:1000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long currentBucket = dueIndex.bucketOf(now);
+        if (catchUpBefore == null) {
+            catchUpBefore = currentBucket;
+            dueIndex.markLoaded(currentBucket - 1);
+        }
+        if (!caughtUp && dueIndex.size() < batchSize) {
+            loadOverduePage();
+        }
+        for (long bucket = dueIndex.getLoadedThrough() + 1; bucket <= currentBucket + lookaheadBuckets; bucket++) {
+            loadBucket(bucket);
+        }
+
+        int dispatched = 0;
+        while (true) {
+            List<ScheduleDueIndex.Entry> due = dueIndex.pollDue(now, batchSize);
+            if (due.isEmpty()) {
+                break;
+            }
+            int claimed = dispatch(due, now);
+            if (claimed < 0) {
+                // Pipeline is full; the rest waits for the next tick
+                break;
+            }
+            dispatched += claimed;
+        }
+        if (dispatched > 0) {
+            logger.info("Dispatched {} scheduled transfers", dispatched);
+        }
+    }
+
+    private void loadBucket(long bucket) {
+        dueIndex.markLoaded(bucket);
+        UUID afterId = FIRST_ID;
+        while (true) {
+            List<TransferSchedule> page = scheduleRepository.findBucketPage(bucket, ScheduleStatus.Active, afterId,
+                PageRequest.of(0, batchSize));
+            page.forEach(schedule -> dueIndex.add(schedule.getScheduleId(), schedule.getNextRunAt()));
+            if (page.size() < batchSize) {
+                return;
+            }
+            afterId = page.get(page.size() - 1).getScheduleId();
+        }
+    }
+
+    private void loadOverduePage() {
+        List<TransferSchedule> page = scheduleRepository.findOverduePage(catchUpBefore, ScheduleStatus.Active,
+            catchUpBucket, catchUpId, PageRequest.of(0, batchSize));
+        page.forEach(schedule -> dueIndex.add(schedule.getScheduleId(), schedule.getNextRunAt()));
+        if (page.size() < batchSize) {
+            caughtUp = true;
+            return;
+        }
+        TransferSchedule last = page.get(page.size() - 1);
+        catchUpBucket = last.getDueBucket();
+        catchUpId = last.getScheduleId();
+    }
+
+    /** @return runs claimed, or -1 if the pipeline filled up part way */
+    private int dispatch(List<ScheduleDueIndex.Entry> due, LocalDateTime now) {
+        Map<UUID, LocalDateTime> runAt = new LinkedHashMap<>();
+        due.forEach(entry -> runAt.putIfAbsent(entry.scheduleId(), entry.runAt()));
+
+        // Entries are hints: only rows still Active and still due at the queued time are run
+        List<TransferSchedule> runnable = new ArrayList<>();
+        for (TransferSchedule schedule : scheduleRepository.findAllById(runAt.keySet())) {
+            if (schedule.getStatus() == ScheduleStatus.Active && schedule.getNextRunAt().equals(runAt.get(schedule.getScheduleId()))) {
+                runnable.add(schedule);
+            }
+        }
+
+        boolean pipelineFull = false;
+        List<TransferSchedule> reserved = new ArrayList<>(runnable.size());
+        for (TransferSchedule schedule : runnable) {
+            if (!pipelineFull && pipeline.tryReserve()) {
+                reserved.add(schedule);
+            } else {
+                pipelineFull = true;
+                dueIndex.add(schedule.getScheduleId(), schedule.getNextRunAt());
+            }
+        }
+
+        List<TransferSchedule> claimed = claim(reserved, now);
+        for (int i = claimed.size(); i < reserved.size(); i++) {
+            pipeline.release();
+        }
+        initiate(claimed);
+        return pipelineFull ? -1 : claimed.size();
+    }
+
+    // Advances each schedule past this run; rows changed since they were read are not claimed
+    private List<TransferSchedule> claim(List<TransferSchedule> schedules, LocalDateTime now) {
+        if (schedules.isEmpty()) {
+            return List.of();
+        }
+        Timestamp runTime = Timestamp.valueOf(now);
+        List<Object[]> updates = new ArrayList<>(schedules.size());
+        List<LocalDateTime> nextRuns = new ArrayList<>(schedules.size());
+        for (TransferSchedule schedule : schedules) {
+            LocalDateTime claimedRun = schedule.getNextRunAt();
+            LocalDateTime next = scheduleService.nextRunAfter(schedule, now.isAfter(claimedRun) ? now : claimedRun);
+            boolean finished = next == null
+                || (schedule.getEndAt() != null && next.isAfter(schedule.getEndAt()))
+                || (schedule.getMaxRuns() != null && schedule.getRunCount() + 1 >= schedule.getMaxRuns());
+            LocalDateTime stored = finished ? claimedRun : next.truncatedTo(ChronoUnit.SECONDS);
+            nextRuns.add(finished ? null : stored);
+            updates.add(new Object[] {
+                runTime,
+                Timestamp.valueOf(stored),
+                dueIndex.bucketOf(stored),
+                (finished ? ScheduleStatus.Completed : ScheduleStatus.Active).name(),
+                UuidUtils.toBytes(schedule.getScheduleId()),
+                Timestamp.valueOf(claimedRun)
+            });
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(CLAIM_SQL, updates);
+        List<TransferSchedule> claimed = new ArrayList<>(schedules.size());
+        for (int i = 0; i < schedules.size(); i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            claimed.add(schedules.get(i));
+            if (nextRuns.get(i) != null) {
+                dueIndex.offer(schedules.get(i).getScheduleId(), nextRuns.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    // Initiations run concurrently so group commit, when enabled, can batch them
+    private void initiate(List<TransferSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return;
+        }
+        List<Future<Object[]>> results = new ArrayList<>(schedules.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (TransferSchedule schedule : schedules) {
+                results.add(executor.submit(() -> initiate(schedule)));
+            }
+        }
+        List<Object[]> updates = new ArrayList<>(results.size());
+        for (Future<Object[]> result : results) {
+            updates.add(result.resultNow());
+        }
+        jdbcTemplate.batchUpdate(RESULT_SQL, updates);
+    }
+
+    private Object[] initiate(TransferSchedule schedule) {
+        byte[] scheduleId = UuidUtils.toBytes(schedule.getScheduleId());
+        try {
+            Optional<Transaction> transaction = transactionService.initiateTransfer(schedule.getFromAccountId(),
+                schedule.getToAccountId(), schedule.getAmount(), schedule.getDescription(), false, true);
+            if (transaction.isPresent()) {
+                if (transaction.get().isJournaled()) {
+                    pipeline.release();
+                } else {
+                    pipeline.submit(transaction.get().getTransactionId());
+                }
+                return new Object[] { UuidUtils.toBytes(transaction.get().getTransactionId()), null, scheduleId };
+            }
+            pipeline.release();
+            return new Object[] { null, "Transfer initiation failed", scheduleId };
+        } catch (InitiationNotConfirmedException e) {
+            // The run may still have been recorded; keep its ID so it can be traced
+            pipeline.release();
+            logger.warn("Scheduled transfer {} was not confirmed: {}", schedule.getScheduleId(), e.getMessage());
+            return new Object[] { e.getTransactionId() != null ? UuidUtils.toBytes(e.getTransactionId()) : null, e.getMessage(), scheduleId };
+        } catch (Exception e) {
+            // Velocity limits and other rejections skip this run; the schedule continues
+            pipeline.release();
+            logger.warn("Scheduled transfer {} was not initiated: {}", schedule.getScheduleId(), e.getMessage());
+            return new Object[] { null, e.getMessage(), scheduleId };
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.AccountActivityDto;
+import com.virtualbank.transaction_service.model.AccountDailyActivity;
+import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.repository.AccountDailyActivityRepository;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Daily debit/credit aggregates per account, maintained incrementally as transfers succeed.
+ * Daily, monthly and range reads touch one row per day in the range.
+ */
+@Service
+public class AccountActivityService {
+
+    @Autowired
+    private AccountDailyActivityRepository activityRepository;
+
+    /** Add a successful transaction to both accounts' daily totals; must run in the caller's transaction. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSuccess(Transaction transaction) {
+        LocalDate day = transaction.getTimestamp().toLocalDate();
+        if (transaction.getFromAccountId() != null) {
+            activityRepository.upsert(UuidUtils.toBytes(transaction.getFromAccountId()), day,
+                1, transaction.getAmount(), 0, BigDecimal.ZERO);
+        }
+        if (transaction.getToAccountId() != null) {
+            activityRepository.upsert(UuidUtils.toBytes(transaction.getToAccountId()), day,
+                0, BigDecimal.ZERO, 1, transaction.getAmount());
+        }
+    }
+
+    public List<AccountActivityDto> getDaily(UUID accountId, LocalDate from, LocalDate to) {
+        List<AccountActivityDto> days = new ArrayList<>();
+        for (AccountDailyActivity row : findRange(accountId, from, to)) {
+            AccountActivityDto day = new AccountActivityDto(accountId, row.getActivityDate().toString());
+            add(day, row);
+            days.add(day);
+        }
+        return days;
+    }
+
+    public List<AccountActivityDto> getMonthly(UUID accountId, YearMonth from, YearMonth to) {
+        Map<YearMonth, AccountActivityDto> months = new LinkedHashMap<>();
+        for (AccountDailyActivity row : findRange(accountId, from.atDay(1), to.atEndOfMonth())) {
+            YearMonth month = YearMonth.from(row.getActivityDate());
+            add(months.computeIfAbsent(month, m -> new AccountActivityDto(accountId, m.toString())), row);
+        }
+        return new ArrayList<>(months.values());
+    }
+
+    public AccountActivityDto getTotal(UUID accountId, LocalDate from, LocalDate to) {
+        AccountActivityDto total = new AccountActivityDto(accountId, from + "/" + to);
+        findRange(accountId, from, to).forEach(row -> add(total, row));
+        return total;
+    }
+
+    private List<AccountDailyActivity> findRange(UUID accountId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        return activityRepository.findByAccountIdAndActivityDateBetweenOrderByActivityDate(accountId, from, to);
+    }
+
+    private void add(AccountActivityDto target, AccountDailyActivity row) {
+        target.setDebitCount(target.getDebitCount() + row.getDebitCount());
+        target.setDebitTotal(target.getDebitTotal().add(row.getDebitTotal()));
+        target.setCreditCount(target.getCreditCount() + row.getCreditCount());
+        target.setCreditTotal(target.getCreditTotal().add(row.getCreditTotal()));
+    }
+}
@@ -0,0 +1,608 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.DisbursementLineDto;
+import com.virtualbank.transaction_service.dto.DisbursementResponseDto;
+import com.virtualbank.transaction_service.dto.TransferResultDto;
+import com.virtualbank.transaction_service.exception.DisbursementNotFoundException;
+import com.virtualbank.transaction_service.model.Disbursement;
+import com.virtualbank.transaction_service.model.DisbursementLine;
+import com.virtualbank.transaction_service.model.DisbursementLineStatus;
+import com.virtualbank.transaction_service.model.DisbursementStatus;
+import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import com.virtualbank.transaction_service.repository.DisbursementLineRepository;
+import com.virtualbank.transaction_service.repository.DisbursementRepository;
+import com.virtualbank.transaction_service.repository.TransactionRepository;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulk disbursement (payroll) files: one source account paying many accounts. The upload is read
+ * line by line and validated in chunks, several chunks at a time, with one account lookup per
+ * chunk. The total of the valid lines is then reserved as a single hold on the source account,
+ * and lines are paid from the hold a chunk per account-service call. Each chunk's outcomes and
+ * the checkpoint commit together; a line's transaction ID is its line ID, so a chunk interrupted
+ * by a crash is resent as-is and account-service answers any credits it already applied.
+ */
+@Service
+public class DisbursementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisbursementService.class);
+
+    private static final String ACCOUNT_SERVICE_URL = "http://localhost:8081";
+
+    private static final String INSERT_LINE_SQL =
+        "INSERT INTO disbursement_line (line_id, disbursement_id, line_number, to_account_number, to_account_id, amount, reference, status, message) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TRANSACTION_SQL =
+        "INSERT INTO transaction (transaction_id, from_account_id, to_account_id, amount, description, category, status, timestamp, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO transaction_entry (account_id, timestamp, transaction_id, amount) VALUES (?, ?, ?, ?)";
+
+    private static final String SET_BALANCE_SQL =
+        "UPDATE transaction_entry SET balance_after = ? WHERE transaction_id = ? AND account_id = ?";
+
+    // Recovery may already have settled a transaction whose chunk stalled; its outcome stands
+    private static final String SETTLE_TRANSACTION_SQL =
+        "UPDATE transaction SET status = ? WHERE transaction_id = ? AND status = 'Processing'";
+
+    private static final String SETTLE_LINE_SQL =
+        "UPDATE disbursement_line SET status = ?, message = ? WHERE line_id = ?";
+
+    @Autowired
+    private DisbursementRepository disbursementRepository;
+
+    @Autowired
+    private DisbursementLineRepository lineRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountActivityService accountActivityService;
+
+    @Autowired
+    private TransactionCategorizer categorizer;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.disbursements.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${transaction.disbursements.validation-parallelism:8}")
+    private int validationParallelism;
+
+    @Value("${transaction.disbursements.hold-ttl-seconds:86400}")
+    private long holdTtlSeconds;
+
+    @Value("${transaction.disbursements.max-page-size:1000}")
+    private int maxPageSize;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Disbursements being executed by this instance, so a resume never runs one twice
+    private final Set<UUID> executing = ConcurrentHashMap.newKeySet();
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Stage and validate an uploaded file of {@code accountNumber,amount[,reference]} lines, then
+     * start paying it in the background.
+     */
+    public DisbursementResponseDto upload(UUID fromAccountId, String description, InputStream input) throws IOException {
+        long start = System.nanoTime();
+        Disbursement disbursement = new Disbursement();
+        disbursement.setFromAccountId(fromAccountId);
+        disbursement.setDescription(truncate(description, 100));
+        disbursement.setStatus(DisbursementStatus.Validating);
+        disbursement = disbursementRepository.save(disbursement);
+
+        UUID disbursementId = disbursement.getDisbursementId();
+        List<Future<?>> validations = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(validationParallelism);
+        try (ExecutorService validators = Executors.newVirtualThreadPerTaskExecutor();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<RawLine> chunk = new ArrayList<>(chunkSize);
+            String line;
+            long lineNumber = 0;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (firstLine && line.trim().toLowerCase().startsWith("accountnumber")) {
+                    firstLine = false;
+                    continue;
+                }
+                firstLine = false;
+                chunk.add(new RawLine(++lineNumber, line));
+                if (chunk.size() >= chunkSize) {
+                    validations.add(submitValidation(validators, inFlight, fromAccountId, disbursementId, chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                validations.add(submitValidation(validators, inFlight, fromAccountId, disbursementId, chunk));
+            }
+            for (Future<?> validation : validations) {
+                validation.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fail(disbursement, "Upload interrupted");
+        } catch (ExecutionException e) {
+            logger.error("Validation of disbursement {} failed: {}", disbursementId, e.getCause().getMessage());
+            return fail(disbursement, "Validation failed: " + e.getCause().getMessage());
+        }
+
+        applySummary(disbursement);
+        disbursement.setStatus(disbursement.getTotalLines() > disbursement.getInvalidLines()
+            ? DisbursementStatus.Validated
+            : DisbursementStatus.Completed);
+        if (disbursement.getStatus() == DisbursementStatus.Completed) {
+            disbursement.setMessage("No valid lines to pay.");
+        }
+        disbursement.setUpdatedAt(LocalDateTime.now());
+        disbursement = disbursementRepository.save(disbursement);
+        logger.info("Disbursement {} staged: {} lines, {} invalid, {} to pay, validated in {} ms",
+            disbursementId, disbursement.getTotalLines(), disbursement.getInvalidLines(),
+            disbursement.getTotalAmount(), (System.nanoTime() - start) / 1_000_000);
+
+        resume(disbursementId);
+        return toResponse(disbursement);
+    }
+
+    public DisbursementResponseDto getDisbursement(UUID disbursementId) {
+        return toResponse(findDisbursement(disbursementId));
+    }
+
+    /** Lines after {@code afterLine} in line order, optionally only those in one status. */
+    public List<DisbursementLineDto> getLines(UUID disbursementId, DisbursementLineStatus status, long afterLine, int limit) {
+        findDisbursement(disbursementId);
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), maxPageSize));
+        List<DisbursementLine> lines = status != null
+            ? lineRepository.findPageByStatus(disbursementId, status, afterLine, page)
+            : lineRepository.findPage(disbursementId, afterLine, page);
+        return lines.stream().map(this::toLineDto).toList();
+    }
+
+    /** Start executing a validated or part-paid disbursement unless this instance already is. */
+    public void resume(UUID disbursementId) {
+        if (executing.add(disbursementId)) {
+            executor.submit(() -> {
+                try {
+                    execute(disbursementId);
+                } finally {
+                    executing.remove(disbursementId);
+                }
+            });
+        }
+    }
+
+    public void resumeIncomplete() {
+        disbursementRepository.findByStatusIn(List.of(DisbursementStatus.Validated, DisbursementStatus.Executing))
+            .forEach(disbursement -> resume(disbursement.getDisbursementId()));
+    }
+
+    // The upload stream of a file still Validating at startup is gone; it has to be sent again
+    public void failInterruptedUploads() {
+        disbursementRepository.findByStatusIn(List.of(DisbursementStatus.Validating))
+            .forEach(disbursement -> fail(disbursement, "Upload was interrupted; send the file again"));
+    }
+
+    private Future<?> submitValidation(ExecutorService validators, Semaphore inFlight, UUID fromAccountId,
+                                       UUID disbursementId, List<RawLine> chunk) throws InterruptedException {
+        // Bounds the chunks held in memory while account lookups are outstanding
+        inFlight.acquire();
+        return validators.submit(() -> {
+            try {
+                validate(fromAccountId, disbursementId, chunk);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void validate(UUID fromAccountId, UUID disbursementId, List<RawLine> chunk) {
+        List<ParsedLine> parsed = chunk.stream().map(this::parse).toList();
+        Set<String> accountNumbers = new HashSet<>();
+        parsed.stream().filter(line -> line.error() == null).forEach(line -> accountNumbers.add(line.accountNumber()));
+        Map<String, Map<String, Object>> accounts = lookupAccounts(accountNumbers);
+
+        List<Object[]> rows = new ArrayList<>(parsed.size());
+        for (ParsedLine line : parsed) {
+            String error = line.error();
+            UUID toAccountId = null;
+            if (error == null) {
+                Map<String, Object> account = accounts.get(line.accountNumber());
+                if (account == null) {
+                    error = "To account not found";
+                } else if (!"ACTIVE".equals(String.valueOf(account.get("status")))) {
+                    error = "To account is inactive";
+                } else {
+                    toAccountId = UUID.fromString(account.get("accountId").toString());
+                    if (toAccountId.equals(fromAccountId)) {
+                        error = "Cannot pay the source account";
+                        toAccountId = null;
+                    }
+                }
+            }
+            rows.add(new Object[] {
+                UuidUtils.toBytes(UuidUtils.timeOrdered()),
+                UuidUtils.toBytes(disbursementId),
+                line.lineNumber(),
+                line.accountNumber(),
+                toAccountId != null ? UuidUtils.toBytes(toAccountId) : null,
+                line.amount(),
+                line.reference(),
+                (error == null ? DisbursementLineStatus.Pending : DisbursementLineStatus.Invalid).name(),
+                error
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE_SQL, rows);
+    }
+
+    private ParsedLine parse(RawLine raw) {
+        String[] columns = raw.text().split(",", -1);
+        String accountNumber = columns[0].trim();
+        String reference = columns.length > 2 ? truncate(columns[2].trim(), 100) : null;
+        if (columns.length < 2 || columns.length > 3) {
+            return new ParsedLine(raw.lineNumber(), truncate(accountNumber, 34), null, reference,
+                "Expected accountNumber,amount[,reference]");
+        }
+        if (accountNumber.isEmpty() || accountNumber.length() > 34) {
+            return new ParsedLine(raw.lineNumber(), truncate(accountNumber, 34), null, reference, "Invalid account number");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(columns[1].trim());
+        } catch (NumberFormatException e) {
+            return new ParsedLine(raw.lineNumber(), accountNumber, null, reference, "Invalid amount");
+        }
+        if (amount.signum() <= 0 || amount.stripTrailingZeros().scale() > 2) {
+            return new ParsedLine(raw.lineNumber(), accountNumber, null, reference,
+                "Amount must be greater than 0 with at most 2 decimal places");
+        }
+        return new ParsedLine(raw.lineNumber(), accountNumber, amount, reference, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> lookupAccounts(Set<String> accountNumbers) {
+        Map<String, Map<String, Object>> accounts = new HashMap<>();
+        if (accountNumbers.isEmpty()) {
+            return accounts;
+        }
+        Map<String, Object> response = restTemplate.postForObject(
+            ACCOUNT_SERVICE_URL + "/accounts/by-number/batch-get",
+            Map.of("accountNumbers", accountNumbers),
+            Map.class
+        );
+        Object found = response != null ? response.get("found") : null;
+        if (found instanceof List<?> list) {
+            for (Object item : list) {
+                Map<String, Object> account = (Map<String, Object>) item;
+                accounts.put(String.valueOf(account.get("accountNumber")), account);
+            }
+        }
+        return accounts;
+    }
+
+    private void execute(UUID disbursementId) {
+        Disbursement disbursement = disbursementRepository.findById(disbursementId).orElse(null);
+        if (disbursement == null) {
+            return;
+        }
+        try {
+            if (disbursement.getStatus() == DisbursementStatus.Validated && !reserve(disbursement)) {
+                return;
+            }
+            if (disbursement.getStatus() != DisbursementStatus.Executing) {
+                return;
+            }
+            while (true) {
+                List<DisbursementLine> chunk = lineRepository.findPageByStatus(disbursementId, DisbursementLineStatus.Pending,
+                    disbursement.getLastLineNumber(), PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                pay(disbursement, chunk);
+            }
+            finish(disbursement);
+        } catch (Exception e) {
+            // Left in its current status; the resume scheduler picks it up again from the checkpoint
+            logger.warn("Disbursement {} paused at line {}: {}", disbursementId, disbursement.getLastLineNumber(), e.getMessage());
+        }
+    }
+
+    // Reserves the whole file once, so no line can fail for funds spent elsewhere mid-file
+    @SuppressWarnings("unchecked")
+    private boolean reserve(Disbursement disbursement) {
+        Map<String, Object> hold;
+        try {
+            // Keyed by the disbursement, so a retry gets back a hold an earlier lost response had placed
+            hold = restTemplate.postForObject(
+                ACCOUNT_SERVICE_URL + "/accounts/" + disbursement.getFromAccountId() + "/holds",
+                Map.of("amount", disbursement.getTotalAmount(), "ttlSeconds", holdTtlSeconds,
+                    "requestKey", disbursement.getDisbursementId()),
+                Map.class
+            );
+        } catch (HttpClientErrorException e) {
+            // Nothing was reserved (e.g. insufficient funds), so no line is paid
+            failReservation(disbursement, truncate("Reservation failed: " + e.getMessage(), 255));
+            return false;
+        }
+        // A timeout above leaves the disbursement Validated and the resume places the same hold again
+        if (!"ACTIVE".equals(String.valueOf(hold.get("status")))) {
+            // Only an earlier placement that has since expired or been released comes back inactive
+            failReservation(disbursement, "Reservation is no longer active (" + hold.get("status") + ")");
+            return false;
+        }
+        disbursement.setHoldId(UUID.fromString(hold.get("holdId").toString()));
+        disbursement.setStatus(DisbursementStatus.Executing);
+        disbursement.setUpdatedAt(LocalDateTime.now());
+        disbursementRepository.save(disbursement);
+        return true;
+    }
+
+    private void failReservation(Disbursement disbursement, String message) {
+        lineRepository.updateStatus(disbursement.getDisbursementId(), DisbursementLineStatus.Pending,
+            DisbursementLineStatus.Failed, message);
+        applySummary(disbursement);
+        fail(disbursement, message);
+    }
+
+    private void pay(Disbursement disbursement, List<DisbursementLine> chunk) {
+        // Transactions are written as Processing before the credits are sent, so a chunk cut off by
+        // a crash is visible to TransactionRecoveryService as well as to the resumed disbursement
+        Map<UUID, Transaction> transactions = new HashMap<>();
+        transactionRepository.findAllById(chunk.stream().map(DisbursementLine::getLineId).toList())
+            .forEach(transaction -> transactions.put(transaction.getTransactionId(), transaction));
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> transactionRows = new ArrayList<>();
+        List<Object[]> entryRows = new ArrayList<>();
+        for (DisbursementLine line : chunk) {
+            if (transactions.containsKey(line.getLineId())) {
+                continue;
+            }
+            Transaction transaction = new Transaction();
+            transaction.setTransactionId(line.getLineId());
+            transaction.setFromAccountId(disbursement.getFromAccountId());
+            transaction.setToAccountId(line.getToAccountId());
+            transaction.setAmount(line.getAmount());
+            transaction.setDescription(line.getReference() != null ? line.getReference()
+                : disbursement.getDescription() != null ? disbursement.getDescription() : "");
+            transaction.setCategory(categorizer.categorize(transaction.getDescription(), transaction.getAmount()));
+            transaction.setStatus(TransactionStatus.Processing);
+            transaction.setTimestamp(now);
+            transactions.put(transaction.getTransactionId(), transaction);
+
+            byte[] transactionId = UuidUtils.toBytes(transaction.getTransactionId());
+            transactionRows.add(new Object[] {
+                transactionId,
+                UuidUtils.toBytes(transaction.getFromAccountId()),
+                UuidUtils.toBytes(transaction.getToAccountId()),
+                transaction.getAmount(),
+                transaction.getDescription(),
+                transaction.getCategory(),
+                transaction.getStatus().name(),
+                timestamp,
+                timestamp
+            });
+            entryRows.add(new Object[] { UuidUtils.toBytes(transaction.getFromAccountId()), timestamp, transactionId, transaction.getAmount().negate() });
+            entryRows.add(new Object[] { UuidUtils.toBytes(transaction.getToAccountId()), timestamp, transactionId, transaction.getAmount() });
+        }
+        if (!transactionRows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, transactionRows);
+                jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entryRows);
+            });
+        }
+
+        List<Map<String, Object>> credits = new ArrayList<>(chunk.size());
+        for (DisbursementLine line : chunk) {
+            credits.add(Map.of("transactionId", line.getLineId(), "toAccountId", line.getToAccountId(), "amount", line.getAmount()));
+        }
+        TransferResultDto[] results = restTemplate.postForObject(
+            ACCOUNT_SERVICE_URL + "/accounts/holds/" + disbursement.getHoldId() + "/disbursements",
+            Map.of("credits", credits),
+            TransferResultDto[].class
+        );
+        Map<UUID, TransferResultDto> outcomes = new HashMap<>();
+        if (results != null) {
+            for (TransferResultDto result : results) {
+                outcomes.put(result.getTransactionId(), result);
+            }
+        }
+        if (outcomes.size() < chunk.size()) {
+            throw new IllegalStateException("Account service reported " + outcomes.size() + " of " + chunk.size() + " credits");
+        }
+
+        List<Object[]> transactionUpdates = new ArrayList<>(chunk.size());
+        List<Object[]> lineUpdates = new ArrayList<>(chunk.size());
+        List<Object[]> balanceUpdates = new ArrayList<>(chunk.size() * 2);
+        for (DisbursementLine line : chunk) {
+            TransferResultDto outcome = outcomes.get(line.getLineId());
+            TransactionStatus status = outcome.isSuccess() ? TransactionStatus.Success : TransactionStatus.Failed;
+            transactionUpdates.add(new Object[] { status.name(), UuidUtils.toBytes(line.getLineId()) });
+            if (outcome.isSuccess()) {
+                addBalance(balanceUpdates, line.getLineId(), disbursement.getFromAccountId(), outcome.getFromBalance());
+                addBalance(balanceUpdates, line.getLineId(), line.getToAccountId(), outcome.getToBalance());
+            }
+            lineUpdates.add(new Object[] {
+                (outcome.isSuccess() ? DisbursementLineStatus.Succeeded : DisbursementLineStatus.Failed).name(),
+                outcome.isSuccess() ? null : truncate(outcome.getMessage(), 255),
+                UuidUtils.toBytes(line.getLineId())
+            });
+        }
+
+        // Outcomes, activity totals and the checkpoint commit together
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] settled = jdbcTemplate.batchUpdate(SETTLE_TRANSACTION_SQL, transactionUpdates);
+            jdbcTemplate.batchUpdate(SETTLE_LINE_SQL, lineUpdates);
+            if (!balanceUpdates.isEmpty()) {
+                jdbcTemplate.batchUpdate(SET_BALANCE_SQL, balanceUpdates);
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                DisbursementLine line = chunk.get(i);
+                TransferResultDto outcome = outcomes.get(line.getLineId());
+                if (outcome.isSuccess()) {
+                    disbursement.setSucceededLines(disbursement.getSucceededLines() + 1);
+                    disbursement.setDisbursedAmount(disbursement.getDisbursedAmount().add(line.getAmount()));
+                    if (settled[i] > 0) {
+                        accountActivityService.recordSuccess(transactions.get(line.getLineId()));
+                    }
+                } else {
+                    disbursement.setFailedLines(disbursement.getFailedLines() + 1);
+                }
+            }
+            disbursement.setLastLineNumber(chunk.get(chunk.size() - 1).getLineNumber());
+            disbursement.setUpdatedAt(LocalDateTime.now());
+            disbursementRepository.save(disbursement);
+        });
+    }
+
+    private static void addBalance(List<Object[]> updates, UUID transactionId, UUID accountId, BigDecimal balance) {
+        if (balance != null) {
+            updates.add(new Object[] { balance, UuidUtils.toBytes(transactionId), UuidUtils.toBytes(accountId) });
+        }
+    }
+
+    // Returns whatever is left of the reservation (the amounts of failed lines) to the source account
+    private void finish(Disbursement disbursement) {
+        try {
+            restTemplate.postForObject(ACCOUNT_SERVICE_URL + "/accounts/holds/" + disbursement.getHoldId() + "/release",
+                null, Map.class);
+        } catch (HttpClientErrorException e) {
+            // Already released or expired; the remainder is back on the account either way
+            logger.warn("Hold {} of disbursement {} was not released: {}", disbursement.getHoldId(),
+                disbursement.getDisbursementId(), e.getMessage());
+        }
+        disbursement.setStatus(DisbursementStatus.Completed);
+        disbursement.setMessage("Paid " + disbursement.getSucceededLines() + " of "
+            + (disbursement.getTotalLines() - disbursement.getInvalidLines()) + " valid lines.");
+        disbursement.setUpdatedAt(LocalDateTime.now());
+        disbursementRepository.save(disbursement);
+        logger.info("Disbursement {} completed: {} paid, {} failed, {} invalid, {} disbursed",
+            disbursement.getDisbursementId(), disbursement.getSucceededLines(), disbursement.getFailedLines(),
+            disbursement.getInvalidLines(), disbursement.getDisbursedAmount());
+    }
+
+    private DisbursementResponseDto fail(Disbursement disbursement, String message) {
+        disbursement.setStatus(DisbursementStatus.Failed);
+        disbursement.setMessage(truncate(message, 255));
+        disbursement.setUpdatedAt(LocalDateTime.now());
+        return toResponse(disbursementRepository.save(disbursement));
+    }
+
+    // Line counts and the amount still to pay, from one grouped query over the staged lines
+    private void applySummary(Disbursement disbursement) {
+        long total = 0;
+        for (Object[] row : lineRepository.summarize(disbursement.getDisbursementId())) {
+            DisbursementLineStatus status = (DisbursementLineStatus) row[0];
+            long count = ((Number) row[1]).longValue();
+            total += count;
+            switch (status) {
+                case Invalid -> disbursement.setInvalidLines(count);
+                case Succeeded -> disbursement.setSucceededLines(count);
+                case Failed -> disbursement.setFailedLines(count);
+                case Pending -> disbursement.setTotalAmount(row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO);
+            }
+        }
+        disbursement.setTotalLines(total);
+    }
+
+    private Disbursement findDisbursement(UUID disbursementId) {
+        return disbursementRepository.findById(disbursementId)
+            .orElseThrow(() -> new DisbursementNotFoundException("Disbursement with ID " + disbursementId + " not found."));
+    }
+
+    private DisbursementResponseDto toResponse(Disbursement disbursement) {
+        DisbursementResponseDto response = new DisbursementResponseDto();
+        response.setDisbursementId(disbursement.getDisbursementId());
+        response.setFromAccountId(disbursement.getFromAccountId());
+        response.setDescription(disbursement.getDescription());
+        response.setStatus(disbursement.getStatus());
+        response.setTotalLines(disbursement.getTotalLines());
+        response.setInvalidLines(disbursement.getInvalidLines());
+        response.setSucceededLines(disbursement.getSucceededLines());
+        response.setFailedLines(disbursement.getFailedLines());
+        response.setPendingLines(Math.max(disbursement.getTotalLines() - disbursement.getInvalidLines()
+            - disbursement.getSucceededLines() - disbursement.getFailedLines(), 0));
+        response.setTotalAmount(disbursement.getTotalAmount());
+        response.setDisbursedAmount(disbursement.getDisbursedAmount());
+        response.setMessage(disbursement.getMessage());
+        response.setStatusUrl("/transactions/disbursements/" + disbursement.getDisbursementId());
+        response.setLinesUrl("/transactions/disbursements/" + disbursement.getDisbursementId() + "/lines");
+        response.setCreatedAt(disbursement.getCreatedAt());
+        response.setUpdatedAt(disbursement.getUpdatedAt());
+        return response;
+    }
+
+    private DisbursementLineDto toLineDto(DisbursementLine line) {
+        DisbursementLineDto dto = new DisbursementLineDto();
+        dto.setLineNumber(line.getLineNumber());
+        dto.setToAccountNumber(line.getToAccountNumber());
+        dto.setAmount(line.getAmount());
+        dto.setReference(line.getReference());
+        dto.setStatus(line.getStatus());
+        dto.setMessage(line.getMessage());
+        if (line.getStatus() == DisbursementLineStatus.Succeeded || line.getStatus() == DisbursementLineStatus.Failed) {
+            dto.setTransactionId(line.getLineId());
+        }
+        return dto;
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text != null && text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+
+    private record RawLine(long lineNumber, String text) {}
+
+    private record ParsedLine(long lineNumber, String accountNumber, BigDecimal amount, String reference, String error) {}
+}
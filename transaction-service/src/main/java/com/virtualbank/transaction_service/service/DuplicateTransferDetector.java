@@ -0,0 +1,231 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.DuplicateDetectorStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Spots repeated transfers (same from, to, amount and description) within a short window without
+ * touching the database. Fingerprints go into a ring of Bloom filters, one per time slice; the
+ * filter of the oldest slice is cleared as the ring turns, so memory stays fixed however many
+ * transfers arrive. Each slice is sized for the configured peak rate and false-positive rate.
+ * Lookups and inserts cost k bit probes per slice. A fingerprint is only inserted once its transfer
+ * has been accepted, since a Bloom filter cannot forget one whose write then failed; until then it
+ * is held in a small in-flight set, so two copies of the same request arriving together cannot
+ * both pass.
+ */
+@Component
+public class DuplicateTransferDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateTransferDetector.class);
+
+    private static final int STRIPES = 64;
+
+    public enum Action { OFF, FLAG, REJECT }
+
+    /** Outcome of {@link #check}; pass it to {@link #complete} once the transfer is accepted or dropped. */
+    public record Check(long fingerprint, boolean duplicate) {}
+
+    private static final Check UNCHECKED = new Check(0, false);
+
+    private final Action action;
+    private final long sliceMillis;
+    private final int bitsPerSlice;
+    private final int hashCount;
+    private final double falsePositiveRate;
+    // One slice more than the window needs, so a full window is always covered
+    private final AtomicLongArray[] slices;
+    private final Object[] stripes = new Object[STRIPES];
+    // Fingerprints checked but not yet completed, with how many of each; guarded by their stripe
+    private final Map<Long, Integer> inFlight = new ConcurrentHashMap<>();
+    private volatile long currentEpoch;
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public DuplicateTransferDetector(@Value("${transaction.duplicates.action:flag}") String action,
+                                     @Value("${transaction.duplicates.window-seconds:30}") long windowSeconds,
+                                     @Value("${transaction.duplicates.slices:6}") int sliceCount,
+                                     @Value("${transaction.duplicates.peak-rate-per-second:2000}") long peakRatePerSecond,
+                                     @Value("${transaction.duplicates.false-positive-rate:0.0001}") double falsePositiveRate) {
+        if (sliceCount < 1 || windowSeconds < 1 || peakRatePerSecond < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid transaction.duplicates settings");
+        }
+        this.action = Action.valueOf(action.trim().toUpperCase());
+        this.sliceMillis = Math.max(windowSeconds * 1000 / sliceCount, 1);
+        this.falsePositiveRate = falsePositiveRate;
+
+        // A lookup probes every slice, so each gets an equal share of the target rate
+        double sliceRate = falsePositiveRate / (sliceCount + 1);
+        double expectedPerSlice = Math.max(peakRatePerSecond * sliceMillis / 1000.0, 1);
+        long bits = (long) Math.ceil(-expectedPerSlice * Math.log(sliceRate) / (Math.log(2) * Math.log(2)));
+        this.bitsPerSlice = (int) Math.min(Math.max(roundUpTo64(bits), 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round(bitsPerSlice / expectedPerSlice * Math.log(2)));
+
+        this.slices = new AtomicLongArray[sliceCount + 1];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new AtomicLongArray(bitsPerSlice / 64);
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.currentEpoch = System.currentTimeMillis() / sliceMillis;
+        if (this.action != Action.OFF) {
+            logger.info("Duplicate transfer detection ({}): {} slices of {} ms, {} bits and {} hashes each, {} KB",
+                this.action, slices.length, sliceMillis, bitsPerSlice, hashCount, getMemoryBytes() / 1024);
+        }
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * Report whether the same transfer was accepted within the window or is being initiated right
+     * now. May report a transfer that was never seen, at about the configured false-positive rate;
+     * never misses one that was. Every check must be followed by {@link #complete}.
+     */
+    public Check check(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description) {
+        if (action == Action.OFF) {
+            return UNCHECKED;
+        }
+        long fingerprint = fingerprint(fromAccountId, toAccountId, amount, description);
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        rotate();
+
+        checked.increment();
+        synchronized (stripe(fingerprint)) {
+            boolean seen = inFlight.containsKey(fingerprint);
+            for (int i = 0; i < slices.length && !seen; i++) {
+                seen = contains(slices[i], h1, h2);
+            }
+            inFlight.merge(fingerprint, 1, Integer::sum);
+            if (seen) {
+                duplicates.increment();
+            }
+            return new Check(fingerprint, seen);
+        }
+    }
+
+    /**
+     * Finish a check. An accepted transfer is remembered for the window; a dropped one is
+     * forgotten, so retrying it is not mistaken for a duplicate.
+     */
+    public void complete(Check check, boolean accepted) {
+        if (check == UNCHECKED) {
+            return;
+        }
+        long fingerprint = check.fingerprint();
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        long epoch = rotate();
+        AtomicLongArray current = slices[(int) (epoch % slices.length)];
+        synchronized (stripe(fingerprint)) {
+            if (accepted) {
+                for (int i = 0; i < hashCount; i++) {
+                    int bit = Math.floorMod(h1 + i * h2, bitsPerSlice);
+                    long mask = 1L << (bit & 63);
+                    current.getAndUpdate(bit >>> 6, word -> word | mask);
+                }
+            }
+            inFlight.computeIfPresent(fingerprint, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    public DuplicateDetectorStatsDto getStats() {
+        DuplicateDetectorStatsDto stats = new DuplicateDetectorStatsDto();
+        stats.setAction(action.name());
+        stats.setWindowMillis(sliceMillis * (slices.length - 1));
+        stats.setSlices(slices.length);
+        stats.setBitsPerSlice(bitsPerSlice);
+        stats.setHashCount(hashCount);
+        stats.setMemoryBytes(getMemoryBytes());
+        stats.setTargetFalsePositiveRate(falsePositiveRate);
+        stats.setChecked(checked.sum());
+        stats.setDuplicates(duplicates.sum());
+        return stats;
+    }
+
+    private Object stripe(long fingerprint) {
+        return stripes[(int) ((fingerprint ^ (fingerprint >>> 29)) & (STRIPES - 1))];
+    }
+
+    private long getMemoryBytes() {
+        return (long) slices.length * bitsPerSlice / 8;
+    }
+
+    // Clears the slices that fell out of the window since the last call; returns the current epoch
+    private long rotate() {
+        long epoch = System.currentTimeMillis() / sliceMillis;
+        if (epoch > currentEpoch) {
+            synchronized (this) {
+                long last = currentEpoch;
+                if (epoch > last) {
+                    for (long e = Math.max(last + 1, epoch - slices.length + 1); e <= epoch; e++) {
+                        AtomicLongArray slice = slices[(int) (e % slices.length)];
+                        for (int i = 0; i < slice.length(); i++) {
+                            slice.set(i, 0);
+                        }
+                    }
+                    currentEpoch = epoch;
+                }
+            }
+        }
+        return Math.max(epoch, currentEpoch);
+    }
+
+    private boolean contains(AtomicLongArray slice, int h1, int h2) {
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitsPerSlice);
+            if ((slice.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the transfer's fields, finished with a murmur3 mix
+    private static long fingerprint(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, fromAccountId != null ? fromAccountId.getMostSignificantBits() : 0);
+        hash = mix(hash, fromAccountId != null ? fromAccountId.getLeastSignificantBits() : 0);
+        hash = mix(hash, toAccountId != null ? toAccountId.getMostSignificantBits() : 0);
+        hash = mix(hash, toAccountId != null ? toAccountId.getLeastSignificantBits() : 0);
+        // 10.5 and 10.50 are the same amount
+        BigDecimal normalized = amount.stripTrailingZeros();
+        hash = mix(hash, normalized.unscaledValue().longValue());
+        hash = mix(hash, normalized.scale());
+        if (description != null) {
+            for (byte b : description.getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ ((value >>> (i * 8)) & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long roundUpTo64(long bits) {
+        return (bits + 63) / 64 * 64;
+    }
+}
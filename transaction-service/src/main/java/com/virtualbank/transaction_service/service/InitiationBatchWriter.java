@@ -0,0 +1,193 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.GroupCommitStatsDto;
+import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional group-commit writer for transfer initiation. Concurrent initiations are queued, and a
+ * single writer thread collects them for up to {@code max-delay-ms} or {@code max-batch-size} items,
+ * inserts the transaction and entry rows with one JDBC batch each and commits once, then completes
+ * every waiting caller. If a batch fails, its rows are retried one by one so a single bad row only
+ * fails its own request.
+ */
+@Component
+public class InitiationBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InitiationBatchWriter.class);
+
+    private static final String INSERT_TRANSACTION_SQL =
+        "INSERT INTO transaction (transaction_id, from_account_id, to_account_id, amount, description, category, suspected_duplicate, status, timestamp, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO transaction_entry (account_id, timestamp, transaction_id, amount) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.initiation.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transaction.initiation.group-commit.max-delay-ms:5}")
+    private long maxDelayMillis;
+
+    @Value("${transaction.initiation.group-commit.max-batch-size:256}")
+    private int maxBatchSize;
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder fallbackRows = new LongAdder();
+    private Thread writerThread;
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            writerThread = Thread.ofPlatform().name("initiation-group-commit").daemon().start(this::run);
+            logger.info("Group commit enabled for initiations: max {} rows or {} ms per batch", maxBatchSize, maxDelayMillis);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writerThread != null) {
+            writerThread.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a new transaction (ID and timestamps already assigned) for the next group commit.
+     * @return a future completed once the batch holding the transaction has committed
+     */
+    public CompletableFuture<Transaction> submit(Transaction transaction) {
+        PendingWrite pending = new PendingWrite(transaction, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result();
+    }
+
+    /**
+     * Take a write back out of the queue if the writer has not picked it up yet.
+     * @return false if the write is already part of a batch and may still commit
+     */
+    public boolean withdraw(CompletableFuture<Transaction> result) {
+        return queue.removeIf(pending -> pending.result() == result);
+    }
+
+    public GroupCommitStatsDto getStats() {
+        GroupCommitStatsDto stats = new GroupCommitStatsDto();
+        stats.setEnabled(enabled);
+        stats.setMaxBatchSize(maxBatchSize);
+        stats.setMaxDelayMillis(maxDelayMillis);
+        stats.setQueueDepth(queue.size());
+        stats.setBatches(batches.sum());
+        stats.setRows(rows.sum());
+        stats.setFallbackRows(fallbackRows.sum());
+        stats.setAverageBatchSize(batches.sum() > 0 ? (double) rows.sum() / batches.sum() : 0);
+        return stats;
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            flush(batch);
+            batch.clear();
+        }
+        // Nothing will write these any more; let their callers fail fast
+        batch.addAll(queue);
+        batch.forEach(pending -> pending.result().completeExceptionally(new IllegalStateException("Writer stopped")));
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        try {
+            write(batch);
+            batches.increment();
+            rows.add(batch.size());
+            batch.forEach(pending -> pending.result().complete(pending.transaction()));
+        } catch (Exception batchFailure) {
+            logger.warn("Group commit of {} initiations failed, retrying individually: {}", batch.size(), batchFailure.getMessage());
+            for (PendingWrite pending : batch) {
+                try {
+                    write(List.of(pending));
+                    fallbackRows.increment();
+                    pending.result().complete(pending.transaction());
+                } catch (Exception e) {
+                    pending.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        List<Object[]> transactions = new ArrayList<>(batch.size());
+        List<Object[]> entries = new ArrayList<>(batch.size() * 2);
+        for (PendingWrite pending : batch) {
+            Transaction tx = pending.transaction();
+            byte[] transactionId = UuidUtils.toBytes(tx.getTransactionId());
+            Timestamp timestamp = Timestamp.valueOf(tx.getTimestamp());
+            transactions.add(new Object[] {
+                transactionId,
+                tx.getFromAccountId() != null ? UuidUtils.toBytes(tx.getFromAccountId()) : null,
+                tx.getToAccountId() != null ? UuidUtils.toBytes(tx.getToAccountId()) : null,
+                tx.getAmount(),
+                tx.getDescription(),
+                tx.getCategory(),
+                tx.getSuspectedDuplicate(),
+                tx.getStatus().name(),
+                timestamp,
+                Timestamp.valueOf(tx.getCreatedAt())
+            });
+            if (tx.getFromAccountId() != null) {
+                entries.add(new Object[] { UuidUtils.toBytes(tx.getFromAccountId()), timestamp, transactionId, tx.getAmount().negate() });
+            }
+            if (tx.getToAccountId() != null) {
+                entries.add(new Object[] { UuidUtils.toBytes(tx.getToAccountId()), timestamp, transactionId, tx.getAmount() });
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, transactions);
+            jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries);
+        });
+    }
+
+    private record PendingWrite(Transaction transaction, CompletableFuture<Transaction> result) {}
+}
@@ -0,0 +1,379 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.InitiationJournalStatsDto;
+import com.virtualbank.transaction_service.exception.InitiationNotConfirmedException;
+import com.virtualbank.transaction_service.journal.JournalFile;
+import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Optional store-and-forward journal for transfer initiation. When the database cannot be reached,
+ * initiations are appended to a local memory-mapped journal instead and acknowledged once the
+ * journal is on disk; a single flusher thread fsyncs for all appends made since its last flush.
+ * {@link #replay} later inserts journaled transactions in append order, skipping any the database
+ * already has, and checkpoints the journal after each committed batch, so a crash at any point
+ * replays at most one batch again without duplicating it.
+ */
+@Component
+public class InitiationJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(InitiationJournal.class);
+
+    private static final int RECORD_VERSION = 1;
+
+    private static final String EXISTING_SQL = "SELECT transaction_id FROM transaction WHERE transaction_id IN (%s)";
+
+    private static final String INSERT_TRANSACTION_SQL =
+        "INSERT INTO transaction (transaction_id, from_account_id, to_account_id, amount, description, category, suspected_duplicate, status, timestamp, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO transaction_entry (account_id, timestamp, transaction_id, amount) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.initiation.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transaction.initiation.journal.path:data/initiation.journal}")
+    private String path;
+
+    @Value("${transaction.initiation.journal.size-mb:64}")
+    private int sizeMb;
+
+    @Value("${transaction.initiation.journal.fsync-max-delay-ms:1}")
+    private long fsyncMaxDelayMillis;
+
+    @Value("${transaction.initiation.journal.fsync-max-batch:512}")
+    private int fsyncMaxBatch;
+
+    @Value("${transaction.initiation.journal.fsync-timeout-ms:5000}")
+    private long fsyncTimeoutMillis;
+
+    @Value("${transaction.initiation.journal.replay-batch-size:500}")
+    private int replayBatchSize;
+
+    private JournalFile file;
+    private Thread flusherThread;
+    // Guarded by this: records appended and records known to be on disk, counted since startup
+    private long appendedCount;
+    private long durableCount;
+    private final LongAdder fsyncs = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        // One MappedByteBuffer spans the whole file, and a mapping is at most Integer.MAX_VALUE bytes
+        long capacity = sizeMb * 1024L * 1024L;
+        if (sizeMb < 1 || capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("transaction.initiation.journal.size-mb must be between 1 and "
+                + (Integer.MAX_VALUE >> 20));
+        }
+        file = JournalFile.open(Paths.get(path), (int) capacity);
+        flusherThread = Thread.ofPlatform().name("initiation-journal-flusher").daemon().start(this::flushLoop);
+        logger.info("Initiation journal open at {} ({} MB, {} bytes waiting for replay)",
+            path, sizeMb, file.position() - file.replayedUpTo());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+        }
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** True while journaled initiations wait for replay; new ones queue behind them to keep order. */
+    public boolean hasBacklog() {
+        return enabled && file.hasBacklog();
+    }
+
+    /** True if the failure means the database could not be reached, as opposed to a rejected write. */
+    public static boolean isDatabaseUnavailable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Append a transaction (ID and timestamps already assigned) and wait until it is on disk.
+     * @param execute whether to queue the transfer for execution once it is replayed
+     * @throws com.virtualbank.transaction_service.journal.JournalFullException if the journal has no
+     *         room left; nothing was written
+     * @throws InitiationNotConfirmedException if the record was written but not confirmed on disk in
+     *         time; it may still be replayed
+     */
+    public void append(Transaction transaction, boolean execute) {
+        byte[] payload = encode(transaction, execute);
+        long sequence;
+        synchronized (this) {
+            file.append(payload);
+            sequence = ++appendedCount;
+            notifyAll();
+        }
+        awaitDurable(sequence, transaction.getTransactionId());
+    }
+
+    /**
+     * Insert journaled transactions into the database, oldest first, until the journal is drained
+     * or the database fails again.
+     * @param toExecute called after each committed batch with the IDs of its transactions that
+     *                  were submitted for immediate execution
+     */
+    public void replay(Consumer<List<UUID>> toExecute) {
+        if (!enabled) {
+            return;
+        }
+        while (true) {
+            List<JournalFile.Entry> entries = file.read(file.replayedUpTo(), replayBatchSize);
+            if (entries.isEmpty()) {
+                file.reset();
+                return;
+            }
+            List<Transaction> transactions = new ArrayList<>(entries.size());
+            List<UUID> execute = new ArrayList<>();
+            for (JournalFile.Entry entry : entries) {
+                transactions.add(decode(entry.payload(), execute));
+            }
+            insertMissing(transactions);
+            file.markReplayed(entries.get(entries.size() - 1).endOffset());
+            replayed.add(entries.size());
+            logger.info("Replayed {} journaled initiations", entries.size());
+            toExecute.accept(execute);
+        }
+    }
+
+    public InitiationJournalStatsDto getStats() {
+        InitiationJournalStatsDto stats = new InitiationJournalStatsDto();
+        stats.setEnabled(enabled);
+        if (file != null) {
+            stats.setCapacityBytes(file.capacity());
+            stats.setUsedBytes(file.position());
+            stats.setBacklogBytes(file.position() - file.replayedUpTo());
+        }
+        long appended;
+        synchronized (this) {
+            appended = appendedCount;
+        }
+        stats.setAppended(appended);
+        stats.setFsyncs(fsyncs.sum());
+        stats.setReplayed(replayed.sum());
+        stats.setAverageAppendsPerFsync(fsyncs.sum() > 0 ? (double) appended / fsyncs.sum() : 0);
+        return stats;
+    }
+
+    // A batch interrupted after its commit but before the checkpoint is replayed again; rows the
+    // database already has are skipped, and their entries with them
+    private void insertMissing(List<Transaction> transactions) {
+        List<byte[]> ids = transactions.stream().map(tx -> UuidUtils.toBytes(tx.getTransactionId())).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<UUID> existing = new HashSet<>();
+            jdbcTemplate.query(String.format(EXISTING_SQL, String.join(",", Collections.nCopies(ids.size(), "?"))),
+                rs -> {
+                    existing.add(UuidUtils.fromBytes(rs.getBytes("transaction_id")));
+                },
+                ids.toArray());
+
+            List<Object[]> rows = new ArrayList<>(transactions.size());
+            List<Object[]> entries = new ArrayList<>(transactions.size() * 2);
+            for (Transaction tx : transactions) {
+                if (!existing.add(tx.getTransactionId())) {
+                    continue;
+                }
+                byte[] transactionId = UuidUtils.toBytes(tx.getTransactionId());
+                Timestamp timestamp = Timestamp.valueOf(tx.getTimestamp());
+                rows.add(new Object[] {
+                    transactionId,
+                    tx.getFromAccountId() != null ? UuidUtils.toBytes(tx.getFromAccountId()) : null,
+                    tx.getToAccountId() != null ? UuidUtils.toBytes(tx.getToAccountId()) : null,
+                    tx.getAmount(),
+                    tx.getDescription(),
+                    tx.getCategory(),
+                    tx.getSuspectedDuplicate(),
+                    tx.getStatus().name(),
+                    timestamp,
+                    Timestamp.valueOf(tx.getCreatedAt())
+                });
+                if (tx.getFromAccountId() != null) {
+                    entries.add(new Object[] { UuidUtils.toBytes(tx.getFromAccountId()), timestamp, transactionId, tx.getAmount().negate() });
+                }
+                if (tx.getToAccountId() != null) {
+                    entries.add(new Object[] { UuidUtils.toBytes(tx.getToAccountId()), timestamp, transactionId, tx.getAmount() });
+                }
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, rows);
+                jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries);
+            }
+        });
+    }
+
+    // The record is already in the mapping and may still reach disk and be replayed, so a caller
+    // that gives up waiting is told to poll the transaction, never that it failed
+    private void awaitDurable(long sequence, UUID transactionId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fsyncTimeoutMillis);
+        synchronized (this) {
+            while (durableCount < sequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new InitiationNotConfirmedException(transactionId,
+                        "Transfer was queued locally but not confirmed in time; poll the transaction for its status.");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InitiationNotConfirmedException(transactionId,
+                        "Interrupted while queueing the transfer locally; poll the transaction for its status.");
+                }
+            }
+        }
+    }
+
+    // Waits for the first unflushed append, lingers up to fsync-max-delay-ms for more, then forces
+    // the mapping once for all of them
+    private void flushLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long target;
+            try {
+                synchronized (this) {
+                    while (appendedCount == durableCount) {
+                        wait();
+                    }
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fsyncMaxDelayMillis);
+                    long remaining;
+                    while (appendedCount - durableCount < fsyncMaxBatch && (remaining = deadline - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                    target = appendedCount;
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            try {
+                file.force();
+                fsyncs.increment();
+                synchronized (this) {
+                    durableCount = target;
+                    notifyAll();
+                }
+            } catch (RuntimeException e) {
+                logger.error("Initiation journal fsync failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static byte[] encode(Transaction tx, boolean execute) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+            data.writeByte(RECORD_VERSION);
+            writeUuid(data, tx.getTransactionId());
+            writeUuid(data, tx.getFromAccountId());
+            writeUuid(data, tx.getToAccountId());
+            data.writeUTF(tx.getAmount().toPlainString());
+            data.writeUTF(tx.getDescription() != null ? tx.getDescription() : "");
+            data.writeUTF(tx.getCategory() != null ? tx.getCategory() : "");
+            data.writeByte(tx.getSuspectedDuplicate() == null ? 0 : tx.getSuspectedDuplicate() ? 2 : 1);
+            data.writeLong(tx.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            data.writeInt(tx.getTimestamp().getNano());
+            data.writeBoolean(execute);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Transaction decode(byte[] payload, List<UUID> toExecute) {
+        try (DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int version = data.readByte();
+            if (version != RECORD_VERSION) {
+                throw new IllegalStateException("Unknown journal record version " + version);
+            }
+            Transaction tx = new Transaction();
+            tx.setTransactionId(readUuid(data));
+            tx.setFromAccountId(readUuid(data));
+            tx.setToAccountId(readUuid(data));
+            tx.setAmount(new BigDecimal(data.readUTF()));
+            tx.setDescription(data.readUTF());
+            String category = data.readUTF();
+            tx.setCategory(category.isEmpty() ? null : category);
+            int suspectedDuplicate = data.readByte();
+            tx.setSuspectedDuplicate(suspectedDuplicate == 0 ? null : suspectedDuplicate == 2);
+            tx.setTimestamp(LocalDateTime.ofEpochSecond(data.readLong(), data.readInt(), ZoneOffset.UTC));
+            tx.setCreatedAt(tx.getTimestamp());
+            tx.setStatus(TransactionStatus.Initiated);
+            if (data.readBoolean()) {
+                toExecute.add(tx.getTransactionId());
+            }
+            return tx;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream data, UUID uuid) throws IOException {
+        data.writeBoolean(uuid != null);
+        if (uuid != null) {
+            data.writeLong(uuid.getMostSignificantBits());
+            data.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream data) throws IOException {
+        return data.readBoolean() ? new UUID(data.readLong(), data.readLong()) : null;
+    }
+}
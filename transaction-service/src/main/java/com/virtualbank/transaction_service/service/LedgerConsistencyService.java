@@ -0,0 +1,296 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.LedgerCheckRunDto;
+import com.virtualbank.transaction_service.dto.LedgerPositionDto;
+import com.virtualbank.transaction_service.model.LedgerCheckRun;
+import com.virtualbank.transaction_service.model.LedgerDiscrepancy;
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import com.virtualbank.transaction_service.repository.LedgerCheckRunRepository;
+import com.virtualbank.transaction_service.repository.LedgerDiscrepancyRepository;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that every account's balance in account-service equals its opening balance plus the
+ * movements account-service makes itself (interest, captured holds) plus the net of its successful
+ * transactions here. Accounts are read from account-service in pages in account_id order; each page
+ * is a range whose net movement is summed with one grouped query, and ranges are checked in
+ * parallel on a dedicated fork-join pool. The checkpoint only moves past a range once every range
+ * before it has finished, so a resumed run never skips accounts.
+ */
+@Service
+public class LedgerConsistencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerConsistencyService.class);
+
+    private static final String ACCOUNT_SERVICE_URL = "http://localhost:8081";
+
+    private static final String NET_MOVEMENT_SQL =
+        "SELECT e.account_id, SUM(e.amount) FROM transaction_entry e " +
+        "JOIN transaction t ON t.transaction_id = e.transaction_id " +
+        "WHERE e.account_id BETWEEN ? AND ? AND t.status = ? GROUP BY e.account_id";
+
+    // Re-running a range after a restart overwrites rather than duplicates its discrepancies
+    private static final String UPSERT_DISCREPANCY_SQL =
+        "INSERT INTO ledger_discrepancy (run_id, account_id, balance, expected_balance, transfer_net, difference, detected_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE balance = VALUES(balance), " +
+        "expected_balance = VALUES(expected_balance), transfer_net = VALUES(transfer_net), " +
+        "difference = VALUES(difference), detected_at = VALUES(detected_at)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private LedgerCheckRunRepository runRepository;
+
+    @Autowired
+    private LedgerDiscrepancyRepository discrepancyRepository;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Value("${transaction.ledger-check.page-size:5000}")
+    private int pageSize;
+
+    @Value("${transaction.ledger-check.max-discrepancy-page-size:1000}")
+    private int maxDiscrepancyPageSize;
+
+    private final ForkJoinPool pool;
+    private final int maxRangesInFlight;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public LedgerConsistencyService(@Value("${transaction.ledger-check.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxRangesInFlight = pool.getParallelism() * 2;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /** Resume the latest unfinished run, or start a new one. */
+    public LedgerCheckRunDto check() {
+        if (!running.compareAndSet(false, true)) {
+            LedgerCheckRunDto result = new LedgerCheckRunDto();
+            result.setMessage("A ledger check is already in progress.");
+            return result;
+        }
+        try {
+            LedgerCheckRun run = runRepository.findFirstByCompletedFalseOrderByIdDesc().orElseGet(() -> {
+                LedgerCheckRun created = new LedgerCheckRun();
+                created.setStartedAt(LocalDateTime.now());
+                created.setUpdatedAt(created.getStartedAt());
+                return runRepository.save(created);
+            });
+            boolean resumed = run.getLastAccountId() != null;
+            long start = System.nanoTime();
+            long checkedBefore = run.getAccountsChecked();
+            try {
+                execute(run);
+            } catch (Exception e) {
+                // The checkpoint covers every range finished so far; the next call resumes from it
+                logger.error("Ledger check {} stopped after {} accounts: {}", run.getId(), run.getAccountsChecked(), e.getMessage());
+                LedgerCheckRunDto result = toDto(run);
+                result.setResumed(resumed);
+                result.setMessage("Ledger check stopped: " + e.getMessage());
+                return result;
+            }
+
+            long elapsedNanos = System.nanoTime() - start;
+            LedgerCheckRunDto result = toDto(run);
+            result.setResumed(resumed);
+            result.setDurationMillis(elapsedNanos / 1_000_000);
+            result.setAccountsPerSecond(elapsedNanos > 0 ? (run.getAccountsChecked() - checkedBefore) * 1_000_000_000.0 / elapsedNanos : 0);
+            result.setMessage(run.getDiscrepancies() == 0 ? "Ledger is consistent." : "Ledger discrepancies found.");
+            logger.info("Ledger check {} finished: {} accounts, {} discrepancies, {} unverifiable in {} ms ({} accounts/s)",
+                run.getId(), run.getAccountsChecked(), run.getDiscrepancies(), run.getUnverifiable(),
+                result.getDurationMillis(), Math.round(result.getAccountsPerSecond()));
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public LedgerCheckRunDto getRun(Long runId) {
+        return runRepository.findById(runId).map(this::toDto).orElse(null);
+    }
+
+    public List<LedgerDiscrepancy> getDiscrepancies(Long runId, Long afterId, int limit) {
+        return discrepancyRepository.findByRunIdAndIdGreaterThanOrderById(runId, afterId != null ? afterId : 0L,
+            PageRequest.of(0, Math.min(Math.max(limit, 1), maxDiscrepancyPageSize)));
+    }
+
+    private void execute(LedgerCheckRun run) {
+        Deque<Range> inFlight = new ArrayDeque<>();
+        UUID cursor = run.getLastAccountId();
+        while (true) {
+            List<LedgerPositionDto> page = fetchPositions(cursor, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            UUID after = cursor;
+            UUID last = page.get(page.size() - 1).getAccountId();
+            inFlight.add(new Range(last, pool.submit(() -> checkRange(run.getId(), after, page))));
+            cursor = last;
+
+            if (inFlight.size() >= maxRangesInFlight) {
+                advance(run, inFlight.poll());
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            advance(run, inFlight.poll());
+        }
+
+        run.setCompleted(true);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setUpdatedAt(run.getFinishedAt());
+        runRepository.save(run);
+    }
+
+    // Ranges are advanced in submission (account) order, whatever order they finish in
+    private void advance(LedgerCheckRun run, Range range) {
+        RangeResult result = range.task().join();
+        run.setLastAccountId(range.lastAccountId());
+        run.setAccountsChecked(run.getAccountsChecked() + result.accounts());
+        run.setDiscrepancies(run.getDiscrepancies() + result.discrepancies());
+        run.setUnverifiable(run.getUnverifiable() + result.unverifiable());
+        run.setUpdatedAt(LocalDateTime.now());
+        runRepository.save(run);
+    }
+
+    private RangeResult checkRange(Long runId, UUID afterAccountId, List<LedgerPositionDto> page) {
+        List<Mismatch> mismatches = new ArrayList<>();
+        int unverifiable = compare(page, netMovement(page), mismatches);
+        if (!mismatches.isEmpty()) {
+            // A transfer in flight between reading the balance and reading the entries shows up as a
+            // one-off difference; read the range again and keep only accounts that still disagree
+            Set<UUID> suspects = mismatches.stream().map(m -> m.position().getAccountId()).collect(Collectors.toSet());
+            List<LedgerPositionDto> again = fetchPositions(afterAccountId, page.size()).stream()
+                .filter(position -> suspects.contains(position.getAccountId()))
+                .toList();
+            mismatches.clear();
+            if (!again.isEmpty()) {
+                compare(again, netMovement(again), mismatches);
+            }
+            store(runId, mismatches);
+        }
+        return new RangeResult(page.size(), mismatches.size(), unverifiable);
+    }
+
+    private int compare(List<LedgerPositionDto> positions, Map<UUID, BigDecimal> netMovement, List<Mismatch> mismatches) {
+        int unverifiable = 0;
+        for (LedgerPositionDto position : positions) {
+            if (position.getOpeningBalance() == null) {
+                unverifiable++;
+                continue;
+            }
+            BigDecimal transferNet = netMovement.getOrDefault(position.getAccountId(), BigDecimal.ZERO);
+            BigDecimal expected = position.getOpeningBalance()
+                .add(position.getInterestCredited())
+                .add(position.getCapturedHoldsNet())
+                .add(transferNet);
+            if (position.getBalance().compareTo(expected) != 0) {
+                mismatches.add(new Mismatch(position, expected, transferNet));
+            }
+        }
+        return unverifiable;
+    }
+
+    // One grouped range scan over idx_entry_account_ts for the whole page, plus one pass over each
+    // archive segment for the same account range
+    private Map<UUID, BigDecimal> netMovement(List<LedgerPositionDto> positions) {
+        UUID first = positions.get(0).getAccountId();
+        UUID last = positions.get(positions.size() - 1).getAccountId();
+        Map<UUID, BigDecimal> net = new HashMap<>();
+        jdbcTemplate.query(NET_MOVEMENT_SQL,
+            rs -> { net.put(UuidUtils.fromBytes(rs.getBytes(1)), rs.getBigDecimal(2)); },
+            UuidUtils.toBytes(first), UuidUtils.toBytes(last), TransactionStatus.Success.name());
+        if (!archiveService.isEmpty()) {
+            archiveService.successNetByAccount(first, last).forEach((accountId, archived) -> net.merge(accountId, archived, BigDecimal::add));
+        }
+        return net;
+    }
+
+    private void store(Long runId, List<Mismatch> mismatches) {
+        if (mismatches.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(mismatches.size());
+        for (Mismatch mismatch : mismatches) {
+            LedgerPositionDto position = mismatch.position();
+            rows.add(new Object[] {
+                runId,
+                UuidUtils.toBytes(position.getAccountId()),
+                position.getBalance(),
+                mismatch.expected(),
+                mismatch.transferNet(),
+                position.getBalance().subtract(mismatch.expected()),
+                now
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DISCREPANCY_SQL, rows);
+    }
+
+    private List<LedgerPositionDto> fetchPositions(UUID afterAccountId, int limit) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(ACCOUNT_SERVICE_URL + "/accounts/ledger-positions")
+            .queryParam("limit", limit);
+        if (afterAccountId != null) {
+            uri.queryParam("after", afterAccountId);
+        }
+        LedgerPositionDto[] positions = restTemplate.getForObject(uri.toUriString(), LedgerPositionDto[].class);
+        return positions != null ? Arrays.asList(positions) : List.of();
+    }
+
+    private LedgerCheckRunDto toDto(LedgerCheckRun run) {
+        LedgerCheckRunDto dto = new LedgerCheckRunDto();
+        dto.setRunId(run.getId());
+        dto.setCompleted(run.isCompleted());
+        dto.setLastAccountId(run.getLastAccountId());
+        dto.setAccountsChecked(run.getAccountsChecked());
+        dto.setDiscrepancies(run.getDiscrepancies());
+        dto.setUnverifiable(run.getUnverifiable());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setFinishedAt(run.getFinishedAt());
+        return dto;
+    }
+
+    private record Range(UUID lastAccountId, ForkJoinTask<RangeResult> task) {}
+
+    private record RangeResult(int accounts, int discrepancies, int unverifiable) {}
+
+    private record Mismatch(LedgerPositionDto position, BigDecimal expected, BigDecimal transferNet) {}
+}
@@ -0,0 +1,77 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.model.OutboxEvent;
+import com.virtualbank.transaction_service.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes committed outbox events to Kafka in batches. A batch is marked published only after
+ * every send in it is acknowledged, so delivery is at-least-once and consumers must be idempotent.
+ * The batch is read and marked in two short transactions; no transaction or connection is held
+ * while waiting on Kafka.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.retention-hours:24}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void publishPending() {
+        List<OutboxEvent> events = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getAggregateId().toString(), event.getPayload()));
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // Nothing is marked; the whole batch is retried on the next run
+            logger.error("Failed to publish outbox batch of {} events: {}", events.size(), e.getMessage());
+            return;
+        }
+
+        outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+        logger.debug("Published {} outbox events", events.size());
+    }
+
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    @Transactional
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.info("Purged {} published outbox events", deleted);
+        }
+    }
+}
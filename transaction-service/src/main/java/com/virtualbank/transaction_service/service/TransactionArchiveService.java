@@ -0,0 +1,334 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.archive.EntryRow;
+import com.virtualbank.transaction_service.archive.SegmentFile;
+import com.virtualbank.transaction_service.dto.ArchiveRunResultDto;
+import com.virtualbank.transaction_service.model.ArchiveSegment;
+import com.virtualbank.transaction_service.repository.ArchiveSegmentRepository;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves finished transactions older than a configurable age out of the database into monthly
+ * segment files on local disk, and reads them back for history, summary and export so callers
+ * see one continuous history.
+ */
+@Service
+public class TransactionArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveService.class);
+
+    private static final String ELIGIBLE_SQL =
+        "SELECT t.transaction_id, t.timestamp FROM transaction t " +
+        "WHERE t.timestamp < ? AND t.status IN ('Success', 'Failed') " +
+        "AND EXISTS (SELECT 1 FROM transaction_entry e WHERE e.transaction_id = t.transaction_id) " +
+        "ORDER BY t.timestamp, t.transaction_id LIMIT ?";
+
+    private static final String ENTRY_ROWS_SQL =
+        "SELECT e.account_id, e.timestamp, e.transaction_id, e.amount, e.balance_after, t.description, t.status " +
+        "FROM transaction_entry e JOIN transaction t ON t.transaction_id = e.transaction_id " +
+        "WHERE e.transaction_id IN (%s)";
+
+    private static final String DELETE_ENTRIES_SQL = "DELETE FROM transaction_entry WHERE transaction_id IN (%s)";
+
+    private static final String DELETE_TRANSACTIONS_SQL = "DELETE FROM transaction WHERE transaction_id IN (%s)";
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArchiveSegmentRepository segmentRepository;
+
+    @Value("${transaction.archive.directory:archive/transactions}")
+    private String directory;
+
+    @Value("${transaction.archive.min-age-days:365}")
+    private int minAgeDays;
+
+    @Value("${transaction.archive.batch-size:50000}")
+    private int batchSize;
+
+    @Value("${transaction.archive.rows-per-block:512}")
+    private int rowsPerBlock;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Loaded segments grouped by month, with their sparse indexes
+    private volatile TreeMap<LocalDate, List<LoadedSegment>> segmentsByPeriod = new TreeMap<>();
+    private volatile LocalDateTime newestArchived;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refresh() {
+        TreeMap<LocalDate, List<LoadedSegment>> loaded = new TreeMap<>();
+        LocalDateTime newest = null;
+        for (ArchiveSegment segment : segmentRepository.findAllByOrderByPeriodAscIdAsc()) {
+            Path path = Paths.get(directory, segment.getFileName());
+            try {
+                loaded.computeIfAbsent(segment.getPeriod(), p -> new ArrayList<>())
+                    .add(new LoadedSegment(segment, path, SegmentFile.readIndex(path)));
+                if (newest == null || segment.getMaxTimestamp().isAfter(newest)) {
+                    newest = segment.getMaxTimestamp();
+                }
+            } catch (IOException e) {
+                logger.error("Archive segment {} is unreadable: {}", path, e.getMessage());
+            }
+        }
+        segmentsByPeriod = loaded;
+        newestArchived = newest;
+        logger.info("Loaded {} archive periods", loaded.size());
+    }
+
+    public ArchiveRunResultDto archive() {
+        ArchiveRunResultDto result = new ArchiveRunResultDto();
+        LocalDateTime cutoff = LocalDate.now().minusDays(minAgeDays).atStartOfDay();
+        result.setCutoff(cutoff);
+        if (!running.compareAndSet(false, true)) {
+            result.setMessage("An archive run is already in progress.");
+            return result;
+        }
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                List<Candidate> candidates = jdbcTemplate.query(ELIGIBLE_SQL,
+                    (rs, rowNum) -> new Candidate(rs.getBytes("transaction_id"), rs.getTimestamp("timestamp").toLocalDateTime()),
+                    Timestamp.valueOf(cutoff), batchSize);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                // Segments are time-partitioned: one batch never spans two months
+                YearMonth month = YearMonth.from(candidates.get(0).timestamp());
+                List<Candidate> monthBatch = candidates.stream()
+                    .filter(candidate -> YearMonth.from(candidate.timestamp()).equals(month))
+                    .toList();
+                archiveBatch(month, monthBatch, result);
+            }
+            result.setMessage("Archive run completed.");
+        } catch (IOException e) {
+            logger.error("Archive run failed: {}", e.getMessage());
+            result.setMessage("Archive run failed: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        result.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        logger.info("Archived {} transactions into {} segments in {} ms",
+            result.getTransactionsArchived(), result.getSegmentsWritten(), result.getDurationMillis());
+        return result;
+    }
+
+    private void archiveBatch(YearMonth month, List<Candidate> candidates, ArchiveRunResultDto result) throws IOException {
+        List<byte[]> ids = candidates.stream().map(Candidate::transactionId).toList();
+        List<EntryRow> rows = new ArrayList<>();
+        for (List<byte[]> chunk : chunks(ids)) {
+            rows.addAll(jdbcTemplate.query(String.format(ENTRY_ROWS_SQL, placeholders(chunk.size())),
+                (rs, rowNum) -> new EntryRow(
+                    UuidUtils.fromBytes(rs.getBytes("account_id")),
+                    rs.getTimestamp("timestamp").toLocalDateTime(),
+                    UuidUtils.fromBytes(rs.getBytes("transaction_id")),
+                    rs.getBigDecimal("amount"),
+                    rs.getBigDecimal("balance_after"),
+                    rs.getString("description"),
+                    rs.getString("status")),
+                chunk.toArray()));
+        }
+        rows.sort(EntryRow.SEGMENT_ORDER);
+
+        String fileName = month + "/" + month + "-" + System.currentTimeMillis() + ".seg";
+        Path path = Paths.get(directory, fileName);
+        Files.createDirectories(path.getParent());
+        SegmentFile.write(path, rows, rowsPerBlock);
+        List<SegmentFile.Block> index = SegmentFile.readIndex(path);
+
+        ArchiveSegment segment = new ArchiveSegment();
+        segment.setFileName(fileName);
+        segment.setPeriod(month.atDay(1));
+        segment.setMinTimestamp(candidates.get(0).timestamp());
+        segment.setMaxTimestamp(candidates.get(candidates.size() - 1).timestamp());
+        segment.setTransactionCount(candidates.size());
+        segment.setEntryCount(rows.size());
+        try {
+            // The segment row is committed with the deletes, so a restart never loses or doubles rows
+            transactionTemplate.executeWithoutResult(status -> {
+                segmentRepository.save(segment);
+                for (List<byte[]> chunk : chunks(ids)) {
+                    jdbcTemplate.update(String.format(DELETE_ENTRIES_SQL, placeholders(chunk.size())), chunk.toArray());
+                    jdbcTemplate.update(String.format(DELETE_TRANSACTIONS_SQL, placeholders(chunk.size())), chunk.toArray());
+                }
+            });
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        // Readers only consult the loaded index: publish the segment before the next batch removes more rows
+        register(new LoadedSegment(segment, path, index));
+
+        result.setSegmentsWritten(result.getSegmentsWritten() + 1);
+        result.setTransactionsArchived(result.getTransactionsArchived() + candidates.size());
+        result.setEntriesArchived(result.getEntriesArchived() + rows.size());
+    }
+
+    // Copy-on-write, so readers iterating the previous map are unaffected
+    private synchronized void register(LoadedSegment loaded) {
+        TreeMap<LocalDate, List<LoadedSegment>> next = new TreeMap<>();
+        segmentsByPeriod.forEach((period, segments) -> next.put(period, new ArrayList<>(segments)));
+        next.computeIfAbsent(loaded.meta().getPeriod(), p -> new ArrayList<>()).add(loaded);
+        segmentsByPeriod = next;
+        LocalDateTime maxTimestamp = loaded.meta().getMaxTimestamp();
+        if (newestArchived == null || maxTimestamp.isAfter(newestArchived)) {
+            newestArchived = maxTimestamp;
+        }
+    }
+
+    /** Whether archived rows could precede the given position; lets hot reads skip the archive. */
+    public boolean mayHaveRowsBefore(LocalDateTime timestamp) {
+        return newestArchived != null && !newestArchived.isBefore(timestamp);
+    }
+
+    public boolean isEmpty() {
+        return newestArchived == null;
+    }
+
+    /**
+     * Up to {@code limit} archived rows of the account strictly before the cursor, newest first.
+     * Months are read newest first and reading stops once a month fills the page.
+     */
+    public List<EntryRow> findBefore(UUID accountId, LocalDateTime beforeTimestamp, UUID beforeTransactionId, int limit) {
+        List<EntryRow> rows = new ArrayList<>();
+        for (List<LoadedSegment> period : segmentsByPeriod.descendingMap().values()) {
+            for (LoadedSegment segment : period) {
+                if (beforeTimestamp != null && segment.meta().getMinTimestamp().isAfter(beforeTimestamp)) {
+                    continue;
+                }
+                for (EntryRow row : segment.read(accountId)) {
+                    if (beforeTimestamp == null || row.isBefore(beforeTimestamp, beforeTransactionId)) {
+                        rows.add(row);
+                    }
+                }
+            }
+            if (rows.size() >= limit) {
+                break;
+            }
+        }
+        rows.sort(Collections.reverseOrder(EntryRow.CHRONOLOGICAL));
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    /** Archived rows of the account in [from, to), oldest first, loaded one month at a time. */
+    public Iterator<EntryRow> iterateRange(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        Iterator<List<LoadedSegment>> periods = segmentsByPeriod.values().iterator();
+        return new Iterator<>() {
+            private Iterator<EntryRow> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && periods.hasNext()) {
+                    List<EntryRow> rows = new ArrayList<>();
+                    for (LoadedSegment segment : periods.next()) {
+                        if (segment.meta().getMaxTimestamp().isBefore(from) || !segment.meta().getMinTimestamp().isBefore(to)) {
+                            continue;
+                        }
+                        for (EntryRow row : segment.read(accountId)) {
+                            if (!row.timestamp().isBefore(from) && row.timestamp().isBefore(to)) {
+                                rows.add(row);
+                            }
+                        }
+                    }
+                    rows.sort(EntryRow.CHRONOLOGICAL);
+                    current = rows.iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public EntryRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Net of the successful archived rows of each account in [fromAccountId, toAccountId], read with
+     * one pass over each segment rather than one per account.
+     */
+    public Map<UUID, BigDecimal> successNetByAccount(UUID fromAccountId, UUID toAccountId) {
+        Map<UUID, BigDecimal> net = new HashMap<>();
+        for (List<LoadedSegment> period : segmentsByPeriod.values()) {
+            for (LoadedSegment segment : period) {
+                for (EntryRow row : segment.read(fromAccountId, toAccountId)) {
+                    if ("Success".equals(row.status())) {
+                        net.merge(row.accountId(), row.amount(), BigDecimal::add);
+                    }
+                }
+            }
+        }
+        return net;
+    }
+
+    private static List<List<byte[]>> chunks(List<byte[]> ids) {
+        List<List<byte[]>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_CHUNK) {
+            chunks.add(ids.subList(i, Math.min(i + IN_CLAUSE_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private record Candidate(byte[] transactionId, LocalDateTime timestamp) {}
+
+    private record LoadedSegment(ArchiveSegment meta, Path path, List<SegmentFile.Block> index) {
+        List<EntryRow> read(UUID accountId) {
+            try {
+                return SegmentFile.readAccount(path, index, accountId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<EntryRow> read(UUID fromAccountId, UUID toAccountId) {
+            try {
+                return SegmentFile.readAccounts(path, index, fromAccountId, toAccountId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
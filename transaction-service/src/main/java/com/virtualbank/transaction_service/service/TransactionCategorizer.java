@@ -0,0 +1,122 @@
+package com.virtualbank.transaction_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.virtualbank.transaction_service.categorization.CategoryRuleSet;
+import com.virtualbank.transaction_service.dto.CategoryRuleDto;
+import com.virtualbank.transaction_service.dto.CategoryRulesStatusDto;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Assigns a spending category to each transaction as it is written. The rule file is compiled into
+ * a {@link CategoryRuleSet} off the write path and published with a single volatile write, so a
+ * reload never blocks or pauses categorization; a file that fails to compile leaves the previous
+ * rules in place.
+ */
+@Service
+public class TransactionCategorizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionCategorizer.class);
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${transaction.categorization.rules-location:classpath:category-rules.json}")
+    private String rulesLocation;
+
+    private final ObjectReader rulesReader;
+    private final LongAdder categorized = new LongAdder();
+    private final LongAdder uncategorized = new LongAdder();
+    private volatile Loaded current = new Loaded(CategoryRuleSet.EMPTY, 0, null, -1);
+
+    public TransactionCategorizer(ObjectMapper objectMapper) {
+        this.rulesReader = objectMapper.readerForListOf(CategoryRuleDto.class);
+    }
+
+    @PostConstruct
+    public void loadRules() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("Category rules could not be loaded from {}; transactions stay uncategorized: {}",
+                rulesLocation, e.getMessage());
+        }
+    }
+
+    public String categorize(String description, BigDecimal amount) {
+        String category = current.rules().categorize(description, amount);
+        (category != null ? categorized : uncategorized).increment();
+        return category;
+    }
+
+    /**
+     * Compile the rule file again and switch to it.
+     * @throws IllegalArgumentException if the file is not a valid rule set
+     */
+    public synchronized CategoryRulesStatusDto reload() throws IOException {
+        Resource resource = resourceLoader.getResource(rulesLocation);
+        long lastModified = lastModified(resource);
+        List<CategoryRuleDto> rules;
+        try (InputStream input = resource.getInputStream()) {
+            rules = rulesReader.readValue(input);
+        }
+        CategoryRuleSet compiled = CategoryRuleSet.compile(rules);
+        current = new Loaded(compiled, current.version() + 1, LocalDateTime.now(), lastModified);
+        logger.info("Loaded category rules version {} from {}: {} rules, {} keywords, {} automaton states",
+            current.version(), rulesLocation, compiled.getRuleCount(), compiled.getKeywordCount(), compiled.getStateCount());
+        CategoryRulesStatusDto status = getStatus();
+        status.setMessage("Category rules reloaded.");
+        return status;
+    }
+
+    /** Reload only if the rule file is on disk and has changed since it was loaded. */
+    public void reloadIfChanged() {
+        try {
+            long lastModified = lastModified(resourceLoader.getResource(rulesLocation));
+            if (lastModified > 0 && lastModified != current.lastModified()) {
+                reload();
+            }
+        } catch (Exception e) {
+            logger.error("Changed category rules at {} were not loaded: {}", rulesLocation, e.getMessage());
+        }
+    }
+
+    public CategoryRulesStatusDto getStatus() {
+        Loaded loaded = current;
+        CategoryRulesStatusDto status = new CategoryRulesStatusDto();
+        status.setLocation(rulesLocation);
+        status.setVersion(loaded.version());
+        status.setRules(loaded.rules().getRuleCount());
+        status.setKeywords(loaded.rules().getKeywordCount());
+        status.setAutomatonStates(loaded.rules().getStateCount());
+        status.setLoadedAt(loaded.loadedAt());
+        status.setCategorized(categorized.sum());
+        status.setUncategorized(uncategorized.sum());
+        return status;
+    }
+
+    // Classpath resources inside a jar have no modification time; they only change on redeploy
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record Loaded(CategoryRuleSet rules, long version, LocalDateTime loadedAt, long lastModified) {}
+}
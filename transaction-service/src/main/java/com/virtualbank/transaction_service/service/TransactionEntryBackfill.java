@@ -0,0 +1,76 @@
+package com.virtualbank.transaction_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off migration that writes entry rows for transactions created before the entry index existed.
+ * Transactions are walked in primary-key order in fixed-size batches and only those without entries
+ * are copied, so the job can be stopped and re-run safely.
+ */
+@Component
+public class TransactionEntryBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionEntryBackfill.class);
+
+    private static final String NEXT_BATCH_SQL =
+        "SELECT transaction_id FROM transaction WHERE transaction_id > ? ORDER BY transaction_id LIMIT ?";
+
+    private static final String FIRST_BATCH_SQL =
+        "SELECT transaction_id FROM transaction ORDER BY transaction_id LIMIT ?";
+
+    private static final String COPY_ENTRIES_SQL =
+        "INSERT INTO transaction_entry (account_id, timestamp, transaction_id, amount) " +
+        "SELECT t.from_account_id, t.timestamp, t.transaction_id, -t.amount FROM transaction t " +
+        "WHERE t.transaction_id >= ? AND t.transaction_id <= ? AND t.from_account_id IS NOT NULL " +
+        "AND NOT EXISTS (SELECT 1 FROM transaction_entry e WHERE e.transaction_id = t.transaction_id) " +
+        "UNION ALL " +
+        "SELECT t.to_account_id, t.timestamp, t.transaction_id, t.amount FROM transaction t " +
+        "WHERE t.transaction_id >= ? AND t.transaction_id <= ? AND t.to_account_id IS NOT NULL " +
+        "AND NOT EXISTS (SELECT 1 FROM transaction_entry e WHERE e.transaction_id = t.transaction_id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${transaction.entries.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${transaction.entries.backfill-batch-size:10000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            Thread.ofVirtual().name("transaction-entry-backfill").start(this::backfill);
+        }
+    }
+
+    public void backfill() {
+        long start = System.nanoTime();
+        long copied = 0;
+        byte[] lastId = null;
+        while (true) {
+            List<byte[]> ids = lastId == null
+                ? jdbcTemplate.queryForList(FIRST_BATCH_SQL, byte[].class, batchSize)
+                : jdbcTemplate.queryForList(NEXT_BATCH_SQL, byte[].class, lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            byte[] firstId = ids.get(0);
+            lastId = ids.get(ids.size() - 1);
+            copied += jdbcTemplate.update(COPY_ENTRIES_SQL, firstId, lastId, firstId, lastId);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        logger.info("Transaction entry backfill wrote {} entries in {} ms", copied, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,170 @@
+package com.virtualbank.transaction_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virtualbank.transaction_service.archive.EntryRow;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full account history export. Rows come from a forward-only streaming cursor over the entry index,
+ * merged with archived rows one month at a time, and are written to the response as they arrive,
+ * so memory use does not grow with history size.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportService.class);
+
+    private static final String EXPORT_SQL =
+        "SELECT e.transaction_id, e.timestamp, e.amount, e.balance_after, t.description, t.status " +
+        "FROM transaction_entry e JOIN transaction t ON t.transaction_id = e.transaction_id " +
+        "WHERE e.account_id = ? AND e.timestamp >= ? AND e.timestamp < ? " +
+        "ORDER BY e.timestamp, e.transaction_id";
+
+    public enum Format { CSV, NDJSON }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    public StreamingResponseBody export(UUID accountId, LocalDateTime from, LocalDateTime to, Format format, boolean gzip) {
+        return out -> {
+            long start = System.nanoTime();
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            long rows = format == Format.CSV
+                ? writeCsv(accountId, from, to, target)
+                : writeNdjson(accountId, from, to, target);
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            target.flush();
+            logger.info("Exported {} transactions for account {} in {} ms", rows, accountId, (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+
+    private long writeCsv(UUID accountId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write("transactionId,timestamp,amount,description,status,balanceAfter\n");
+        long rows = stream(accountId, from, to, row -> {
+            writer.write(row.transactionId().toString());
+            writer.write(',');
+            writer.write(row.timestamp().toString());
+            writer.write(',');
+            writer.write(row.amount().toPlainString());
+            writer.write(',');
+            writer.write(csvField(row.description()));
+            writer.write(',');
+            writer.write(row.status());
+            writer.write(',');
+            if (row.balanceAfter() != null) {
+                writer.write(row.balanceAfter().toPlainString());
+            }
+            writer.write('\n');
+        });
+        writer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(UUID accountId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.setRootValueSeparator(null);
+        long rows = stream(accountId, from, to, row -> {
+            json.writeStartObject();
+            json.writeStringField("transactionId", row.transactionId().toString());
+            json.writeStringField("timestamp", row.timestamp().toString());
+            json.writeNumberField("amount", row.amount());
+            json.writeStringField("description", row.description());
+            json.writeStringField("status", row.status());
+            if (row.balanceAfter() != null) {
+                json.writeNumberField("balanceAfter", row.balanceAfter());
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        });
+        json.flush();
+        return rows;
+    }
+
+    // Hot rows stream from the database cursor; archived rows are merged in by key as the cursor advances
+    private long stream(UUID accountId, LocalDateTime from, LocalDateTime to, RowWriter rowWriter) throws IOException {
+        Iterator<EntryRow> archived = archiveService.iterateRange(accountId, from, to);
+        EntryRow[] nextArchived = { archived.hasNext() ? archived.next() : null };
+        long[] rows = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE); // MySQL row-by-row streaming
+            ps.setBytes(1, UuidUtils.toBytes(accountId));
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            return ps;
+        }, (ResultSet rs) -> {
+            EntryRow row = new EntryRow(
+                accountId,
+                rs.getTimestamp("timestamp").toLocalDateTime(),
+                UuidUtils.fromBytes(rs.getBytes("transaction_id")),
+                rs.getBigDecimal("amount"),
+                rs.getBigDecimal("balance_after"),
+                rs.getString("description"),
+                rs.getString("status")
+            );
+            try {
+                while (nextArchived[0] != null && nextArchived[0].isBefore(row.timestamp(), row.transactionId())) {
+                    rowWriter.write(nextArchived[0]);
+                    rows[0]++;
+                    nextArchived[0] = archived.hasNext() ? archived.next() : null;
+                }
+                rowWriter.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        while (nextArchived[0] != null) {
+            rowWriter.write(nextArchived[0]);
+            rows[0]++;
+            nextArchived[0] = archived.hasNext() ? archived.next() : null;
+        }
+        return rows[0];
+    }
+
+    private static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(EntryRow row) throws IOException;
+    }
+}
@@ -0,0 +1,216 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.RecoveryRunDto;
+import com.virtualbank.transaction_service.dto.TransferResultDto;
+import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import com.virtualbank.transaction_service.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Settles transactions left in Initiated or Processing, by a crash between initiation and execution
+ * or by an account-service call whose outcome was lost. Stale transactions are read in keyset-ordered
+ * batches, account-service reports (and fences) the real outcome for each batch in one call, and the
+ * outcomes are applied in parallel with a bounded number in flight.
+ */
+@Service
+public class TransactionRecoveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRecoveryService.class);
+
+    private static final String ACCOUNT_SERVICE_URL = "http://localhost:8081";
+
+    private static final LocalDateTime SCAN_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID SCAN_START_ID = new UUID(0, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${transaction.recovery.stale-after-minutes:30}")
+    private long staleAfterMinutes;
+
+    @Value("${transaction.recovery.batch-size:500}")
+    private int batchSize;
+
+    @Value("${transaction.recovery.parallelism:16}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Run lastRun;
+
+    public RecoveryRunDto recover() {
+        if (!running.compareAndSet(false, true)) {
+            RecoveryRunDto progress = getProgress();
+            progress.setMessage("A recovery run is already in progress.");
+            return progress;
+        }
+        Run run = new Run(LocalDateTime.now().minusMinutes(staleAfterMinutes));
+        lastRun = run;
+        try {
+            Semaphore inFlight = new Semaphore(parallelism);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                // One status at a time, so each scan follows idx_transaction_status_ts in order
+                for (TransactionStatus status : List.of(TransactionStatus.Initiated, TransactionStatus.Processing)) {
+                    scan(status, run, executor, inFlight);
+                }
+            }
+            run.message = "Recovery finished.";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.message = "Recovery interrupted.";
+        } catch (Exception e) {
+            logger.error("Transaction recovery stopped: {}", e.getMessage());
+            run.message = "Recovery stopped: " + e.getMessage();
+        } finally {
+            run.finishedAt = LocalDateTime.now();
+            run.finishNanos = System.nanoTime();
+            running.set(false);
+        }
+
+        RecoveryRunDto result = run.toDto(false);
+        logger.info("Transaction recovery: {} stale transactions, {} succeeded, {} failed, {} skipped, {} errors in {} ms",
+            result.getScanned(), result.getResolvedSuccess(), result.getResolvedFailed(), result.getSkipped(),
+            result.getErrors(), result.getDurationMillis());
+        return result;
+    }
+
+    public RecoveryRunDto getProgress() {
+        Run run = lastRun;
+        if (run == null) {
+            RecoveryRunDto progress = new RecoveryRunDto();
+            progress.setMessage("No recovery run yet.");
+            return progress;
+        }
+        return run.toDto(running.get());
+    }
+
+    private void scan(TransactionStatus status, Run run, ExecutorService executor, Semaphore inFlight) throws InterruptedException {
+        LocalDateTime afterTimestamp = SCAN_START;
+        UUID afterId = SCAN_START_ID;
+        while (true) {
+            List<Transaction> batch = transactionRepository.findStaleAfter(status, run.cutoff, afterTimestamp, afterId,
+                PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            run.batches.increment();
+            run.scanned.add(batch.size());
+            Transaction last = batch.get(batch.size() - 1);
+            afterTimestamp = last.getTimestamp();
+            afterId = last.getTransactionId();
+
+            Map<UUID, TransferResultDto> outcomes = fetchOutcomes(batch);
+            for (Transaction transaction : batch) {
+                TransferResultDto outcome = outcomes.get(transaction.getTransactionId());
+                if (outcome == null) {
+                    run.errors.increment();
+                    continue;
+                }
+                // Blocks once `parallelism` updates are running, which also paces the scan
+                inFlight.acquire();
+                executor.submit(() -> {
+                    try {
+                        resolve(outcome, run);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private Map<UUID, TransferResultDto> fetchOutcomes(List<Transaction> batch) {
+        List<UUID> transactionIds = batch.stream().map(Transaction::getTransactionId).toList();
+        TransferResultDto[] results = restTemplate.postForObject(
+            ACCOUNT_SERVICE_URL + "/accounts/transfers/reconciliation",
+            Map.of("transactionIds", transactionIds),
+            TransferResultDto[].class
+        );
+        Map<UUID, TransferResultDto> outcomes = new HashMap<>();
+        if (results != null) {
+            for (TransferResultDto result : results) {
+                outcomes.put(result.getTransactionId(), result);
+            }
+        }
+        return outcomes;
+    }
+
+    private void resolve(TransferResultDto outcome, Run run) {
+        try {
+            if (!transactionService.applyTransferResult(outcome)) {
+                // Finished by the normal path since it was scanned
+                run.skipped.increment();
+            } else if (outcome.isSuccess()) {
+                run.resolvedSuccess.increment();
+            } else {
+                run.resolvedFailed.increment();
+            }
+        } catch (Exception e) {
+            run.errors.increment();
+            logger.error("Failed to resolve transaction {}: {}", outcome.getTransactionId(), e.getMessage());
+        }
+    }
+
+    private static final class Run {
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final long startNanos = System.nanoTime();
+        final LocalDateTime cutoff;
+        final LongAdder batches = new LongAdder();
+        final LongAdder scanned = new LongAdder();
+        final LongAdder resolvedSuccess = new LongAdder();
+        final LongAdder resolvedFailed = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        volatile LocalDateTime finishedAt;
+        volatile long finishNanos;
+        volatile String message;
+
+        Run(LocalDateTime cutoff) {
+            this.cutoff = cutoff;
+        }
+
+        RecoveryRunDto toDto(boolean inProgress) {
+            RecoveryRunDto dto = new RecoveryRunDto();
+            dto.setRunning(inProgress);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setCutoff(cutoff);
+            dto.setBatches(batches.sum());
+            dto.setScanned(scanned.sum());
+            dto.setResolvedSuccess(resolvedSuccess.sum());
+            dto.setResolvedFailed(resolvedFailed.sum());
+            dto.setSkipped(skipped.sum());
+            dto.setErrors(errors.sum());
+            long endNanos = finishedAt != null ? finishNanos : System.nanoTime();
+            dto.setDurationMillis((endNanos - startNanos) / 1_000_000);
+            dto.setMessage(message);
+            return dto;
+        }
+    }
+}
@@ -1,61 +1,250 @@
 package com.virtualbank.transaction_service.service;
 
-import com.virtualbank.transaction_service.dto.TransactionRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.virtualbank.transaction_service.archive.EntryRow;
+import com.virtualbank.transaction_service.dto.AccountEntryDto;
+import com.virtualbank.transaction_service.dto.AccountSummaryDto;
+import com.virtualbank.transaction_service.dto.CategorySpendingDto;
+import com.virtualbank.transaction_service.dto.TransactionResponseDto;
+import com.virtualbank.transaction_service.dto.TransferCommandDto;
+import com.virtualbank.transaction_service.dto.TransferResultDto;
+import com.virtualbank.transaction_service.exception.DuplicateTransferException;
+import com.virtualbank.transaction_service.exception.InitiationNotConfirmedException;
 import com.virtualbank.transaction_service.exception.TransactionNotFoundException;
+import com.virtualbank.transaction_service.exception.TransferFailedException;
+import com.virtualbank.transaction_service.journal.JournalFullException;
 import com.virtualbank.transaction_service.model.*;
+import com.virtualbank.transaction_service.repository.OutboxEventRepository;
+import com.virtualbank.transaction_service.repository.TransactionEntryRepository;
 import com.virtualbank.transaction_service.repository.TransactionRepository;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class TransactionService {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
+
     @Autowired
     private TransactionRepository transactionRepository;
     
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private TransactionEntryRepository transactionEntryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AccountActivityService accountActivityService;
+
+    @Autowired
+    private TransactionStatusNotifier statusNotifier;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private InitiationBatchWriter initiationBatchWriter;
+
+    @Autowired
+    private VelocityLimiter velocityLimiter;
+
+    @Autowired
+    private TransactionCategorizer categorizer;
+
+    @Autowired
+    private DuplicateTransferDetector duplicateDetector;
+
+    @Autowired
+    private InitiationJournal initiationJournal;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.initiation.group-commit.timeout-ms:10000}")
+    private long initiationTimeoutMillis;
+
+    private final ObjectWriter transferCommandWriter;
+
+    @Value("${transaction.execution.mode:outbox}")
+    private String executionMode;
+
+    @Value("${kafka.topic.transfer-commands}")
+    private String transferCommandsTopic;
+
+    @Value("${transaction.history.max-page-size:1000}")
+    private int maxHistoryPageSize;
+
     private static final String ACCOUNT_SERVICE_URL = "http://localhost:8081";
 
+    public TransactionService(ObjectMapper objectMapper) {
+        this.transferCommandWriter = objectMapper.writerFor(TransferCommandDto.class);
+    }
+
+    // Not @Transactional: with group commit enabled the caller waits for the batch writer, and
+    // holding a connection open while waiting would defeat the batching
     public Optional<Transaction> initiateTransfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description) {
+        return initiateTransfer(fromAccountId, toAccountId, amount, description, true, false);
+    }
+
+    /**
+     * Scheduled runs repeat the same transfer by design and skip the duplicate check. Callers that
+     * execute the transfer straight away pass {@code executeWhenReplayed}, so a transfer accepted
+     * into the journal during a database outage is queued for execution once it is replayed.
+     */
+    public Optional<Transaction> initiateTransfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description,
+                                                 boolean checkDuplicates, boolean executeWhenReplayed) {
+        // Rejected transfers are never persisted; a rejection propagates to the caller
+        long velocityCharge = velocityLimiter.acquire(fromAccountId, amount);
+        DuplicateTransferDetector.Check check = checkDuplicates
+            ? duplicateDetector.check(fromAccountId, toAccountId, amount, description != null ? description : "")
+            : null;
+        boolean duplicate = check != null && check.duplicate();
+        if (duplicate && duplicateDetector.getAction() == DuplicateTransferDetector.Action.REJECT) {
+            duplicateDetector.complete(check, false);
+            velocityLimiter.release(fromAccountId, amount, velocityCharge);
+            throw new DuplicateTransferException("An identical transfer was submitted moments ago.");
+        }
+
+        // Create transaction with Initiated status
+        Transaction transaction = new Transaction();
+        transaction.setFromAccountId(fromAccountId);
+        transaction.setToAccountId(toAccountId);
+        transaction.setAmount(amount);
+        transaction.setDescription(description != null ? description : "");
+        transaction.setCategory(categorizer.categorize(transaction.getDescription(), amount));
+        if (duplicate) {
+            transaction.setSuspectedDuplicate(true);
+        }
+        transaction.setStatus(TransactionStatus.Initiated);
+        transaction.setTimestamp(LocalDateTime.now());
+
+        // The fingerprint is remembered only once the initiation is accepted, or may still be; a
+        // client retrying a transfer that failed outright is not taken for a duplicate
+        boolean accepted = false;
         try {
-            // Create transaction with Initiated status
-            Transaction transaction = new Transaction();
-            transaction.setFromAccountId(fromAccountId);
-            transaction.setToAccountId(toAccountId);
-            transaction.setAmount(amount);
-            transaction.setDescription(description != null ? description : "");
-            transaction.setStatus(TransactionStatus.Initiated);
-            transaction.setTimestamp(LocalDateTime.now());
-
-            Transaction savedTransaction = transactionRepository.save(transaction);
+            Optional<Transaction> initiated = persistInitiation(transaction, executeWhenReplayed, velocityCharge);
+            accepted = initiated.isPresent();
+            return initiated;
+        } catch (InitiationNotConfirmedException e) {
+            accepted = e.getTransactionId() != null;
+            throw e;
+        } finally {
+            if (check != null) {
+                duplicateDetector.complete(check, accepted);
+            }
+        }
+    }
+
+    // Writes a new transaction or journals it; releases the velocity reservation when nothing was recorded
+    private Optional<Transaction> persistInitiation(Transaction transaction, boolean executeWhenReplayed, long velocityCharge) {
+        UUID fromAccountId = transaction.getFromAccountId();
+        BigDecimal amount = transaction.getAmount();
+        try {
+            // Initiations that arrive while older ones wait in the journal queue behind them
+            if (initiationJournal.hasBacklog()) {
+                return Optional.of(journal(transaction, executeWhenReplayed, velocityCharge));
+            }
+
+            if (initiationBatchWriter.isEnabled()) {
+                transaction.setTransactionId(UuidUtils.timeOrdered());
+                transaction.setCreatedAt(transaction.getTimestamp());
+                CompletableFuture<Transaction> written = initiationBatchWriter.submit(transaction);
+                try {
+                    return Optional.of(written.get(initiationTimeoutMillis, TimeUnit.MILLISECONDS));
+                } catch (TimeoutException e) {
+                    if (initiationBatchWriter.withdraw(written)) {
+                        velocityLimiter.release(fromAccountId, amount, velocityCharge);
+                        throw new InitiationNotConfirmedException(null, "Transfer initiation timed out before it was recorded, please retry.");
+                    }
+                    // Already in a batch that may still commit: the reservation stays and the caller polls
+                    throw new InitiationNotConfirmedException(transaction.getTransactionId(),
+                        "Transfer initiation was not confirmed in time; poll the transaction for its status.");
+                }
+            }
+
+            Transaction savedTransaction = transactionTemplate.execute(status -> {
+                Transaction saved = transactionRepository.save(transaction);
+                saveEntries(saved);
+                return saved;
+            });
             return Optional.of(savedTransaction);
+        } catch (InitiationNotConfirmedException e) {
+            throw e;
         } catch (Exception e) {
+            if (initiationJournal.isEnabled() && InitiationJournal.isDatabaseUnavailable(e)) {
+                try {
+                    return Optional.of(journal(transaction, executeWhenReplayed, velocityCharge));
+                } catch (InitiationNotConfirmedException notConfirmed) {
+                    throw notConfirmed;
+                } catch (Exception journalFailure) {
+                    logger.error("Could not journal initiation: {}", journalFailure.getMessage());
+                }
+            }
+            velocityLimiter.release(fromAccountId, amount, velocityCharge);
             return Optional.empty();
         }
     }
 
-    @Transactional
-    public Map<String, Object> executeTransfer(UUID transactionId) {
+    // The write may have reached the database before the connection failed; replay skips rows
+    // that already exist, so reusing an ID the failed attempt assigned is safe
+    private Transaction journal(Transaction transaction, boolean executeWhenReplayed, long velocityCharge) {
+        if (transaction.getTransactionId() == null) {
+            transaction.setTransactionId(UuidUtils.timeOrdered());
+        }
+        transaction.setCreatedAt(transaction.getTimestamp());
+        try {
+            initiationJournal.append(transaction, executeWhenReplayed);
+        } catch (JournalFullException e) {
+            // Nothing was written, so nothing can replay: the reservation goes back and a retry is safe
+            velocityLimiter.release(transaction.getFromAccountId(), transaction.getAmount(), velocityCharge);
+            throw new InitiationNotConfirmedException(null, "Transfers cannot be accepted right now, please retry later.");
+        }
+        transaction.setJournaled(true);
+        return transaction;
+    }
+
+    // A failed transfer still commits its Failed status
+    @Transactional(noRollbackFor = TransferFailedException.class)
+    public TransactionResponseDto executeTransfer(UUID transactionId) {
         Transaction transaction = transactionRepository.findById(transactionId)
             .orElseThrow(() -> new TransactionNotFoundException("Transaction not found"));
 
         if (transaction.getStatus() != TransactionStatus.Initiated) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("error", "Transaction is not in Initiated status");
-            return error;
+            throw new TransferFailedException("Transaction is not in Initiated status");
         }
 
+        if ("outbox".equalsIgnoreCase(executionMode)) {
+            return enqueueTransfer(transaction);
+        }
+
+        String failure;
+        Map<?, ?> balances = null;
         try {
             // Call Account Service to perform the transfer
             Map<String, Object> transferRequest = new HashMap<>();
+            transferRequest.put("transactionId", transaction.getTransactionId());
             transferRequest.put("fromAccountId", transaction.getFromAccountId());
             transferRequest.put("toAccountId", transaction.getToAccountId());
             transferRequest.put("amount", transaction.getAmount());
@@ -70,38 +259,267 @@ public class TransactionService {
                 request,
                 Map.class
             );
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                // Update transaction status to Success
-                transaction.setStatus(TransactionStatus.Success);
-                transactionRepository.save(transaction);
-
-                Map<String, Object> result = new HashMap<>();
-                result.put("transactionId", transaction.getTransactionId());
-                result.put("status", transaction.getStatus());
-                result.put("timestamp", transaction.getTimestamp());
-                return result;
-            } else {
-                // Update transaction status to Failed
-                transaction.setStatus(TransactionStatus.Failed);
-                transactionRepository.save(transaction);
-
-                Map<String, Object> error = new HashMap<>();
-                error.put("error", "Transfer failed");
-                return error;
-            }
+            failure = response.getStatusCode() == HttpStatus.OK ? null : "Transfer failed";
+            balances = response.getBody();
+        } catch (HttpClientErrorException e) {
+            failure = "Transfer failed: " + e.getMessage();
         } catch (Exception e) {
+            // A timeout or server error says nothing about whether the transfer was applied; leave
+            // the outcome to TransactionRecoveryService rather than guessing Failed
+            transaction.setStatus(TransactionStatus.Processing);
+            transactionRepository.save(transaction);
+            statusNotifier.publishAfterCommit(transaction.getTransactionId(), transaction.getStatus());
+            return new TransactionResponseDto(transaction.getTransactionId(), transaction.getStatus(), transaction.getTimestamp());
+        }
+
+        if (failure != null) {
             // Update transaction status to Failed
             transaction.setStatus(TransactionStatus.Failed);
             transactionRepository.save(transaction);
+            statusNotifier.publishAfterCommit(transaction.getTransactionId(), transaction.getStatus());
+            throw new TransferFailedException(failure);
+        }
+
+        // Update transaction status to Success
+        transaction.setStatus(TransactionStatus.Success);
+        transactionRepository.save(transaction);
+        if (balances != null) {
+            recordBalances(transaction, toAmount(balances.get("fromBalance")), toAmount(balances.get("toBalance")));
+        }
+        statusNotifier.publishAfterCommit(transaction.getTransactionId(), transaction.getStatus());
+        accountActivityService.recordSuccess(transaction);
+        return new TransactionResponseDto(transaction.getTransactionId(), transaction.getStatus(), transaction.getTimestamp());
+    }
+
+    /**
+     * Apply the outcome reported by account-service for a transfer queued through the outbox or
+     * settled by recovery. Results for transactions that already finished are duplicates and are ignored.
+     */
+    @Transactional
+    public boolean applyTransferResult(TransferResultDto result) {
+        Optional<Transaction> transactionOpt = transactionRepository.findById(result.getTransactionId());
+        if (transactionOpt.isEmpty()) {
+            return false;
+        }
+        TransactionStatus current = transactionOpt.get().getStatus();
+        if (current != TransactionStatus.Processing && current != TransactionStatus.Initiated) {
+            return false;
+        }
+        Transaction transaction = transactionOpt.get();
+        transaction.setStatus(result.isSuccess() ? TransactionStatus.Success : TransactionStatus.Failed);
+        transactionRepository.save(transaction);
+        statusNotifier.publishAfterCommit(transaction.getTransactionId(), transaction.getStatus());
+        if (result.isSuccess()) {
+            recordBalances(transaction, result.getFromBalance(), result.getToBalance());
+            accountActivityService.recordSuccess(transaction);
+        }
+        return true;
+    }
+
+    // Balances come from account-service as each transfer is applied; older account-service
+    // responses carry none and the entries are left without a running balance
+    private void recordBalances(Transaction transaction, BigDecimal fromBalance, BigDecimal toBalance) {
+        if (fromBalance != null && transaction.getFromAccountId() != null) {
+            transactionEntryRepository.updateBalanceAfter(transaction.getTransactionId(), transaction.getFromAccountId(), fromBalance);
+        }
+        if (toBalance != null && transaction.getToAccountId() != null) {
+            transactionEntryRepository.updateBalanceAfter(transaction.getTransactionId(), transaction.getToAccountId(), toBalance);
+        }
+    }
+
+    private static BigDecimal toAmount(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : null;
+    }
+
+    // The status change and the transfer command commit together; OutboxRelay publishes the command
+    private TransactionResponseDto enqueueTransfer(Transaction transaction) {
+        transaction.setStatus(TransactionStatus.Processing);
+        transactionRepository.save(transaction);
+        statusNotifier.publishAfterCommit(transaction.getTransactionId(), transaction.getStatus());
 
-            Map<String, Object> error = new HashMap<>();
-            error.put("error", "Transfer failed: " + e.getMessage());
-            return error;
+        TransferCommandDto command = new TransferCommandDto(
+            transaction.getTransactionId(),
+            transaction.getFromAccountId(),
+            transaction.getToAccountId(),
+            transaction.getAmount()
+        );
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateId(transaction.getTransactionId());
+        event.setEventType("TransferRequested");
+        event.setTopic(transferCommandsTopic);
+        try {
+            event.setPayload(transferCommandWriter.writeValueAsString(command));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transfer command", e);
         }
+        outboxEventRepository.save(event);
+
+        return new TransactionResponseDto(transaction.getTransactionId(), transaction.getStatus(), transaction.getTimestamp());
     }
 
-    public List<Transaction> getTransactionsForAccount(UUID accountId) {
-        return transactionRepository.findByFromAccountIdOrToAccountId(accountId, accountId);
+    public UUID resolveAccountId(String accountNumber) {
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+            ACCOUNT_SERVICE_URL + "/accounts/by-number/" + accountNumber,
+            Map.class
+        );
+        if (response.getBody() == null || response.getBody().get("accountId") == null) {
+            throw new IllegalArgumentException("Account with number " + accountNumber + " not found.");
+        }
+        return UUID.fromString(response.getBody().get("accountId").toString());
+    }
+
+    public Optional<Transaction> findTransaction(UUID transactionId) {
+        return transactionRepository.findById(transactionId);
+    }
+
+    /**
+     * A page of an account's history, newest first, read from the per-account entry index.
+     * Pass the timestamp and transaction ID of the last entry of the previous page to continue.
+     */
+    public List<AccountEntryDto> getAccountHistory(UUID accountId, LocalDateTime beforeTimestamp, UUID beforeTransactionId, int limit) {
+        PageRequest page = PageRequest.of(0, getHistoryPageSize(limit));
+        List<TransactionEntry> entries = beforeTimestamp != null && beforeTransactionId != null
+            ? transactionEntryRepository.findBefore(accountId, beforeTimestamp, beforeTransactionId, page)
+            : transactionEntryRepository.findLatest(accountId, page);
+
+        // Descriptions and categories are not part of the index; fetch them for this page only
+        Map<UUID, Transaction> transactions = new HashMap<>();
+        transactionRepository.findAllById(entries.stream().map(TransactionEntry::getTransactionId).toList())
+            .forEach(tx -> transactions.put(tx.getTransactionId(), tx));
+
+        List<AccountEntryDto> history = new ArrayList<>(entries.size());
+        for (TransactionEntry entry : entries) {
+            Transaction tx = transactions.get(entry.getTransactionId());
+            AccountEntryDto dto = new AccountEntryDto(
+                entry.getTransactionId(),
+                entry.getAccountId(),
+                entry.getAmount(),
+                tx != null ? tx.getDescription() : "",
+                entry.getTimestamp()
+            );
+            dto.setCategory(tx != null ? tx.getCategory() : null);
+            dto.setBalanceAfter(entry.getBalanceAfter());
+            history.add(dto);
+        }
+
+        // Older history may live in archive segments; merge it in when the page could reach it
+        int pageSize = page.getPageSize();
+        boolean pageFull = history.size() == pageSize;
+        if (!archiveService.isEmpty()
+                && (!pageFull || archiveService.mayHaveRowsBefore(history.get(history.size() - 1).getTimestamp()))) {
+            for (EntryRow row : archiveService.findBefore(accountId, beforeTimestamp, beforeTransactionId, pageSize)) {
+                AccountEntryDto dto = new AccountEntryDto(row.transactionId(), row.accountId(), row.amount(), row.description(), row.timestamp());
+                // Segments predate categories; archived rows are categorized with the current rules
+                dto.setCategory(categorizer.categorize(row.description(), row.amount().abs()));
+                dto.setBalanceAfter(row.balanceAfter());
+                history.add(dto);
+            }
+            history.sort(Comparator.comparing(AccountEntryDto::getTimestamp)
+                .thenComparing(AccountEntryDto::getTransactionId, UuidUtils::compareUnsigned)
+                .reversed());
+            if (history.size() > pageSize) {
+                history = new ArrayList<>(history.subList(0, pageSize));
+            }
+        }
+        return history;
+    }
+
+    /** The page size {@link #getAccountHistory} actually uses for the requested limit. */
+    public int getHistoryPageSize(int limit) {
+        return Math.min(Math.max(limit, 1), maxHistoryPageSize);
+    }
+
+    /**
+     * The account's balance right after a given transaction, or at a point in time (the balance
+     * left by the latest successful entry at or before it). Both read a single recorded entry.
+     */
+    public Optional<AccountEntryDto> getBalance(UUID accountId, UUID transactionId, LocalDateTime at) {
+        if (transactionId != null) {
+            return transactionEntryRepository.findByTransactionIdAndAccountId(transactionId, accountId)
+                .map(entry -> toBalanceEntry(entry.getTransactionId(), accountId, entry.getAmount(), entry.getTimestamp(), entry.getBalanceAfter()));
+        }
+        List<TransactionEntry> latest = transactionEntryRepository.findLatestBalanceAt(accountId, at, PageRequest.of(0, 1));
+        if (!latest.isEmpty()) {
+            TransactionEntry entry = latest.get(0);
+            return Optional.of(toBalanceEntry(entry.getTransactionId(), accountId, entry.getAmount(), entry.getTimestamp(), entry.getBalanceAfter()));
+        }
+        if (archiveService.isEmpty()) {
+            return Optional.empty();
+        }
+        // Everything at or before the instant sorts before the largest transaction ID at the next nanosecond
+        return archiveService.findBefore(accountId, at.plusNanos(1), new UUID(-1L, -1L), maxHistoryPageSize).stream()
+            .filter(row -> row.balanceAfter() != null)
+            .findFirst()
+            .map(row -> toBalanceEntry(row.transactionId(), accountId, row.amount(), row.timestamp(), row.balanceAfter()));
+    }
+
+    private static AccountEntryDto toBalanceEntry(UUID transactionId, UUID accountId, BigDecimal amount,
+                                                  LocalDateTime timestamp, BigDecimal balanceAfter) {
+        AccountEntryDto dto = new AccountEntryDto(transactionId, accountId, amount, null, timestamp);
+        dto.setBalanceAfter(balanceAfter);
+        return dto;
+    }
+
+    public AccountSummaryDto getAccountSummary(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        AccountSummaryDto summary = transactionEntryRepository.summarize(accountId, from, to, TransactionStatus.Success);
+        Iterator<EntryRow> archived = archiveService.iterateRange(accountId, from, to);
+        while (archived.hasNext()) {
+            EntryRow row = archived.next();
+            if (!TransactionStatus.Success.name().equals(row.status())) {
+                continue;
+            }
+            BigDecimal amount = row.amount();
+            summary.setTransactionCount(summary.getTransactionCount() + 1);
+            if (amount.signum() > 0) {
+                summary.setTotalCredits(summary.getTotalCredits().add(amount));
+            } else {
+                summary.setTotalDebits(summary.getTotalDebits().subtract(amount));
+            }
+        }
+        summary.setNet(summary.getTotalCredits().subtract(summary.getTotalDebits()));
+        summary.setAccountId(accountId);
+        summary.setFrom(from);
+        summary.setTo(to);
+        return summary;
+    }
+
+    /**
+     * Successful outgoing payments in [from, to) by category, largest total first. Archived
+     * payments carry no stored category and are categorized with the current rules.
+     */
+    public List<CategorySpendingDto> getCategorySpending(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        Map<String, CategorySpendingDto> byCategory = new HashMap<>();
+        for (CategorySpendingDto row : transactionEntryRepository.sumSpendingByCategory(accountId, from, to, TransactionStatus.Success)) {
+            byCategory.put(row.getCategory(), row);
+        }
+        Iterator<EntryRow> archived = archiveService.iterateRange(accountId, from, to);
+        while (archived.hasNext()) {
+            EntryRow row = archived.next();
+            if (row.amount().signum() >= 0 || !TransactionStatus.Success.name().equals(row.status())) {
+                continue;
+            }
+            BigDecimal spent = row.amount().negate();
+            CategorySpendingDto total = byCategory.computeIfAbsent(categorizer.categorize(row.description(), spent),
+                category -> new CategorySpendingDto(category, 0L, BigDecimal.ZERO));
+            total.setTransactionCount(total.getTransactionCount() + 1);
+            total.setTotal(total.getTotal().add(spent));
+        }
+        List<CategorySpendingDto> spending = new ArrayList<>(byCategory.values());
+        spending.sort(Comparator.comparing(CategorySpendingDto::getTotal).reversed());
+        return spending;
+    }
+
+    // One entry per side, written in the same transaction as the transaction row
+    private void saveEntries(Transaction transaction) {
+        List<TransactionEntry> entries = new ArrayList<>(2);
+        if (transaction.getFromAccountId() != null) {
+            entries.add(new TransactionEntry(transaction.getFromAccountId(), transaction.getTimestamp(),
+                transaction.getTransactionId(), transaction.getAmount().negate()));
+        }
+        if (transaction.getToAccountId() != null) {
+            entries.add(new TransactionEntry(transaction.getToAccountId(), transaction.getTimestamp(),
+                transaction.getTransactionId(), transaction.getAmount()));
+        }
+        transactionEntryRepository.saveAll(entries);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory registry of clients waiting for a transaction's status to change. Status changes are
+ * published after the surrounding database transaction commits, so a notified client that reads
+ * the transaction back always sees the new status. The registry only covers this instance.
+ */
+@Component
+public class TransactionStatusNotifier {
+
+    private final ConcurrentHashMap<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger activeSubscriptions = new AtomicInteger();
+    private final int maxSubscriptions;
+
+    public TransactionStatusNotifier(@Value("${transaction.status.max-subscribers:10000}") int maxSubscriptions) {
+        this.maxSubscriptions = maxSubscriptions;
+    }
+
+    /**
+     * Register a listener for status changes of one transaction.
+     * @return the subscription, or null if this instance is at its subscriber cap
+     */
+    public Subscription subscribe(UUID transactionId, Consumer<TransactionStatus> listener) {
+        if (activeSubscriptions.incrementAndGet() > maxSubscriptions) {
+            activeSubscriptions.decrementAndGet();
+            return null;
+        }
+        Subscription subscription = new Subscription(transactionId, listener);
+        subscriptions.computeIfAbsent(transactionId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        return subscription;
+    }
+
+    public void publishAfterCommit(UUID transactionId, TransactionStatus status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(transactionId, status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(transactionId, status);
+            }
+        });
+    }
+
+    public int getActiveSubscriptions() {
+        return activeSubscriptions.get();
+    }
+
+    private void publish(UUID transactionId, TransactionStatus status) {
+        Set<Subscription> subscribers = subscriptions.get(transactionId);
+        if (subscribers != null) {
+            subscribers.forEach(subscription -> subscription.listener.accept(status));
+        }
+    }
+
+    public class Subscription {
+        private final UUID transactionId;
+        private final Consumer<TransactionStatus> listener;
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        private Subscription(UUID transactionId, Consumer<TransactionStatus> listener) {
+            this.transactionId = transactionId;
+            this.listener = listener;
+        }
+
+        /** Remove the subscription; safe to call more than once. */
+        public void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            subscriptions.computeIfPresent(transactionId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            activeSubscriptions.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.TransferPipelineStatsDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import com.virtualbank.transaction_service.exception.TransferFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded execution pipeline for single-call transfers. A fixed set of virtual-thread workers drains
+ * a queue of persisted transaction IDs and runs the normal execution step for each. Callers reserve
+ * a slot before the transaction is written, so a saturated pipeline rejects work up front instead of
+ * leaving accepted transfers behind.
+ */
+@Component
+public class TransferPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferPipeline.class);
+
+    private final TransactionService transactionService;
+    private final int workerCount;
+    private final int capacity;
+    private final long reserveTimeoutMillis;
+
+    private final BlockingQueue<UUID> queue = new LinkedBlockingQueue<>();
+    private final Semaphore slots;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TransferPipeline(TransactionService transactionService,
+                            @Value("${transaction.pipeline.workers:64}") int workerCount,
+                            @Value("${transaction.pipeline.capacity:10000}") int capacity,
+                            @Value("${transaction.pipeline.reserve-timeout-ms:50}") long reserveTimeoutMillis) {
+        this.transactionService = transactionService;
+        this.workerCount = workerCount;
+        this.capacity = capacity;
+        this.reserveTimeoutMillis = reserveTimeoutMillis;
+        this.slots = new Semaphore(capacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("transfer-worker-" + i).start(this::drain));
+        }
+        logger.info("Transfer pipeline started with {} workers and capacity {}", workerCount, capacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Queued transactions stay Initiated in the database and can be executed again later
+        workers.forEach(Thread::interrupt);
+        logger.info("Transfer pipeline stopped with {} queued transfers", queue.size());
+    }
+
+    /**
+     * Reserve a slot for one transfer, waiting briefly if the pipeline is full.
+     * @return false if no slot became free, in which case the caller must not submit
+     */
+    public boolean tryReserve() {
+        try {
+            if (slots.tryAcquire(reserveTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    /** Queue a persisted transaction; the caller must already hold a reserved slot. */
+    public void submit(UUID transactionId) {
+        queue.add(transactionId);
+        submitted.increment();
+    }
+
+    public TransferPipelineStatsDto getStats() {
+        TransferPipelineStatsDto stats = new TransferPipelineStatsDto();
+        stats.setWorkers(workerCount);
+        stats.setCapacity(capacity);
+        stats.setQueueDepth(queue.size());
+        stats.setInFlight(inFlight.get());
+        stats.setSubmitted(submitted.sum());
+        stats.setCompleted(completed.sum());
+        stats.setFailed(failed.sum());
+        stats.setRejected(rejected.sum());
+        return stats;
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            UUID transactionId;
+            try {
+                transactionId = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            inFlight.incrementAndGet();
+            try {
+                transactionService.executeTransfer(transactionId);
+                completed.increment();
+            } catch (TransferFailedException e) {
+                failed.increment();
+            } catch (Exception e) {
+                failed.increment();
+                logger.error("Failed to execute transfer {}: {}", transactionId, e.getMessage());
+            } finally {
+                inFlight.decrementAndGet();
+                slots.release();
+            }
+        }
+    }
+}
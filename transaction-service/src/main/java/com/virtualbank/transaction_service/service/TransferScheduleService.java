@@ -0,0 +1,158 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.TransferScheduleRequestDto;
+import com.virtualbank.transaction_service.dto.TransferScheduleResponseDto;
+import com.virtualbank.transaction_service.exception.ScheduleNotFoundException;
+import com.virtualbank.transaction_service.model.ScheduleStatus;
+import com.virtualbank.transaction_service.model.TransferSchedule;
+import com.virtualbank.transaction_service.repository.TransferScheduleRepository;
+import com.virtualbank.transaction_service.scheduler.ScheduleDueIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Standing orders and future-dated transfers. Run times are kept to whole seconds so the
+ * dispatcher can claim a run by matching next_run_at exactly.
+ */
+@Service
+public class TransferScheduleService {
+
+    @Autowired
+    private TransferScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ScheduleDueIndex dueIndex;
+
+    public TransferScheduleResponseDto createSchedule(TransferScheduleRequestDto request) {
+        if (request.getCron() != null && request.getIntervalSeconds() != null) {
+            throw new IllegalArgumentException("Give either cron or intervalSeconds, not both");
+        }
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new IllegalArgumentException("From and to accounts must differ");
+        }
+        LocalDateTime startAt = (request.getStartAt() != null ? request.getStartAt() : LocalDateTime.now())
+            .truncatedTo(ChronoUnit.SECONDS);
+
+        TransferSchedule schedule = new TransferSchedule();
+        schedule.setFromAccountId(request.getFromAccountId());
+        schedule.setToAccountId(request.getToAccountId());
+        schedule.setAmount(request.getAmount());
+        schedule.setDescription(request.getDescription() != null ? request.getDescription() : "");
+        schedule.setCronExpression(request.getCron());
+        schedule.setIntervalSeconds(request.getIntervalSeconds());
+        schedule.setEndAt(request.getEndAt());
+        schedule.setMaxRuns(request.getMaxRuns());
+        schedule.setStatus(ScheduleStatus.Active);
+
+        LocalDateTime firstRun = request.getCron() != null
+            ? CronExpression.parse(request.getCron()).next(startAt.minusSeconds(1))
+            : startAt;
+        if (firstRun == null || (schedule.getEndAt() != null && firstRun.isAfter(schedule.getEndAt()))) {
+            throw new IllegalArgumentException("Schedule has no run before its end");
+        }
+        setNextRun(schedule, firstRun);
+
+        TransferSchedule saved = scheduleRepository.save(schedule);
+        dueIndex.offer(saved.getScheduleId(), saved.getNextRunAt());
+        return toResponse(saved);
+    }
+
+    public TransferScheduleResponseDto getSchedule(UUID scheduleId) {
+        return toResponse(findSchedule(scheduleId));
+    }
+
+    public TransferScheduleResponseDto pauseSchedule(UUID scheduleId) {
+        findSchedule(scheduleId);
+        if (scheduleRepository.updateStatus(scheduleId, List.of(ScheduleStatus.Active), ScheduleStatus.Paused) == 0) {
+            throw new IllegalArgumentException("Only active schedules can be paused");
+        }
+        return getSchedule(scheduleId);
+    }
+
+    // Runs missed while paused are skipped, not made up
+    public TransferScheduleResponseDto resumeSchedule(UUID scheduleId) {
+        TransferSchedule schedule = findSchedule(scheduleId);
+        if (schedule.getStatus() != ScheduleStatus.Paused) {
+            throw new IllegalArgumentException("Only paused schedules can be resumed");
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (schedule.getNextRunAt().isBefore(now)) {
+            LocalDateTime next = isRecurring(schedule) ? nextRunAfter(schedule, now) : now;
+            if (next == null || (schedule.getEndAt() != null && next.isAfter(schedule.getEndAt()))) {
+                schedule.setStatus(ScheduleStatus.Completed);
+                return toResponse(scheduleRepository.save(schedule));
+            }
+            setNextRun(schedule, next);
+        }
+        schedule.setStatus(ScheduleStatus.Active);
+        TransferSchedule saved = scheduleRepository.save(schedule);
+        dueIndex.offer(saved.getScheduleId(), saved.getNextRunAt());
+        return toResponse(saved);
+    }
+
+    public TransferScheduleResponseDto cancelSchedule(UUID scheduleId) {
+        findSchedule(scheduleId);
+        if (scheduleRepository.updateStatus(scheduleId, List.of(ScheduleStatus.Active, ScheduleStatus.Paused), ScheduleStatus.Cancelled) == 0) {
+            throw new IllegalArgumentException("Schedule has already ended");
+        }
+        return getSchedule(scheduleId);
+    }
+
+    /**
+     * The first occurrence strictly after {@code after}: the next cron match, or the last run plus
+     * as many whole intervals as needed, so interval schedules keep their original phase.
+     * @return null for one-off schedules
+     */
+    public LocalDateTime nextRunAfter(TransferSchedule schedule, LocalDateTime after) {
+        if (schedule.getCronExpression() != null) {
+            return CronExpression.parse(schedule.getCronExpression()).next(after);
+        }
+        if (schedule.getIntervalSeconds() != null) {
+            long interval = schedule.getIntervalSeconds();
+            long elapsed = Math.max(Duration.between(schedule.getNextRunAt(), after).getSeconds(), 0);
+            return schedule.getNextRunAt().plusSeconds((elapsed / interval + 1) * interval);
+        }
+        return null;
+    }
+
+    public void setNextRun(TransferSchedule schedule, LocalDateTime nextRunAt) {
+        schedule.setNextRunAt(nextRunAt.truncatedTo(ChronoUnit.SECONDS));
+        schedule.setDueBucket(dueIndex.bucketOf(schedule.getNextRunAt()));
+    }
+
+    private boolean isRecurring(TransferSchedule schedule) {
+        return schedule.getCronExpression() != null || schedule.getIntervalSeconds() != null;
+    }
+
+    private TransferSchedule findSchedule(UUID scheduleId) {
+        return scheduleRepository.findById(scheduleId)
+            .orElseThrow(() -> new ScheduleNotFoundException("Schedule with ID " + scheduleId + " not found."));
+    }
+
+    private TransferScheduleResponseDto toResponse(TransferSchedule schedule) {
+        TransferScheduleResponseDto response = new TransferScheduleResponseDto();
+        response.setScheduleId(schedule.getScheduleId());
+        response.setFromAccountId(schedule.getFromAccountId());
+        response.setToAccountId(schedule.getToAccountId());
+        response.setAmount(schedule.getAmount());
+        response.setDescription(schedule.getDescription());
+        response.setCron(schedule.getCronExpression());
+        response.setIntervalSeconds(schedule.getIntervalSeconds());
+        response.setStatus(schedule.getStatus());
+        response.setNextRunAt(schedule.getNextRunAt());
+        response.setEndAt(schedule.getEndAt());
+        response.setMaxRuns(schedule.getMaxRuns());
+        response.setRunCount(schedule.getRunCount());
+        response.setLastRunAt(schedule.getLastRunAt());
+        response.setLastTransactionId(schedule.getLastTransactionId());
+        response.setLastError(schedule.getLastError());
+        return response;
+    }
+}
@@ -0,0 +1,244 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.exception.VelocityLimitExceededException;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-account velocity limits on outgoing transfers: count and amount over the last minute, hour and
+ * day. Each account keeps three rings of time buckets; a bucket is an immutable value swapped in with
+ * compare-and-set, so recording and checking never take a lock. Accounts are held in a
+ * ConcurrentHashMap, whose bins act as the stripes. The windows are rebuilt from the last day of
+ * transactions on startup.
+ */
+@Component
+public class VelocityLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(VelocityLimiter.class);
+
+    private static final String RECENT_DEBITS_SQL =
+        "SELECT from_account_id, timestamp, amount FROM transaction WHERE timestamp >= ? AND from_account_id IS NOT NULL";
+
+    private static final Window[] WINDOWS = {
+        new Window("1 minute", 1_000L, 60),
+        new Window("1 hour", 60_000L, 60),
+        new Window("24 hours", 3_600_000L, 24)
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${transaction.velocity.enabled:false}")
+    private boolean enabled;
+
+    private final long[] maxCounts;
+    private final long[] maxAmountCents;
+    private final ConcurrentHashMap<UUID, AccountWindows> accounts = new ConcurrentHashMap<>();
+
+    public VelocityLimiter(@Value("${transaction.velocity.minute.max-count:10}") long minuteMaxCount,
+                           @Value("${transaction.velocity.minute.max-amount:10000}") BigDecimal minuteMaxAmount,
+                           @Value("${transaction.velocity.hour.max-count:60}") long hourMaxCount,
+                           @Value("${transaction.velocity.hour.max-amount:50000}") BigDecimal hourMaxAmount,
+                           @Value("${transaction.velocity.day.max-count:200}") long dayMaxCount,
+                           @Value("${transaction.velocity.day.max-amount:200000}") BigDecimal dayMaxAmount) {
+        this.maxCounts = new long[] { minuteMaxCount, hourMaxCount, dayMaxCount };
+        this.maxAmountCents = new long[] { toCents(minuteMaxAmount), toCents(hourMaxAmount), toCents(dayMaxAmount) };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long[] loaded = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(RECENT_DEBITS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE); // MySQL row-by-row streaming
+            ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+            return ps;
+        }, (ResultSet rs) -> {
+            UUID accountId = UuidUtils.fromBytes(rs.getBytes("from_account_id"));
+            long timeMillis = rs.getTimestamp("timestamp").toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            windowsFor(accountId).add(timeMillis, 1, toCents(rs.getBigDecimal("amount")));
+            loaded[0]++;
+        });
+        logger.info("Velocity windows rebuilt from {} transfers across {} accounts", loaded[0], accounts.size());
+    }
+
+    /**
+     * Record an outgoing transfer against the account's windows, or reject it if that would exceed
+     * a limit. The transfer is recorded first and backed out on rejection, so concurrent callers can
+     * never jointly slip past a limit. Returns the time the transfer was charged at; pass it to
+     * {@link #release} if the transfer is not persisted.
+     */
+    public long acquire(UUID accountId, BigDecimal amount) {
+        if (!enabled || accountId == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long cents = toCents(amount);
+        AccountWindows windows = windowsFor(accountId);
+        windows.add(now, 1, cents);
+        while (windows.isRetired()) {
+            // Evicted while recording: move the charge to the windows that replace these
+            windows.subtract(now, 1, cents);
+            windows = windowsFor(accountId);
+            windows.add(now, 1, cents);
+        }
+        for (int w = 0; w < WINDOWS.length; w++) {
+            long[] totals = windows.totals(w, now);
+            if (totals[0] > maxCounts[w] || totals[1] > maxAmountCents[w]) {
+                windows.subtract(now, 1, cents);
+                throw new VelocityLimitExceededException("Transfer limit for the last " + WINDOWS[w].name() + " exceeded for account " + accountId);
+            }
+        }
+        return now;
+    }
+
+    /**
+     * Back out a transfer recorded by {@link #acquire} that was never persisted. The charge comes off
+     * the buckets it was added to; where those have since left a window there is nothing to undo.
+     */
+    public void release(UUID accountId, BigDecimal amount, long acquiredAt) {
+        if (!enabled || accountId == null) {
+            return;
+        }
+        AccountWindows windows = accounts.get(accountId);
+        if (windows != null) {
+            windows.subtract(acquiredAt, 1, toCents(amount));
+        }
+    }
+
+    // Drop accounts with no activity inside the longest window. An account is retired before its
+    // final idle check and acquire looks for the mark after recording, so a transfer recorded while
+    // the account is evicted is never lost: either eviction sees it or acquire moves it
+    @Scheduled(fixedRate = 600000) // Run every 10 minutes
+    public void evictIdleAccounts() {
+        long now = System.currentTimeMillis();
+        accounts.forEach((accountId, windows) -> {
+            if (windows.isIdle(now) && windows.retireIfIdle(now)) {
+                accounts.remove(accountId, windows);
+            }
+        });
+    }
+
+    private AccountWindows windowsFor(UUID accountId) {
+        return accounts.computeIfAbsent(accountId, id -> new AccountWindows());
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private record Window(String name, long bucketMillis, int buckets) {}
+
+    private record Bucket(long slot, long count, long amountCents) {}
+
+    private static final class AccountWindows {
+        private final AtomicReferenceArray<Bucket>[] rings;
+        private volatile boolean retired;
+
+        @SuppressWarnings("unchecked")
+        AccountWindows() {
+            rings = new AtomicReferenceArray[WINDOWS.length];
+            for (int w = 0; w < WINDOWS.length; w++) {
+                rings[w] = new AtomicReferenceArray<>(WINDOWS[w].buckets());
+            }
+        }
+
+        void add(long timeMillis, long count, long amountCents) {
+            for (int w = 0; w < WINDOWS.length; w++) {
+                long slot = timeMillis / WINDOWS[w].bucketMillis();
+                AtomicReferenceArray<Bucket> ring = rings[w];
+                int index = (int) (slot % ring.length());
+                while (true) {
+                    Bucket current = ring.get(index);
+                    Bucket updated;
+                    if (current != null && current.slot() == slot) {
+                        updated = new Bucket(slot, current.count() + count, current.amountCents() + amountCents);
+                    } else if (current == null || current.slot() < slot) {
+                        // The bucket still holds an older slot that has left the window; start it afresh
+                        updated = new Bucket(slot, count, amountCents);
+                    } else {
+                        break; // Rebuild data older than what this bucket already tracks
+                    }
+                    if (ring.compareAndSet(index, current, updated)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Only takes from the bucket still holding the slot; one that has moved on no longer counts it
+        void subtract(long timeMillis, long count, long amountCents) {
+            for (int w = 0; w < WINDOWS.length; w++) {
+                long slot = timeMillis / WINDOWS[w].bucketMillis();
+                AtomicReferenceArray<Bucket> ring = rings[w];
+                int index = (int) (slot % ring.length());
+                while (true) {
+                    Bucket current = ring.get(index);
+                    if (current == null || current.slot() != slot) {
+                        break;
+                    }
+                    Bucket updated = new Bucket(slot, current.count() - count, current.amountCents() - amountCents);
+                    if (ring.compareAndSet(index, current, updated)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        long[] totals(int w, long nowMillis) {
+            long currentSlot = nowMillis / WINDOWS[w].bucketMillis();
+            AtomicReferenceArray<Bucket> ring = rings[w];
+            long count = 0;
+            long amount = 0;
+            for (int i = 0; i < ring.length(); i++) {
+                Bucket bucket = ring.get(i);
+                if (bucket != null && bucket.slot() > currentSlot - ring.length()) {
+                    count += bucket.count();
+                    amount += bucket.amountCents();
+                }
+            }
+            return new long[] { count, amount };
+        }
+
+        boolean isIdle(long nowMillis) {
+            int day = WINDOWS.length - 1;
+            long[] totals = totals(day, nowMillis);
+            return totals[0] <= 0;
+        }
+
+        boolean retireIfIdle(long nowMillis) {
+            retired = true;
+            if (isIdle(nowMillis)) {
+                return true;
+            }
+            retired = false;
+            return false;
+        }
+
+        boolean isRetired() {
+            return retired;
+        }
+    }
+}
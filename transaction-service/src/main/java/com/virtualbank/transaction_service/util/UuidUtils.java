@@ -0,0 +1,51 @@
+package com.virtualbank.transaction_service.util;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conversions for UUID columns, which Hibernate stores as BINARY(16) on MySQL.
+ * Used by the JDBC paths that bypass JPA.
+ */
+public final class UuidUtils {
+
+    // Last issued (millis << 12 | sequence)
+    private static final AtomicLong lastStamp = new AtomicLong();
+
+    private UuidUtils() {}
+
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /** Orders UUIDs the way MySQL orders their BINARY(16) form (unsigned, byte by byte). */
+    public static int compareUnsigned(UUID a, UUID b) {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    /**
+     * Time-ordered (version 7) UUID: 48 bits of Unix milliseconds, then a 12-bit sequence, then
+     * 62 random bits. Keys generated one after another sort in insert order as BINARY(16), so new
+     * rows append to the right edge of the primary key index instead of landing on random pages.
+     * Within one millisecond the sequence keeps IDs from this process strictly increasing.
+     */
+    public static UUID timeOrdered() {
+        long now = System.currentTimeMillis() << 12;
+        // Sequence overflow borrows from the millisecond field rather than going backwards
+        long stamp = lastStamp.updateAndGet(last -> Math.max(last + 1, now));
+        long msb = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long lsb = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,154 @@
+package com.virtualbank.transaction_service.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalFileTest {
+
+    private static final int CAPACITY = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveReopenInAppendOrder() throws IOException {
+        Path path = dir.resolve("journal");
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            journal.append(bytes("first"));
+            journal.append(bytes("second"));
+            journal.append(bytes("third"));
+            journal.force();
+        }
+
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            assertEquals(List.of("first", "second", "third"), payloads(journal.read(journal.replayedUpTo(), 10)));
+            assertTrue(journal.hasBacklog());
+        }
+    }
+
+    @Test
+    void tornTailIsDiscardedAndOverwritten() throws IOException {
+        Path path = dir.resolve("journal");
+        long tail;
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            journal.append(bytes("first"));
+            tail = journal.append(bytes("second"));
+            journal.force();
+        }
+        // A crash mid-append: the length made it to disk, the rest of the record did not
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 40), tail);
+        }
+
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            assertEquals(tail, journal.position());
+            assertEquals(List.of("first", "second"), payloads(journal.read(journal.replayedUpTo(), 10)));
+            journal.append(bytes("third"));
+            journal.force();
+        }
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            assertEquals(List.of("first", "second", "third"), payloads(journal.read(journal.replayedUpTo(), 10)));
+        }
+    }
+
+    @Test
+    void corruptRecordEndsTheLog() throws IOException {
+        Path path = dir.resolve("journal");
+        long secondStart;
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            secondStart = journal.append(bytes("first"));
+            journal.append(bytes("second"));
+            journal.append(bytes("third"));
+            journal.force();
+        }
+        // Flip a payload byte of the second record, as a partially written page would
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 'X' }), secondStart + 16);
+        }
+
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            assertEquals(List.of("first"), payloads(journal.read(journal.replayedUpTo(), 10)));
+            assertEquals(secondStart, journal.position());
+        }
+    }
+
+    @Test
+    void replayCheckpointSurvivesReopen() throws IOException {
+        Path path = dir.resolve("journal");
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            journal.append(bytes("first"));
+            journal.append(bytes("second"));
+            journal.force();
+            List<JournalFile.Entry> entries = journal.read(journal.replayedUpTo(), 1);
+            journal.markReplayed(entries.get(0).endOffset());
+        }
+
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            assertEquals(List.of("second"), payloads(journal.read(journal.replayedUpTo(), 10)));
+        }
+    }
+
+    @Test
+    void unforcedRecordsAreNotReplayed() throws IOException {
+        try (JournalFile journal = JournalFile.open(dir.resolve("journal"), CAPACITY)) {
+            journal.append(bytes("first"));
+            assertTrue(journal.read(journal.replayedUpTo(), 10).isEmpty());
+            journal.force();
+            assertEquals(List.of("first"), payloads(journal.read(journal.replayedUpTo(), 10)));
+        }
+    }
+
+    @Test
+    void resetIgnoresRecordsOfThePreviousEpoch() throws IOException {
+        Path path = dir.resolve("journal");
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            journal.append(bytes("a"));
+            journal.append(bytes("old record two"));
+            journal.append(bytes("old record three"));
+            journal.force();
+            assertFalse(journal.reset());
+            List<JournalFile.Entry> entries = journal.read(journal.replayedUpTo(), 10);
+            journal.markReplayed(entries.get(entries.size() - 1).endOffset());
+            assertTrue(journal.reset());
+
+            // Shorter than the old first record, so the old second record starts right after it
+            journal.append(bytes("b"));
+            journal.force();
+        }
+
+        try (JournalFile journal = JournalFile.open(path, CAPACITY)) {
+            assertEquals(List.of("b"), payloads(journal.read(journal.replayedUpTo(), 10)));
+        }
+    }
+
+    @Test
+    void appendFailsWhenFull() throws IOException {
+        try (JournalFile journal = JournalFile.open(dir.resolve("journal"), 256)) {
+            byte[] record = new byte[80];
+            journal.append(record);
+            journal.append(record);
+            assertThrows(JournalFullException.class, () -> journal.append(record));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> payloads(List<JournalFile.Entry> entries) {
+        return entries.stream().map(entry -> new String(entry.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
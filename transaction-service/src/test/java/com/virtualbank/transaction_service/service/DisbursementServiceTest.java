@@ -0,0 +1,266 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.dto.TransferResultDto;
+import com.virtualbank.transaction_service.model.Disbursement;
+import com.virtualbank.transaction_service.model.DisbursementLine;
+import com.virtualbank.transaction_service.model.DisbursementLineStatus;
+import com.virtualbank.transaction_service.model.DisbursementStatus;
+import com.virtualbank.transaction_service.model.Transaction;
+import com.virtualbank.transaction_service.model.TransactionStatus;
+import com.virtualbank.transaction_service.repository.DisbursementLineRepository;
+import com.virtualbank.transaction_service.repository.DisbursementRepository;
+import com.virtualbank.transaction_service.repository.TransactionRepository;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DisbursementServiceTest {
+
+    private static final UUID FROM = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    private final List<DisbursementLine> lines = new ArrayList<>();
+    private final Map<UUID, Transaction> transactions = new HashMap<>();
+    private final List<List<UUID>> creditedChunks = new ArrayList<>();
+
+    private DisbursementLineRepository lineRepository;
+    private TransactionRepository transactionRepository;
+    private AccountActivityService activityService;
+    private RestTemplate restTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Disbursement disbursement;
+    private DisbursementService service;
+
+    @BeforeEach
+    void setUp() {
+        disbursement = new Disbursement();
+        disbursement.setDisbursementId(UUID.randomUUID());
+        disbursement.setFromAccountId(FROM);
+        disbursement.setDescription("Payroll");
+        disbursement.setTotalLines(4);
+        disbursement.setTotalAmount(new BigDecimal("40.00"));
+        disbursement.setDisbursedAmount(BigDecimal.ZERO);
+        for (int i = 1; i <= 4; i++) {
+            lines.add(line(i));
+        }
+
+        DisbursementRepository disbursementRepository = mock(DisbursementRepository.class);
+        when(disbursementRepository.findById(disbursement.getDisbursementId())).thenReturn(Optional.of(disbursement));
+        when(disbursementRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        lineRepository = mock(DisbursementLineRepository.class);
+        when(lineRepository.findPageByStatus(eq(disbursement.getDisbursementId()), eq(DisbursementLineStatus.Pending), anyLong(), any()))
+            .thenAnswer(invocation -> {
+                long afterLine = invocation.getArgument(2);
+                return lines.stream()
+                    .filter(line -> line.getStatus() == DisbursementLineStatus.Pending && line.getLineNumber() > afterLine)
+                    .limit(2)
+                    .toList();
+            });
+
+        transactionRepository = mock(TransactionRepository.class);
+        when(transactionRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<UUID> ids = invocation.getArgument(0);
+            List<Transaction> found = new ArrayList<>();
+            ids.forEach(id -> Optional.ofNullable(transactions.get(id)).ifPresent(found::add));
+            return found;
+        });
+
+        // Account-service answers every credit; those applied before are answered from its record
+        restTemplate = mock(RestTemplate.class);
+        when(restTemplate.postForObject(contains("/disbursements"), any(), eq(TransferResultDto[].class)))
+            .thenAnswer(invocation -> {
+                Map<String, List<Map<String, Object>>> body = invocation.getArgument(1);
+                List<UUID> ids = body.get("credits").stream().map(credit -> (UUID) credit.get("transactionId")).toList();
+                creditedChunks.add(ids);
+                return ids.stream().map(id -> new TransferResultDto(id, true, "Account updated successfully.")).toArray(TransferResultDto[]::new);
+            });
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(any(String.class), anyList())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            List<Object[]> rows = invocation.getArgument(1);
+            int[] counts = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                counts[i] = apply(sql, rows.get(i));
+            }
+            return counts;
+        });
+
+        activityService = mock(AccountActivityService.class);
+        TransactionCategorizer categorizer = mock(TransactionCategorizer.class);
+
+        service = new DisbursementService();
+        ReflectionTestUtils.setField(service, "disbursementRepository", disbursementRepository);
+        ReflectionTestUtils.setField(service, "lineRepository", lineRepository);
+        ReflectionTestUtils.setField(service, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(service, "accountActivityService", activityService);
+        ReflectionTestUtils.setField(service, "categorizer", categorizer);
+        ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "holdTtlSeconds", 86400L);
+    }
+
+    @Test
+    void resumeContinuesAfterTheCheckpoint() {
+        // The first chunk committed before the restart
+        disbursement.setStatus(DisbursementStatus.Executing);
+        disbursement.setHoldId(UUID.randomUUID());
+        disbursement.setLastLineNumber(2);
+        disbursement.setSucceededLines(2);
+        disbursement.setDisbursedAmount(new BigDecimal("20.00"));
+        for (DisbursementLine line : lines.subList(0, 2)) {
+            line.setStatus(DisbursementLineStatus.Succeeded);
+            transactions.put(line.getLineId(), transaction(line, TransactionStatus.Success));
+        }
+
+        execute();
+
+        assertEquals(List.of(List.of(lines.get(2).getLineId(), lines.get(3).getLineId())), creditedChunks);
+        assertEquals(DisbursementStatus.Completed, disbursement.getStatus());
+        assertEquals(4, disbursement.getSucceededLines());
+        assertEquals(4, disbursement.getLastLineNumber());
+        assertEquals(new BigDecimal("40.00"), disbursement.getDisbursedAmount());
+        verify(restTemplate).postForObject(eq("http://localhost:8081/accounts/holds/" + disbursement.getHoldId() + "/release"), any(), eq(Map.class));
+        verify(activityService, times(2)).recordSuccess(any());
+    }
+
+    @Test
+    void partiallyAppliedChunkIsResentAndSettledOnce() {
+        // A crash after the chunk's transactions were written and sent, before the outcomes committed;
+        // recovery has since settled the first one
+        disbursement.setStatus(DisbursementStatus.Executing);
+        disbursement.setHoldId(UUID.randomUUID());
+        transactions.put(lines.get(0).getLineId(), transaction(lines.get(0), TransactionStatus.Success));
+        transactions.put(lines.get(1).getLineId(), transaction(lines.get(1), TransactionStatus.Processing));
+
+        execute();
+
+        // The chunk is resent as it was, so account-service can answer both credits from its record
+        assertEquals(List.of(lines.get(0).getLineId(), lines.get(1).getLineId()), creditedChunks.get(0));
+        assertEquals(2, creditedChunks.size());
+        // Only the second chunk's transactions were new
+        ArgumentCaptor<List<Object[]>> inserted = insertedTransactions();
+        assertEquals(List.of(lines.get(2).getLineId(), lines.get(3).getLineId()),
+            inserted.getValue().stream().map(row -> UuidUtils.fromBytes((byte[]) row[0])).toList());
+        // The transaction recovery already settled is left as it was and not counted again
+        verify(activityService, times(3)).recordSuccess(any());
+        assertEquals(4, disbursement.getSucceededLines());
+        assertEquals(DisbursementStatus.Completed, disbursement.getStatus());
+    }
+
+    @Test
+    void reservationRetriedAfterALostResponseReusesTheHold() {
+        disbursement.setStatus(DisbursementStatus.Validated);
+        UUID holdId = UUID.randomUUID();
+        when(restTemplate.postForObject(eq("http://localhost:8081/accounts/" + FROM + "/holds"), any(), eq(Map.class)))
+            .thenThrow(new ResourceAccessException("Read timed out"))
+            .thenReturn(Map.of("holdId", holdId.toString(), "status", "ACTIVE"));
+
+        execute();
+        assertEquals(DisbursementStatus.Validated, disbursement.getStatus());
+        execute();
+
+        ArgumentCaptor<Map<String, Object>> requests = ArgumentCaptor.captor();
+        verify(restTemplate, times(2)).postForObject(startsWith("http://localhost:8081/accounts/" + FROM), requests.capture(), eq(Map.class));
+        assertEquals(disbursement.getDisbursementId(), requests.getAllValues().get(0).get("requestKey"));
+        assertEquals(disbursement.getDisbursementId(), requests.getAllValues().get(1).get("requestKey"));
+        assertEquals(holdId, disbursement.getHoldId());
+        assertEquals(DisbursementStatus.Completed, disbursement.getStatus());
+        assertEquals(4, disbursement.getSucceededLines());
+    }
+
+    @Test
+    void reservationThatHasLapsedFailsTheRemainingLines() {
+        disbursement.setStatus(DisbursementStatus.Validated);
+        when(restTemplate.postForObject(eq("http://localhost:8081/accounts/" + FROM + "/holds"), any(), eq(Map.class)))
+            .thenReturn(Map.of("holdId", UUID.randomUUID().toString(), "status", "EXPIRED"));
+
+        execute();
+
+        assertEquals(DisbursementStatus.Failed, disbursement.getStatus());
+        verify(lineRepository).updateStatus(eq(disbursement.getDisbursementId()), eq(DisbursementLineStatus.Pending),
+            eq(DisbursementLineStatus.Failed), any());
+        verify(restTemplate, never()).postForObject(contains("/disbursements"), any(), eq(TransferResultDto[].class));
+    }
+
+    private void execute() {
+        ReflectionTestUtils.invokeMethod(service, "execute", disbursement.getDisbursementId());
+    }
+
+    private ArgumentCaptor<List<Object[]>> insertedTransactions() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.captor();
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO transaction "), rows.capture());
+        return rows;
+    }
+
+    // Enough of the database for the statements pay() issues
+    private int apply(String sql, Object[] row) {
+        if (sql.startsWith("INSERT INTO transaction ")) {
+            UUID id = UuidUtils.fromBytes((byte[]) row[0]);
+            DisbursementLine line = lines.stream().filter(l -> l.getLineId().equals(id)).findFirst().orElseThrow();
+            transactions.put(id, transaction(line, TransactionStatus.valueOf((String) row[6])));
+        } else if (sql.startsWith("UPDATE transaction SET status")) {
+            Transaction transaction = transactions.get(UuidUtils.fromBytes((byte[]) row[1]));
+            if (transaction.getStatus() != TransactionStatus.Processing) {
+                return 0;
+            }
+            transaction.setStatus(TransactionStatus.valueOf((String) row[0]));
+        } else if (sql.startsWith("UPDATE disbursement_line")) {
+            UUID id = UuidUtils.fromBytes((byte[]) row[2]);
+            lines.stream().filter(l -> l.getLineId().equals(id)).forEach(l -> l.setStatus(DisbursementLineStatus.valueOf((String) row[0])));
+        }
+        return 1;
+    }
+
+    private DisbursementLine line(long lineNumber) {
+        DisbursementLine line = new DisbursementLine();
+        line.setLineId(UuidUtils.timeOrdered());
+        line.setDisbursementId(disbursement.getDisbursementId());
+        line.setLineNumber(lineNumber);
+        line.setToAccountNumber("ACC" + lineNumber);
+        line.setToAccountId(new UUID(0, 100 + lineNumber));
+        line.setAmount(new BigDecimal("10.00"));
+        line.setStatus(DisbursementLineStatus.Pending);
+        return line;
+    }
+
+    private Transaction transaction(DisbursementLine line, TransactionStatus status) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(line.getLineId());
+        transaction.setFromAccountId(FROM);
+        transaction.setToAccountId(line.getToAccountId());
+        transaction.setAmount(line.getAmount());
+        transaction.setStatus(status);
+        return transaction;
+    }
+}
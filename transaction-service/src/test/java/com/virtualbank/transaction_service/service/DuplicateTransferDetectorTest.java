@@ -0,0 +1,46 @@
+package com.virtualbank.transaction_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateTransferDetectorTest {
+
+    private static final UUID FROM = UUID.randomUUID();
+    private static final UUID TO = UUID.randomUUID();
+
+    private final DuplicateTransferDetector detector = new DuplicateTransferDetector("reject", 30, 6, 100, 0.0001);
+
+    @Test
+    void acceptedTransferIsCaughtWhenRepeated() {
+        detector.complete(detector.check(FROM, TO, new BigDecimal("10.50"), "rent"), true);
+
+        assertTrue(detector.check(FROM, TO, new BigDecimal("10.5"), "rent").duplicate());
+        assertFalse(detector.check(FROM, TO, new BigDecimal("10.50"), "groceries").duplicate());
+    }
+
+    @Test
+    void retryOfAFailedInitiationIsNotADuplicate() {
+        detector.complete(detector.check(FROM, TO, new BigDecimal("25.00"), "rent"), false);
+
+        assertFalse(detector.check(FROM, TO, new BigDecimal("25.00"), "rent").duplicate());
+    }
+
+    @Test
+    void copyArrivingWhileTheFirstIsInFlightIsCaught() {
+        DuplicateTransferDetector.Check first = detector.check(FROM, TO, new BigDecimal("40.00"), "rent");
+        DuplicateTransferDetector.Check second = detector.check(FROM, TO, new BigDecimal("40.00"), "rent");
+
+        assertFalse(first.duplicate());
+        assertTrue(second.duplicate());
+
+        // The second was rejected and the first failed: nothing is remembered
+        detector.complete(second, false);
+        detector.complete(first, false);
+        assertFalse(detector.check(FROM, TO, new BigDecimal("40.00"), "rent").duplicate());
+    }
+}
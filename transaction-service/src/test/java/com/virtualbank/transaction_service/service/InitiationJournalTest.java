@@ -0,0 +1,30 @@
+package com.virtualbank.transaction_service.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InitiationJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sizeBeyondASingleMappingIsRejected() {
+        Path path = dir.resolve("initiation.journal");
+        InitiationJournal journal = new InitiationJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "path", path.toString());
+        // 2048 MB overflowed int arithmetic to a negative mapping size
+        ReflectionTestUtils.setField(journal, "sizeMb", 2048);
+
+        assertThrows(IllegalArgumentException.class, journal::start);
+        assertFalse(Files.exists(path));
+    }
+}
@@ -0,0 +1,151 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.archive.EntryRow;
+import com.virtualbank.transaction_service.dto.ArchiveRunResultDto;
+import com.virtualbank.transaction_service.repository.ArchiveSegmentRepository;
+import com.virtualbank.transaction_service.util.UuidUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionArchiveServiceTest {
+
+    private static final UUID ACCOUNT = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID OTHER = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @TempDir
+    Path directory;
+
+    // Live transactions, oldest first; each moves ACCOUNT's money to OTHER
+    private final List<Live> live = new ArrayList<>();
+    private final List<List<UUID>> historyBetweenBatches = new ArrayList<>();
+
+    private TransactionArchiveService service;
+
+    private record Live(UUID transactionId, LocalDateTime timestamp, BigDecimal amount) {}
+
+    @BeforeEach
+    void setUp() {
+        live.add(new Live(UuidUtils.timeOrdered(), LocalDateTime.of(2020, 1, 10, 9, 0), new BigDecimal("10.00")));
+        live.add(new Live(UuidUtils.timeOrdered(), LocalDateTime.of(2020, 2, 10, 9, 0), new BigDecimal("20.00")));
+
+        ArchiveSegmentRepository segmentRepository = mock(ArchiveSegmentRepository.class);
+        when(segmentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new TransactionArchiveService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", new FakeJdbcTemplate());
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "segmentRepository", segmentRepository);
+        ReflectionTestUtils.setField(service, "directory", directory.toString());
+        ReflectionTestUtils.setField(service, "minAgeDays", 365);
+        ReflectionTestUtils.setField(service, "batchSize", 1);
+        ReflectionTestUtils.setField(service, "rowsPerBlock", 512);
+    }
+
+    @Test
+    void archivedBatchIsReadableBeforeTheRunEnds() {
+        UUID january = live.get(0).transactionId();
+        UUID february = live.get(1).transactionId();
+
+        ArchiveRunResultDto result = service.archive();
+
+        assertEquals(2, result.getSegmentsWritten());
+        // Read as the second batch starts: January has left the tables and must come from its segment
+        assertEquals(List.of(january), historyBetweenBatches.get(0));
+        assertEquals(List.of(february, january), historyBetweenBatches.get(1));
+        assertTrue(live.isEmpty());
+        assertTrue(service.mayHaveRowsBefore(LocalDateTime.of(2020, 2, 10, 9, 0)));
+    }
+
+    @Test
+    void netIsSummedPerAccountAcrossSegments() {
+        service.archive();
+
+        Map<UUID, BigDecimal> net = service.successNetByAccount(ACCOUNT, OTHER);
+
+        assertEquals(Map.of(ACCOUNT, new BigDecimal("-30.00"), OTHER, new BigDecimal("30.00")), net);
+        assertEquals(Map.of(ACCOUNT, new BigDecimal("-30.00")), service.successNetByAccount(ACCOUNT, ACCOUNT));
+    }
+
+    private List<UUID> archivedHistory() {
+        return service.findBefore(ACCOUNT, null, null, 10).stream().map(EntryRow::transactionId).toList();
+    }
+
+    // Enough of the database for the statements archive() issues
+    private final class FakeJdbcTemplate extends JdbcTemplate {
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            List<T> rows = new ArrayList<>();
+            try {
+                if (sql.startsWith("SELECT t.transaction_id")) {
+                    if (live.size() < 2) {
+                        historyBetweenBatches.add(archivedHistory());
+                    }
+                    int limit = (Integer) args[1];
+                    for (Live transaction : live.subList(0, Math.min(limit, live.size()))) {
+                        rows.add(rowMapper.mapRow(candidate(transaction), rows.size()));
+                    }
+                } else {
+                    List<UUID> ids = Arrays.stream(args).map(id -> UuidUtils.fromBytes((byte[]) id)).toList();
+                    for (Live transaction : live) {
+                        if (ids.contains(transaction.transactionId())) {
+                            rows.add(rowMapper.mapRow(entry(transaction, ACCOUNT, transaction.amount().negate()), rows.size()));
+                            rows.add(rowMapper.mapRow(entry(transaction, OTHER, transaction.amount()), rows.size()));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return rows;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("DELETE FROM transaction ")) {
+                List<UUID> ids = Arrays.stream(args).map(id -> UuidUtils.fromBytes((byte[]) id)).toList();
+                live.removeIf(transaction -> ids.contains(transaction.transactionId()));
+            }
+            return args.length;
+        }
+    }
+
+    private static ResultSet candidate(Live transaction) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes("transaction_id")).thenReturn(UuidUtils.toBytes(transaction.transactionId()));
+        when(rs.getTimestamp("timestamp")).thenReturn(Timestamp.valueOf(transaction.timestamp()));
+        return rs;
+    }
+
+    private static ResultSet entry(Live transaction, UUID accountId, BigDecimal amount) throws SQLException {
+        ResultSet rs = candidate(transaction);
+        when(rs.getBytes("account_id")).thenReturn(UuidUtils.toBytes(accountId));
+        when(rs.getBigDecimal("amount")).thenReturn(amount);
+        when(rs.getString("description")).thenReturn("Rent");
+        when(rs.getString("status")).thenReturn("Success");
+        return rs;
+    }
+}
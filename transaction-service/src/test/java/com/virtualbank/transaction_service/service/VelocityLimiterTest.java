@@ -0,0 +1,56 @@
+package com.virtualbank.transaction_service.service;
+
+import com.virtualbank.transaction_service.exception.VelocityLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VelocityLimiterTest {
+
+    private static final UUID ACCOUNT = UUID.randomUUID();
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    private VelocityLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        // One transfer a minute
+        limiter = new VelocityLimiter(1, new BigDecimal("10000"), 60, new BigDecimal("50000"), 200, new BigDecimal("200000"));
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+    }
+
+    @Test
+    void releaseFreesTheChargedBucket() {
+        long charged = limiter.acquire(ACCOUNT, AMOUNT);
+        assertThrows(VelocityLimitExceededException.class, () -> limiter.acquire(ACCOUNT, AMOUNT));
+
+        limiter.release(ACCOUNT, AMOUNT, charged);
+
+        assertDoesNotThrow(() -> limiter.acquire(ACCOUNT, AMOUNT));
+    }
+
+    @Test
+    void releaseOfAChargeThatHasLeftTheWindowGrantsNoHeadroom() {
+        long charged = limiter.acquire(ACCOUNT, AMOUNT);
+
+        // A rollback for a charge made two days ago finds nothing to undo
+        limiter.release(ACCOUNT, AMOUNT, charged - 2 * 86_400_000L);
+
+        assertThrows(VelocityLimitExceededException.class, () -> limiter.acquire(ACCOUNT, AMOUNT));
+    }
+
+    @Test
+    void evictionKeepsAccountsWithRecentTransfers() {
+        limiter.acquire(ACCOUNT, AMOUNT);
+
+        limiter.evictIdleAccounts();
+
+        assertThrows(VelocityLimitExceededException.class, () -> limiter.acquire(ACCOUNT, AMOUNT));
+    }
+}
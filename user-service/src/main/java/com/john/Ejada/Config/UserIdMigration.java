@@ -0,0 +1,67 @@
+package com.john.Ejada.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts users.user_id from CHAR(36) text to BINARY(16) before Hibernate starts. Existing IDs keep
+ * their value (UUID_TO_BIN without byte swapping, the same layout Hibernate uses), so references held
+ * by other services stay valid. Every step checks the current column layout, so a migration
+ * interrupted part way picks up where it stopped on the next start.
+ */
+@Component(UserIdMigration.BEAN_NAME)
+public class UserIdMigration implements InitializingBean {
+
+    static final String BEAN_NAME = "userIdMigration";
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIdMigration.class);
+
+    private static final String COLUMN_TYPE_SQL =
+        "SELECT DATA_TYPE FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND COLUMN_NAME = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserIdMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Hibernate's schema update must see the migrated column, so the EntityManagerFactory waits for this bean
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor userIdMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(BEAN_NAME);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        String idType = columnType("user_id");
+        String binaryType = columnType("user_id_bin");
+
+        if (idType != null && (idType.equals("char") || idType.equals("varchar"))) {
+            logger.info("Migrating users.user_id from {} to BINARY(16)", idType);
+            if (binaryType == null) {
+                jdbcTemplate.execute("ALTER TABLE users ADD COLUMN user_id_bin BINARY(16) NULL");
+            }
+            int rows = jdbcTemplate.update("UPDATE users SET user_id_bin = UUID_TO_BIN(user_id)");
+            jdbcTemplate.execute("ALTER TABLE users DROP PRIMARY KEY, DROP COLUMN user_id");
+            logger.info("Converted {} user IDs", rows);
+            idType = null;
+            binaryType = "binary";
+        }
+        if (idType == null && binaryType != null) {
+            jdbcTemplate.execute("ALTER TABLE users CHANGE COLUMN user_id_bin user_id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (user_id)");
+            logger.info("users.user_id is now BINARY(16)");
+        }
+    }
+
+    private String columnType(String column) {
+        List<String> types = jdbcTemplate.queryForList(COLUMN_TYPE_SQL, String.class, column);
+        return types.isEmpty() ? null : types.get(0).toLowerCase();
+    }
+}
@@ -9,6 +9,7 @@ import com.john.Ejada.exception.InvalidCredentialsException;
 import com.john.Ejada.exception.UserAlreadyExistsException;
 import com.john.Ejada.exception.UserNotFoundException;
 import com.john.Ejada.repositry.UserRepository;
+import com.john.Ejada.util.UuidUtils;
 import com.john.Ejada.service.UserService;
 import com.john.Ejada.service.LoggingService;
 import jakarta.servlet.http.HttpServletResponse;
@@ -20,7 +21,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/users")
@@ -143,7 +147,8 @@ public class UserController {
         try {
             logger.debug("Checking if user exists with userId: {}", userId);
             // First check if the user exists in the repository
-            boolean exists = userRepository.existsById(userId);
+            UUID id = UuidUtils.parseOrNull(userId);
+            boolean exists = id != null && userRepository.existsById(id);
             logger.debug("User with ID {} exists in repository: {}", userId, exists);
             
             if (exists) {
@@ -178,6 +183,33 @@ public class UserController {
         }
     }
 
+    @PostMapping("/exists")
+    public ResponseEntity<Map<String, Object>> checkUsersExist(@RequestBody Map<String, List<String>> request) {
+        List<String> userIds = request.getOrDefault("userIds", List.of());
+        // Log the request
+        loggingService.logRequest("UserService", "/api/users/exists", Map.of("count", userIds.size()));
+        
+        try {
+            logger.debug("Checking existence of {} users", userIds.size());
+            List<UUID> ids = userIds.stream().map(UuidUtils::parseOrNull).filter(Objects::nonNull).toList();
+            List<String> existing = ids.isEmpty() ? List.of()
+                : userRepository.findExistingUserIds(ids).stream().map(UUID::toString).toList();
+            Map<String, Object> response = Map.of("existing", existing);
+            
+            // Log the response
+            loggingService.logResponse("UserService", "/api/users/exists", Map.of("count", existing.size()));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Error checking existence of users: {}", e.getMessage());
+            
+            // Log the error
+            loggingService.logError("UserService", "/api/users/exists", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/debug/all-users")
     public ResponseEntity<Map<String, Object>> getAllUsers() {
         // Log the request
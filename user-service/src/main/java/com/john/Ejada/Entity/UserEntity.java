@@ -1,11 +1,12 @@
 package com.john.Ejada.Entity;
 
+import com.john.Ejada.util.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 
 @Entity
@@ -17,23 +18,12 @@ import java.time.LocalDateTime;
 public class UserEntity {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(
-            name = "UUID",
-            strategy = "org.hibernate.id.UUIDGenerator",
-            parameters = {
-                    @org.hibernate.annotations.Parameter(
-                            name = "uuid_gen_strategy_class",
-                            value = "org.hibernate.id.uuid.CustomVersionOneStrategy"
-                    )
-            }
-    )
+    @TimeOrderedUuid
     @Column(name = "user_id",
-            columnDefinition = "CHAR(36)",
             updatable = false,
             nullable = false
     )
-    private String user_id;
+    private UUID user_id;
 
 
     @Setter
@@ -122,7 +112,7 @@ public class UserEntity {
     }
 
     public String getUser_Id() {
-        return user_id;
+        return user_id != null ? user_id.toString() : null;
     }
 
 
@@ -5,12 +5,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<UserEntity, String> {
+public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     UserEntity findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     @Query("SELECT u FROM UserEntity u WHERE LOWER(u.username) = LOWER(:username)")
     Optional<UserEntity> findByUsername(@Param("username") String username);
+    @Query("SELECT u.user_id FROM UserEntity u WHERE u.user_id IN :userIds")
+    List<UUID> findExistingUserIds(@Param("userIds") Collection<UUID> userIds);
 }
\ No newline at end of file
@@ -6,11 +6,13 @@ import com.john.Ejada.exception.InvalidCredentialsException;
 import com.john.Ejada.exception.UserAlreadyExistsException;
 import com.john.Ejada.exception.UserNotFoundException;
 import com.john.Ejada.repositry.UserRepository;
+import com.john.Ejada.util.UuidUtils;
 // import jdk.internal.org.jline.utils.Log;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.john.Ejada.Config.JwtUtil;
 import java.util.Optional;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,8 +78,7 @@ public class UserService {
     }
 
     public UserResponseDTO getUserProfile(String userId) {
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found."));
+        UserEntity user = findUser(userId);
 
         UserResponseDTO response = new UserResponseDTO();
         response.setUserId(user.getUser_Id());
@@ -89,8 +90,7 @@ public class UserService {
     }
 
     public UserResponseDTO getUserInfoWithoutAuth(String userId) {
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found."));
+        UserEntity user = findUser(userId);
 
         UserResponseDTO response = new UserResponseDTO();
         response.setUserId(user.getUser_Id());
@@ -113,4 +113,11 @@ public class UserService {
             throw new UserNotFoundException("User not found for username: " + username);
         }
     }
-}
\ No newline at end of file
+
+    // IDs that are not UUIDs cannot match any user
+    private UserEntity findUser(String userId) {
+        UUID id = UuidUtils.parseOrNull(userId);
+        return (id != null ? userRepository.findById(id) : Optional.<UserEntity>empty())
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found."));
+    }
+}